@@ -0,0 +1,68 @@
+package com.carwash.config;
+
+import com.carwash.entity.Booking;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Moves the emulated booking id sequence past existing ids
+ * Databases without native sequences (MySQL) store it in a bookings_seq table that starts at 1,
+ * which would collide with rows created while ids were auto-increment
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BookingIdSequenceInitializer implements InitializingBean {
+    
+    private static final String SEQUENCE_TABLE = "bookings_seq";
+    
+    private final DataSource dataSource;
+    
+    public BookingIdSequenceInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    /**
+     * Runs after schema update and before the web server starts taking requests
+     */
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!sequenceTableExists(connection)) {
+                return;
+            }
+            long maxId;
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM bookings")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            // One spare allocation block keeps the pooled optimizer's first range above maxId
+            long floor = maxId + 1 + Booking.ID_ALLOCATION_SIZE;
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE " + SEQUENCE_TABLE + " SET next_val = ? WHERE next_val < ?")) {
+                update.setLong(1, floor);
+                update.setLong(2, floor);
+                update.executeUpdate();
+            }
+        }
+    }
+    
+    private boolean sequenceTableExists(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String tableName = metaData.storesUpperCaseIdentifiers()
+            ? SEQUENCE_TABLE.toUpperCase(Locale.ROOT) : SEQUENCE_TABLE;
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, tableName, new String[] {"TABLE"})) {
+            return tables.next();
+        }
+    }
+}
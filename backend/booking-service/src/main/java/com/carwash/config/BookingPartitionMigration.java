@@ -0,0 +1,158 @@
+package com.carwash.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Partitions the bookings table by month of scheduled_time on MySQL
+ * Range queries on scheduled_time then only touch the partitions their window overlaps.
+ * The first run rebuilds the table: scheduled_time becomes NOT NULL and joins the primary key,
+ * as MySQL requires every unique key to contain the partitioning column. Later runs only
+ * split months off the trailing MAXVALUE partition so upcoming bookings never pile up there.
+ * Other databases are left untouched.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BookingPartitionMigration implements InitializingBean {
+    
+    static final String TABLE = "bookings";
+    static final String OVERFLOW_PARTITION = "pmax";
+    
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'uuuuMM");
+    
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int monthsAhead;
+    
+    public BookingPartitionMigration(DataSource dataSource,
+                                     @Value("${booking.partitioning.enabled:false}") boolean enabled,
+                                     @Value("${booking.partitioning.months-ahead:3}") int monthsAhead) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+    }
+    
+    /**
+     * Runs after schema update and before the web server starts taking requests
+     */
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        maintain();
+    }
+    
+    /**
+     * Keep monthly partitions ahead of the calendar
+     */
+    @Scheduled(fixedDelayString = "${booking.partitioning.maintenance-interval-ms:86400000}",
+               initialDelayString = "${booking.partitioning.maintenance-interval-ms:86400000}")
+    public void maintain() throws SQLException {
+        if (enabled) {
+            migrate(YearMonth.now().plusMonths(monthsAhead));
+        }
+    }
+    
+    /**
+     * Partition the table if it is not yet, and make sure monthly partitions exist up to lastMonth
+     */
+    void migrate(YearMonth lastMonth) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!isMySql(connection)) {
+                return;
+            }
+            List<YearMonth> existing = existingPartitions(connection);
+            try (Statement statement = connection.createStatement()) {
+                if (existing.isEmpty()) {
+                    YearMonth firstMonth = earliestMonth(statement);
+                    // Rows without a time cannot be placed; fall back to when they were created
+                    statement.executeUpdate("UPDATE " + TABLE + " SET scheduled_time = COALESCE(created_at, NOW(6))"
+                        + " WHERE scheduled_time IS NULL");
+                    statement.execute("ALTER TABLE " + TABLE + " MODIFY scheduled_time DATETIME(6) NOT NULL,"
+                        + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, scheduled_time)");
+                    statement.execute(partitionByMonthDdl(firstMonth, lastMonth.isBefore(firstMonth) ? firstMonth : lastMonth));
+                } else {
+                    YearMonth nextMonth = existing.get(existing.size() - 1).plusMonths(1);
+                    if (!nextMonth.isAfter(lastMonth)) {
+                        statement.execute(extendDdl(nextMonth, lastMonth));
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Initial PARTITION BY clause: one partition per month from firstMonth to lastMonth, then MAXVALUE
+     */
+    public static String partitionByMonthDdl(YearMonth firstMonth, YearMonth lastMonth) {
+        return "ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(scheduled_time) ("
+            + monthPartitions(firstMonth, lastMonth) + ")";
+    }
+    
+    /**
+     * Split the months from firstMonth to lastMonth off the MAXVALUE partition
+     * Cheap while that partition is empty, which the look-ahead keeps it
+     */
+    static String extendDdl(YearMonth firstMonth, YearMonth lastMonth) {
+        return "ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + OVERFLOW_PARTITION + " INTO ("
+            + monthPartitions(firstMonth, lastMonth) + ")";
+    }
+    
+    public static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+    
+    private static String monthPartitions(YearMonth firstMonth, YearMonth lastMonth) {
+        StringBuilder ddl = new StringBuilder();
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            ddl.append("PARTITION ").append(partitionName(month))
+                .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append(" 00:00:00'), ");
+        }
+        return ddl.append("PARTITION ").append(OVERFLOW_PARTITION).append(" VALUES LESS THAN (MAXVALUE)").toString();
+    }
+    
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+    }
+    
+    /**
+     * Monthly partitions of the table in order, empty when it is not partitioned
+     */
+    private static List<YearMonth> existingPartitions(Connection connection) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet partitions = statement.executeQuery("SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                 + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' AND PARTITION_NAME IS NOT NULL"
+                 + " ORDER BY PARTITION_ORDINAL_POSITION")) {
+            while (partitions.next()) {
+                String name = partitions.getString(1);
+                if (!OVERFLOW_PARTITION.equals(name)) {
+                    months.add(YearMonth.parse(name, PARTITION_NAME));
+                }
+            }
+        }
+        return months;
+    }
+    
+    private static YearMonth earliestMonth(Statement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery(
+                "SELECT MIN(COALESCE(scheduled_time, created_at)) FROM " + TABLE)) {
+            result.next();
+            Timestamp earliest = result.getTimestamp(1);
+            return earliest != null ? YearMonth.from(earliest.toLocalDateTime()) : YearMonth.now();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BookingAggregate;
+import com.carwash.dto.RevenueRow;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingColumnStore;
+import com.carwash.service.BookingRevenueRollups;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST Controller for booking analytics
+ * Reports are served from maintained aggregates or the in-memory column store, never from the booking rows
+ */
+@RestController
+@RequestMapping("/api/bookings/analytics")
+// CORS handled globally via CorsConfig
+public class BookingAnalyticsController {
+
+    private final BookingRevenueRollups revenueRollups;
+    private final BookingColumnStore columnStore;
+
+    public BookingAnalyticsController(BookingRevenueRollups revenueRollups, BookingColumnStore columnStore) {
+        this.revenueRollups = revenueRollups;
+        this.columnStore = columnStore;
+    }
+
+    /**
+     * Get completed-booking revenue for the days in [from, to), grouped by day, service type and/or provider
+     * GET /api/bookings/analytics/revenue?from={date}&to={date}&groupBy=day,serviceType,provider
+     * An empty groupBy returns the total
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueRow>> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") List<String> groupBy) {
+        try {
+            Set<BookingRevenueRollups.Dimension> dimensions = EnumSet.noneOf(BookingRevenueRollups.Dimension.class);
+            for (String dimension : groupBy) {
+                if (!dimension.isBlank()) {
+                    dimensions.add(BookingRevenueRollups.Dimension.from(dimension));
+                }
+            }
+            return ResponseEntity.ok(revenueRollups.revenue(from, to, dimensions));
+        } catch (IllegalArgumentException e) {
+            // Return bad request for an unknown dimension or an empty, inverted or too long range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get booking counts and price statistics, optionally filtered and grouped
+     * GET /api/bookings/analytics/bookings?groupBy=status,serviceType,hourOfDay,dayOfWeek,priceBucket
+     *     &status=&serviceType=&from={datetime}&to={datetime}&priceBucket={width}
+     * Filters on scheduled time in [from, to); an empty groupBy returns the total
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<List<BookingAggregate>> getBookingAggregates(
+            @RequestParam(defaultValue = "status") List<String> groupBy,
+            @RequestParam(required = false) Set<Booking.BookingStatus> status,
+            @RequestParam(required = false) Set<Booking.ServiceType> serviceType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") double priceBucket) {
+        try {
+            Set<BookingColumnStore.Dimension> dimensions = EnumSet.noneOf(BookingColumnStore.Dimension.class);
+            for (String dimension : groupBy) {
+                if (!dimension.isBlank()) {
+                    dimensions.add(BookingColumnStore.Dimension.from(dimension));
+                }
+            }
+            BookingColumnStore.Filter filter = new BookingColumnStore.Filter(status, serviceType, from, to);
+            return ResponseEntity.ok(columnStore.aggregate(filter, dimensions, priceBucket));
+        } catch (IllegalArgumentException e) {
+            // Return bad request for an unknown dimension, a bad bucket width or too many groups
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BulkTransitionRequest;
+import com.carwash.dto.BulkTransitionResponse;
+import com.carwash.service.BookingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for bulk booking status changes
+ * Each request is one locking SELECT and one UPDATE; the response reports the outcome per booking
+ */
+@RestController
+@RequestMapping("/api/bookings/bulk")
+// CORS handled globally via CorsConfig
+public class BookingBulkController {
+
+    private final BookingService bookingService;
+
+    public BookingBulkController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Cancel all pending bookings of a customer
+     * POST /api/bookings/bulk/customer/{customerId}/cancel-pending
+     */
+    @PostMapping("/customer/{customerId}/cancel-pending")
+    public ResponseEntity<BulkTransitionResponse> cancelPendingBookingsOfCustomer(@PathVariable Long customerId) {
+        return ResponseEntity.ok(bookingService.cancelPendingBookingsOfCustomer(customerId));
+    }
+
+    /**
+     * Cancel a provider's open bookings scheduled within a time range
+     * POST /api/bookings/bulk/provider/{providerId}/cancel?from={from}&to={to}
+     */
+    @PostMapping("/provider/{providerId}/cancel")
+    public ResponseEntity<BulkTransitionResponse> cancelProviderBookingsInRange(
+            @PathVariable Long providerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(bookingService.cancelProviderBookingsInRange(providerId, from, to));
+        } catch (IllegalArgumentException e) {
+            // Return bad request for an empty, inverted or too long range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Move a list of bookings to one status
+     * POST /api/bookings/bulk/status
+     * 200 with per-booking results; bookings that cannot make the transition do not fail the request
+     */
+    @PostMapping("/status")
+    public ResponseEntity<BulkTransitionResponse> transitionStatuses(@RequestBody BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bookingService.transitionStatuses(request.getIds(), request.getStatus()));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if the list is empty, too long or the status is missing
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
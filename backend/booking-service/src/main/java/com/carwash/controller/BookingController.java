@@ -1,12 +1,21 @@
 package com.carwash.controller;
 
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.dto.BookingCacheStats;
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
+import com.carwash.dto.NearbyBooking;
+import com.carwash.dto.ProviderStats;
 import com.carwash.entity.Booking;
 import com.carwash.service.BookingService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.lang.Nullable;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,17 +46,64 @@ public class BookingController {
         } catch (IllegalArgumentException e) {
             // Return bad request if validation fails
             return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the provider is already booked
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Create many bookings at once
+     * POST /api/bookings/batch
+     * 201 when every item was created, 200 with per-item results when some were rejected
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(@RequestBody List<Booking> bookings) {
+        try {
+            BatchBookingResponse response = bookingService.createBookings(bookings);
+            if (response.getCreated() == 0) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+            return new ResponseEntity<>(response, status);
+        } catch (IllegalArgumentException e) {
+            // Return bad request if the batch is empty or too large
+            return ResponseEntity.badRequest().build();
         }
     }
     
     /**
-     * Get all bookings
-     * GET /api/bookings
+     * Get one page of bookings
+     * GET /api/bookings?limit={limit}&cursor={cursor}
+     * Lists are always paged; limit defaults to 20 and is capped at BookingService.MAX_PAGE_SIZE
      */
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPage> getBookingsPage(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if cursor is malformed
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get bookings scheduled within a time range, optionally for one provider
+     * GET /api/bookings?from={from}&to={to}&providerId={providerId}
+     */
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<List<BookingSummary>> getBookingsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long providerId) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsInRange(from, to, providerId));
+        } catch (IllegalArgumentException e) {
+            // Return bad request for an empty, inverted or too long range
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -62,33 +118,54 @@ public class BookingController {
     }
     
     /**
-     * Get bookings by customer ID
-     * GET /api/bookings/customer/{customerId}
+     * Get one page of bookings by customer ID
+     * GET /api/bookings/customer/{customerId}?limit={limit}&cursor={cursor}
      */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Booking>> getBookingsByCustomerId(@PathVariable Long customerId) {
-        List<Booking> bookings = bookingService.getBookingsByCustomerId(customerId);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPage> getBookingsPageByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPageByCustomerId(customerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if cursor is malformed
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
-     * Get bookings by provider ID
-     * GET /api/bookings/provider/{providerId}
+     * Get one page of bookings by provider ID
+     * GET /api/bookings/provider/{providerId}?limit={limit}&cursor={cursor}
      */
     @GetMapping("/provider/{providerId}")
-    public ResponseEntity<List<Booking>> getBookingsByProviderId(@PathVariable Long providerId) {
-        List<Booking> bookings = bookingService.getBookingsByProviderId(providerId);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPage> getBookingsPageByProviderId(
+            @PathVariable Long providerId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPageByProviderId(providerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if cursor is malformed
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
-     * Get bookings by status
-     * GET /api/bookings/status/{status}
+     * Get one page of bookings by status
+     * GET /api/bookings/status/{status}?limit={limit}&cursor={cursor}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable Booking.BookingStatus status) {
-        List<Booking> bookings = bookingService.getBookingsByStatus(status);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPage> getBookingsPageByStatus(
+            @PathVariable Booking.BookingStatus status,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPageByStatus(status, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if cursor is malformed
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -103,6 +180,12 @@ public class BookingController {
         } catch (IllegalArgumentException e) {
             // Return not found if booking doesn't exist
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the provider is already booked or the status change is not allowed
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (OptimisticLockingFailureException e) {
+            // Return conflict if the booking changed concurrently
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
@@ -118,6 +201,28 @@ public class BookingController {
         } catch (IllegalArgumentException e) {
             // Return not found if booking doesn't exist
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the transition is not allowed
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Update booking status without returning the booking
+     * PATCH /api/bookings/{id}/status with header Prefer: return=minimal
+     * Moves the booking with a guarded UPDATE and does not read it back; 204 on success
+     */
+    @PatchMapping(value = "/{id}/status", headers = "Prefer=return=minimal")
+    public ResponseEntity<Void> transitionBookingStatus(@PathVariable Long id, @RequestBody Booking.BookingStatus status) {
+        try {
+            bookingService.transitionStatus(id, status);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            // Return not found if booking doesn't exist
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the transition is not allowed
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
@@ -165,4 +270,55 @@ public class BookingController {
         long count = bookingService.getBookingCountByProviderAndStatus(providerId, status);
         return ResponseEntity.ok(count);
     }
+    
+    /**
+     * Get all dashboard statistics for a provider
+     * GET /api/bookings/stats/provider/{providerId}
+     */
+    @GetMapping("/stats/provider/{providerId}")
+    public ResponseEntity<ProviderStats> getProviderStats(@PathVariable Long providerId) {
+        return ResponseEntity.ok(bookingService.getProviderStats(providerId));
+    }
+    
+    /**
+     * Get dashboard statistics for many providers (admin view)
+     * GET /api/bookings/stats/providers?ids={id1},{id2},...
+     */
+    @GetMapping("/stats/providers")
+    public ResponseEntity<List<ProviderStats>> getProviderStatsBulk(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(bookingService.getProviderStats(ids));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if the id list is empty or too long
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get booking cache statistics
+     * GET /api/bookings/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<BookingCacheStats>> getCacheStats() {
+        return ResponseEntity.ok(bookingService.getCacheStats());
+    }
+    
+    /**
+     * Find open bookings near a point, nearest first
+     * GET /api/bookings/nearby?lat={lat}&lon={lon}&radiusKm={km}&status={status}&limit={limit}
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyBooking>> getNearbyBookings(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "PENDING") Booking.BookingStatus status,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.findNearbyBookings(lat, lon, radiusKm, status, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request for invalid coordinates, radius or status
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.carwash.controller;
+
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingDispatcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+/**
+ * REST Controller for provider work dispatch
+ * Providers long-poll for the next pending booking instead of listing all of them
+ */
+@RestController
+@RequestMapping("/api/bookings/dispatch")
+// CORS handled globally via CorsConfig
+public class BookingDispatchController {
+    
+    // Extra time for the claim itself before the request times out; a claim finishing later is released
+    private static final long CLAIM_GRACE_MILLIS = 10_000;
+    
+    private final BookingDispatcher bookingDispatcher;
+    
+    public BookingDispatchController(BookingDispatcher bookingDispatcher) {
+        this.bookingDispatcher = bookingDispatcher;
+    }
+    
+    /**
+     * Wait for the next pending booking and assign it to the calling provider
+     * GET /api/bookings/dispatch/next?providerId={providerId}&waitSeconds={seconds}
+     * Responds 200 with the assigned booking, or 204 if nothing arrived in time
+     * A booking claimed after the request timed out or the client went away goes back to pending and the queue
+     */
+    @GetMapping("/next")
+    public DeferredResult<ResponseEntity<Booking>> nextBooking(@RequestParam Long providerId,
+                                                               @RequestParam(defaultValue = "30") long waitSeconds) {
+        Duration wait = Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, BookingDispatcher.MAX_WAIT.getSeconds())));
+        DeferredResult<ResponseEntity<Booking>> result =
+            new DeferredResult<>(wait.toMillis() + CLAIM_GRACE_MILLIS, ResponseEntity.noContent().build());
+        
+        bookingDispatcher.next(providerId, wait).whenComplete((booking, error) -> {
+            if (error != null) {
+                result.setErrorResult(ResponseEntity.internalServerError().build());
+            } else {
+                boolean delivered = result.setResult(
+                    booking.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build()));
+                if (!delivered && booking.isPresent()) {
+                    // Nobody will see this assignment, so undo it rather than leave a provider unaware of their booking
+                    bookingDispatcher.release(booking.get());
+                }
+            }
+        });
+        return result;
+    }
+}
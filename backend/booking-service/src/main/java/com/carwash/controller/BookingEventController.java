@@ -0,0 +1,43 @@
+package com.carwash.controller;
+
+import com.carwash.service.BookingEventBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for live booking status updates
+ * Streams status changes as Server-Sent Events so apps do not have to poll booking lists
+ */
+@RestController
+@RequestMapping("/api/bookings/events")
+// CORS handled globally via CorsConfig
+public class BookingEventController {
+    
+    private final BookingEventBroadcaster eventBroadcaster;
+    
+    public BookingEventController(BookingEventBroadcaster eventBroadcaster) {
+        this.eventBroadcaster = eventBroadcaster;
+    }
+    
+    /**
+     * Stream status changes of a customer's bookings
+     * GET /api/bookings/events/customer/{customerId}
+     */
+    @GetMapping(value = "/customer/{customerId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerEvents(@PathVariable Long customerId) {
+        return eventBroadcaster.subscribeCustomer(customerId);
+    }
+    
+    /**
+     * Stream status changes of bookings assigned to a provider
+     * GET /api/bookings/events/provider/{providerId}
+     */
+    @GetMapping(value = "/provider/{providerId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProviderEvents(@PathVariable Long providerId) {
+        return eventBroadcaster.subscribeProvider(providerId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.carwash.controller;
+
+import com.carwash.service.BookingExportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+/**
+ * REST Controller for bulk booking export
+ * Streams the full table as NDJSON or CSV instead of building one JSON array
+ */
+@RestController
+@RequestMapping("/api/bookings/export")
+// CORS handled globally via CorsConfig
+public class BookingExportController {
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    
+    private final BookingExportService bookingExportService;
+    
+    public BookingExportController(BookingExportService bookingExportService) {
+        this.bookingExportService = bookingExportService;
+    }
+    
+    /**
+     * Export all bookings
+     * GET /api/bookings/export?format={ndjson|csv}
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BookingExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = BookingExportService.ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            // Return bad request for unsupported formats
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> bookingExportService.exportBookings(exportFormat, outputStream);
+        return ResponseEntity.ok()
+            .contentType(exportFormat == BookingExportService.ExportFormat.CSV ? CSV : NDJSON)
+            .header("Content-Disposition", "attachment; filename=bookings." + exportFormat.name().toLowerCase(Locale.ROOT))
+            .body(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BookingPage;
+import com.carwash.service.BookingArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for booking history
+ * The only endpoint that reads archived bookings; everything else sees the live table
+ */
+@RestController
+@RequestMapping("/api/bookings/customer")
+// CORS handled globally via CorsConfig
+public class BookingHistoryController {
+    
+    private final BookingArchiveService bookingArchiveService;
+    
+    public BookingHistoryController(BookingArchiveService bookingArchiveService) {
+        this.bookingArchiveService = bookingArchiveService;
+    }
+    
+    /**
+     * Get one page of the full booking history of a customer, including archived bookings
+     * GET /api/bookings/customer/{customerId}/history?limit={limit}&cursor={cursor}
+     * Paged like the live lists; limit defaults to 20 and is capped at BookingService.MAX_PAGE_SIZE
+     */
+    @GetMapping("/{customerId}/history")
+    public ResponseEntity<BookingPage> getCustomerHistory(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(bookingArchiveService.getCustomerHistory(customerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Return bad request if cursor is malformed
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
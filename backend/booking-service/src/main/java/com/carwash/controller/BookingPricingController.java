@@ -0,0 +1,40 @@
+package com.carwash.controller;
+
+import com.carwash.dto.PriceQuote;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingPricing;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for booking price quotes
+ * Quotes come from the in-memory price table and never touch the database
+ */
+@RestController
+@RequestMapping("/api/bookings/prices")
+// CORS handled globally via CorsConfig
+public class BookingPricingController {
+
+    private final BookingPricing pricing;
+
+    public BookingPricingController(BookingPricing pricing) {
+        this.pricing = pricing;
+    }
+
+    /**
+     * Get the current price of a service in the slot containing scheduledTime
+     * GET /api/bookings/prices?serviceType={type}&scheduledTime={datetime}
+     */
+    @GetMapping
+    public ResponseEntity<PriceQuote> getQuote(
+            @RequestParam Booking.ServiceType serviceType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledTime) {
+        return ResponseEntity.ok(pricing.quote(serviceType, scheduledTime));
+    }
+}
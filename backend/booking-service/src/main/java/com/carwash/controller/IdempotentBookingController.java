@@ -0,0 +1,95 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingService;
+import com.carwash.service.IdempotencyKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * REST Controller for booking creation with an Idempotency-Key header
+ * Takes over POST /api/bookings and /api/bookings/batch when the header is present; a retry with
+ * the same key returns the first response with Idempotent-Replayed: true and creates nothing.
+ * Requests rejected with an error are not stored, so the client may fix and resend them under the same key.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+// CORS handled globally via CorsConfig
+public class IdempotentBookingController {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final BookingService bookingService;
+    private final IdempotencyKeys idempotencyKeys;
+    private final ObjectMapper objectMapper;
+
+    public IdempotentBookingController(BookingService bookingService, IdempotencyKeys idempotencyKeys,
+                                       ObjectMapper objectMapper) {
+        this.bookingService = bookingService;
+        this.idempotencyKeys = idempotencyKeys;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a new booking at most once per key
+     * POST /api/bookings with header Idempotency-Key
+     * The body is bound by hand because retries are matched on its raw bytes
+     */
+    @PostMapping(headers = IDEMPOTENCY_KEY_HEADER)
+    public ResponseEntity<Booking> createBooking(@RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+                                                 @RequestBody byte[] requestBody) {
+        try {
+            Booking booking = objectMapper.readValue(requestBody, Booking.class);
+            IdempotencyKeys.Outcome<Booking> outcome = idempotencyKeys.execute("booking", idempotencyKey,
+                requestBody, Booking.class, () -> bookingService.createBooking(booking));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .header(REPLAYED_HEADER, String.valueOf(outcome.isReplayed()))
+                .body(outcome.getResponse());
+        } catch (IOException | IllegalArgumentException e) {
+            // Return bad request if the body is malformed, validation fails or the key was reused
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the provider is already booked or the key is still being processed
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Create many bookings at most once per key
+     * POST /api/bookings/batch with header Idempotency-Key
+     */
+    @PostMapping(value = "/batch", headers = IDEMPOTENCY_KEY_HEADER)
+    public ResponseEntity<BatchBookingResponse> createBookings(
+            @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @RequestBody byte[] requestBody) {
+        try {
+            List<Booking> bookings = objectMapper.readValue(requestBody, new TypeReference<List<Booking>>() {});
+            IdempotencyKeys.Outcome<BatchBookingResponse> outcome = idempotencyKeys.execute("batch", idempotencyKey,
+                requestBody, BatchBookingResponse.class, () -> bookingService.createBookings(bookings));
+            BatchBookingResponse response = outcome.getResponse();
+            HttpStatus status = response.getCreated() == 0 ? HttpStatus.BAD_REQUEST
+                : response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+            return ResponseEntity.status(status)
+                .header(REPLAYED_HEADER, String.valueOf(outcome.isReplayed()))
+                .body(response);
+        } catch (IOException | IllegalArgumentException e) {
+            // Return bad request if the body is malformed, the batch is empty or too large, or the key was reused
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // Return conflict if the key is still being processed
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.carwash.controller;
+
+import com.carwash.entity.RecurringBooking;
+import com.carwash.service.RecurringBookingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for recurring bookings
+ * Only the rule is managed here; its occurrences are ordinary bookings under /api/bookings
+ */
+@RestController
+@RequestMapping("/api/recurring-bookings")
+// CORS handled globally via CorsConfig
+public class RecurringBookingController {
+
+    private final RecurringBookingService recurringBookingService;
+
+    public RecurringBookingController(RecurringBookingService recurringBookingService) {
+        this.recurringBookingService = recurringBookingService;
+    }
+
+    /**
+     * Create a recurring booking; bookings for the current window are created right away
+     * POST /api/recurring-bookings
+     */
+    @PostMapping
+    public ResponseEntity<RecurringBooking> createRecurringBooking(@RequestBody RecurringBooking recurrence) {
+        try {
+            return new ResponseEntity<>(recurringBookingService.create(recurrence), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            // Return bad request if validation fails
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get recurring booking by ID
+     * GET /api/recurring-bookings/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringBooking> getRecurringBooking(@PathVariable Long id) {
+        return recurringBookingService.get(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get recurring bookings by customer ID
+     * GET /api/recurring-bookings/customer/{customerId}
+     */
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<RecurringBooking>> getRecurringBookingsByCustomerId(@PathVariable Long customerId) {
+        return ResponseEntity.ok(recurringBookingService.findByCustomer(customerId));
+    }
+
+    /**
+     * Stop a recurring booking and cancel its open future occurrences
+     * DELETE /api/recurring-bookings/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> stopRecurringBooking(@PathVariable Long id) {
+        try {
+            recurringBookingService.stop(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            // Return not found if the recurring booking doesn't exist
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.carwash.dto;
+
+import java.util.List;
+
+/**
+ * Response for a batch booking request
+ * Carries per-item results in submission order plus summary counts
+ */
+public class BatchBookingResponse {
+    private int created;
+    private int rejected;
+    private List<BatchBookingResult> results;
+    
+    public BatchBookingResponse() {}
+    
+    public BatchBookingResponse(List<BatchBookingResult> results) {
+        this.results = results;
+        for (BatchBookingResult result : results) {
+            if (result.getOutcome() == BatchBookingResult.Outcome.CREATED) {
+                created++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+    
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    
+    public List<BatchBookingResult> getResults() { return results; }
+    public void setResults(List<BatchBookingResult> results) { this.results = results; }
+}
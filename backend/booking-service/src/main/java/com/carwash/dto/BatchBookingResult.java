@@ -0,0 +1,49 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+/**
+ * Outcome of one item in a batch booking request
+ * index refers to the item's position in the submitted list
+ */
+public class BatchBookingResult {
+    
+    public enum Outcome {
+        CREATED, REJECTED
+    }
+    
+    private int index;
+    private Outcome outcome;
+    private Booking booking;
+    private String error;
+    
+    public BatchBookingResult() {}
+    
+    public static BatchBookingResult created(int index, Booking booking) {
+        BatchBookingResult result = new BatchBookingResult();
+        result.index = index;
+        result.outcome = Outcome.CREATED;
+        result.booking = booking;
+        return result;
+    }
+    
+    public static BatchBookingResult rejected(int index, String error) {
+        BatchBookingResult result = new BatchBookingResult();
+        result.index = index;
+        result.outcome = Outcome.REJECTED;
+        result.error = error;
+        return result;
+    }
+    
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+    
+    public Booking getBooking() { return booking; }
+    public void setBooking(Booking booking) { this.booking = booking; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
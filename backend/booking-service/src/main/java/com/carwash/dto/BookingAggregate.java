@@ -0,0 +1,63 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.DayOfWeek;
+
+/**
+ * One group of an ad-hoc booking analytics query
+ * Dimensions the query is not grouped by are null. Price statistics only cover bookings that have a
+ * price; priceFrom/priceTo bound the bucket when grouping by price, with priceTo null for the last one.
+ */
+public class BookingAggregate {
+    private Booking.BookingStatus status;
+    private Booking.ServiceType serviceType;
+    private Integer hourOfDay;
+    private DayOfWeek dayOfWeek;
+    private Double priceFrom;
+    private Double priceTo;
+    private long bookings;
+    private long pricedBookings;
+    private double totalPrice;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double averagePrice;
+
+    public BookingAggregate() {}
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public Integer getHourOfDay() { return hourOfDay; }
+    public void setHourOfDay(Integer hourOfDay) { this.hourOfDay = hourOfDay; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public Double getPriceFrom() { return priceFrom; }
+    public void setPriceFrom(Double priceFrom) { this.priceFrom = priceFrom; }
+
+    public Double getPriceTo() { return priceTo; }
+    public void setPriceTo(Double priceTo) { this.priceTo = priceTo; }
+
+    public long getBookings() { return bookings; }
+    public void setBookings(long bookings) { this.bookings = bookings; }
+
+    public long getPricedBookings() { return pricedBookings; }
+    public void setPricedBookings(long pricedBookings) { this.pricedBookings = pricedBookings; }
+
+    public double getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(double totalPrice) { this.totalPrice = totalPrice; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public Double getAveragePrice() { return averagePrice; }
+    public void setAveragePrice(Double averagePrice) { this.averagePrice = averagePrice; }
+}
@@ -0,0 +1,58 @@
+package com.carwash.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position used for cursor pagination over bookings
+ * Encoded as an opaque URL-safe token so clients never depend on its layout
+ */
+public class BookingCursor {
+
+    private static final String INVALID_CURSOR_MSG = "Invalid cursor: ";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime scheduledTime;
+    private final Long id;
+
+    public BookingCursor(LocalDateTime scheduledTime, Long id) {
+        this.scheduledTime = scheduledTime;
+        this.id = id;
+    }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+
+    public Long getId() { return id; }
+
+    /**
+     * Encode cursor as opaque token
+     * Scheduled time is optional for id-only keysets
+     */
+    public String encode() {
+        String time = scheduledTime != null ? scheduledTime.toString() : "";
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode token produced by {@link #encode()}
+     * Throws IllegalArgumentException for malformed tokens
+     */
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MSG + token);
+            }
+            String time = raw.substring(0, split);
+            Long id = Long.valueOf(raw.substring(split + 1));
+            return new BookingCursor(time.isEmpty() ? null : LocalDateTime.parse(time), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MSG + token, e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Committed booking change handed to other components through the outbox
+ * Fields the change did not touch may be null, e.g. a status change carries no service type.
+ * The id is the outbox row id: delivery is at-least-once, so consumers drop ids they have seen.
+ */
+public class BookingDomainEvent {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private Long id;
+    private Type type;
+    private Long bookingId;
+    private Long customerId;
+    private Long providerId;
+    private Booking.BookingStatus status;
+    private Booking.ServiceType serviceType;
+    private LocalDateTime scheduledTime;
+    private Double price;
+    private LocalDateTime occurredAt;
+
+    public BookingDomainEvent() {}
+
+    public BookingDomainEvent(Long id, Type type, Long bookingId, Long customerId, Long providerId,
+                              Booking.BookingStatus status, Booking.ServiceType serviceType,
+                              LocalDateTime scheduledTime, Double price, LocalDateTime occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.providerId = providerId;
+        this.status = status;
+        this.serviceType = serviceType;
+        this.scheduledTime = scheduledTime;
+        this.price = price;
+        this.occurredAt = occurredAt;
+    }
+
+    public static BookingDomainEvent of(Type type, Booking booking) {
+        return new BookingDomainEvent(null, type, booking.getId(), booking.getCustomerId(), booking.getProviderId(),
+            booking.getStatus(), booking.getServiceType(), booking.getScheduledTime(), booking.getPrice(),
+            LocalDateTime.now());
+    }
+
+    public static BookingDomainEvent statusChanged(Long bookingId, Long customerId, Long providerId,
+                                                   Booking.BookingStatus status) {
+        return new BookingDomainEvent(null, Type.STATUS_CHANGED, bookingId, customerId, providerId, status,
+            null, null, null, LocalDateTime.now());
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,25 @@
+package com.carwash.dto;
+
+import java.util.List;
+
+/**
+ * One page of bookings returned by cursor pagination
+ * Items are list view rows; nextCursor is null once the last page has been reached
+ */
+public class BookingPage {
+    private List<BookingSummary> items;
+    private String nextCursor;
+
+    public BookingPage() {}
+
+    public BookingPage(List<BookingSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookingSummary> getItems() { return items; }
+    public void setItems(List<BookingSummary> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
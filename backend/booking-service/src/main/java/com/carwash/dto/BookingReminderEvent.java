@@ -0,0 +1,40 @@
+package com.carwash.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reminder pushed to a booking's customer and provider ahead of the scheduled time
+ */
+public class BookingReminderEvent {
+    private Long bookingId;
+    private Long customerId;
+    private Long providerId;
+    private LocalDateTime scheduledTime;
+    private LocalDateTime sentAt;
+
+    public BookingReminderEvent() {}
+
+    public BookingReminderEvent(Long bookingId, Long customerId, Long providerId, LocalDateTime scheduledTime,
+                                LocalDateTime sentAt) {
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.providerId = providerId;
+        this.scheduledTime = scheduledTime;
+        this.sentAt = sentAt;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
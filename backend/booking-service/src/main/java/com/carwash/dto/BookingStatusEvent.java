@@ -0,0 +1,47 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change pushed to subscribed customers and providers
+ */
+public class BookingStatusEvent {
+    private Long bookingId;
+    private Long customerId;
+    private Long providerId;
+    private Booking.BookingStatus status;
+    private LocalDateTime changedAt;
+    
+    public BookingStatusEvent() {}
+    
+    public BookingStatusEvent(Long bookingId, Long customerId, Long providerId, Booking.BookingStatus status,
+                              LocalDateTime changedAt) {
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.providerId = providerId;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+    
+    public static BookingStatusEvent of(Booking booking) {
+        return new BookingStatusEvent(booking.getId(), booking.getCustomerId(), booking.getProviderId(),
+            booking.getStatus(), LocalDateTime.now());
+    }
+    
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+    
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,39 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a booking list view
+ * Selected straight into this class by JPQL constructor expressions, so list endpoints never
+ * hydrate managed entities or keep dirty-checking snapshots for them. Immutable, so cached
+ * lists can be shared safely.
+ */
+public class BookingSummary {
+    private final Long id;
+    private final Booking.BookingStatus status;
+    private final LocalDateTime scheduledTime;
+    private final Booking.ServiceType serviceType;
+    private final Double price;
+
+    public BookingSummary(Long id, Booking.BookingStatus status, LocalDateTime scheduledTime,
+                          Booking.ServiceType serviceType, Double price) {
+        this.id = id;
+        this.status = status;
+        this.scheduledTime = scheduledTime;
+        this.serviceType = serviceType;
+        this.price = price;
+    }
+
+    public static BookingSummary of(Booking booking) {
+        return new BookingSummary(booking.getId(), booking.getStatus(), booking.getScheduledTime(),
+            booking.getServiceType(), booking.getPrice());
+    }
+
+    public Long getId() { return id; }
+    public Booking.BookingStatus getStatus() { return status; }
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public Double getPrice() { return price; }
+}
@@ -0,0 +1,26 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.util.List;
+
+/**
+ * Request to move a list of bookings to one status
+ */
+public class BulkTransitionRequest {
+    private List<Long> ids;
+    private Booking.BookingStatus status;
+
+    public BulkTransitionRequest() {}
+
+    public BulkTransitionRequest(List<Long> ids, Booking.BookingStatus status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+}
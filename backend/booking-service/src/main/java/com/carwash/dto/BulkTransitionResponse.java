@@ -0,0 +1,42 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.util.List;
+
+/**
+ * Response for a bulk status change
+ * Carries per-booking results plus the number moved to the target status and the number left as they were
+ */
+public class BulkTransitionResponse {
+    private Booking.BookingStatus status;
+    private int transitioned;
+    private int skipped;
+    private List<BulkTransitionResult> results;
+
+    public BulkTransitionResponse() {}
+
+    public BulkTransitionResponse(Booking.BookingStatus status, List<BulkTransitionResult> results) {
+        this.status = status;
+        this.results = results;
+        for (BulkTransitionResult result : results) {
+            if (result.getOutcome() == BulkTransitionResult.Outcome.TRANSITIONED) {
+                transitioned++;
+            } else {
+                skipped++;
+            }
+        }
+    }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public int getTransitioned() { return transitioned; }
+    public void setTransitioned(int transitioned) { this.transitioned = transitioned; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public List<BulkTransitionResult> getResults() { return results; }
+    public void setResults(List<BulkTransitionResult> results) { this.results = results; }
+}
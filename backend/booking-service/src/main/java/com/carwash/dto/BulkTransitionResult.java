@@ -0,0 +1,60 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+/**
+ * Outcome for one booking of a bulk status change
+ * previousStatus is the status the booking was in when the request locked it; null if not found
+ */
+public class BulkTransitionResult {
+
+    public enum Outcome {
+        TRANSITIONED, UNCHANGED, REJECTED, NOT_FOUND
+    }
+
+    private Long bookingId;
+    private Outcome outcome;
+    private Booking.BookingStatus previousStatus;
+    private String error;
+
+    public BulkTransitionResult() {}
+
+    public static BulkTransitionResult transitioned(Long bookingId, Booking.BookingStatus previousStatus) {
+        return of(bookingId, Outcome.TRANSITIONED, previousStatus, null);
+    }
+
+    // Already in the target status, e.g. a retried request
+    public static BulkTransitionResult unchanged(Long bookingId, Booking.BookingStatus status) {
+        return of(bookingId, Outcome.UNCHANGED, status, null);
+    }
+
+    public static BulkTransitionResult rejected(Long bookingId, Booking.BookingStatus previousStatus, String error) {
+        return of(bookingId, Outcome.REJECTED, previousStatus, error);
+    }
+
+    public static BulkTransitionResult notFound(Long bookingId, String error) {
+        return of(bookingId, Outcome.NOT_FOUND, null, error);
+    }
+
+    private static BulkTransitionResult of(Long bookingId, Outcome outcome, Booking.BookingStatus previousStatus,
+                                           String error) {
+        BulkTransitionResult result = new BulkTransitionResult();
+        result.bookingId = bookingId;
+        result.outcome = outcome;
+        result.previousStatus = previousStatus;
+        result.error = error;
+        return result;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public Booking.BookingStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(Booking.BookingStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
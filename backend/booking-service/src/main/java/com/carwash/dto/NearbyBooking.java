@@ -0,0 +1,24 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+/**
+ * Booking returned by a nearby search with its distance from the search point
+ */
+public class NearbyBooking {
+    private Booking booking;
+    private double distanceKm;
+    
+    public NearbyBooking() {}
+    
+    public NearbyBooking(Booking booking, double distanceKm) {
+        this.booking = booking;
+        this.distanceKm = distanceKm;
+    }
+    
+    public Booking getBooking() { return booking; }
+    public void setBooking(Booking booking) { this.booking = booking; }
+    
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,32 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Price of a service in one time slot
+ * price is the base price for the service type times the slot's current surge multiplier.
+ */
+public class PriceQuote {
+    private final Booking.ServiceType serviceType;
+    private final LocalDateTime scheduledTime;
+    private final double basePrice;
+    private final double multiplier;
+    private final double price;
+
+    public PriceQuote(Booking.ServiceType serviceType, LocalDateTime scheduledTime, double basePrice,
+                      double multiplier, double price) {
+        this.serviceType = serviceType;
+        this.scheduledTime = scheduledTime;
+        this.basePrice = basePrice;
+        this.multiplier = multiplier;
+        this.price = price;
+    }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public double getBasePrice() { return basePrice; }
+    public double getMultiplier() { return multiplier; }
+    public double getPrice() { return price; }
+}
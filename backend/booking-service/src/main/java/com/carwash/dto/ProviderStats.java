@@ -0,0 +1,63 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Dashboard statistics for one service provider
+ * Every status is present in the maps, with zero when the provider has no such bookings
+ */
+public class ProviderStats {
+    private Long providerId;
+    private Map<Booking.BookingStatus, Long> countsByStatus = new EnumMap<>(Booking.BookingStatus.class);
+    private Map<Booking.BookingStatus, Double> revenueByStatus = new EnumMap<>(Booking.BookingStatus.class);
+    private long totalBookings;
+    private double completedRevenue;
+    private long upcomingBookings;
+    
+    public ProviderStats() {}
+    
+    public ProviderStats(Long providerId) {
+        this.providerId = providerId;
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            countsByStatus.put(status, 0L);
+            revenueByStatus.put(status, 0.0);
+        }
+    }
+    
+    /**
+     * Fold one aggregated (provider, status) row into the totals
+     * Upcoming only counts bookings that still need doing
+     */
+    public void add(Booking.BookingStatus status, long bookings, double revenue, long upcoming) {
+        countsByStatus.merge(status, bookings, Long::sum);
+        revenueByStatus.merge(status, revenue, Double::sum);
+        totalBookings += bookings;
+        if (status == Booking.BookingStatus.COMPLETED) {
+            completedRevenue += revenue;
+        }
+        if (status == Booking.BookingStatus.PENDING || status == Booking.BookingStatus.ACCEPTED) {
+            upcomingBookings += upcoming;
+        }
+    }
+    
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    
+    public Map<Booking.BookingStatus, Long> getCountsByStatus() { return countsByStatus; }
+    public void setCountsByStatus(Map<Booking.BookingStatus, Long> countsByStatus) { this.countsByStatus = countsByStatus; }
+    
+    public Map<Booking.BookingStatus, Double> getRevenueByStatus() { return revenueByStatus; }
+    public void setRevenueByStatus(Map<Booking.BookingStatus, Double> revenueByStatus) { this.revenueByStatus = revenueByStatus; }
+    
+    public long getTotalBookings() { return totalBookings; }
+    public void setTotalBookings(long totalBookings) { this.totalBookings = totalBookings; }
+    
+    public double getCompletedRevenue() { return completedRevenue; }
+    public void setCompletedRevenue(double completedRevenue) { this.completedRevenue = completedRevenue; }
+    
+    public long getUpcomingBookings() { return upcomingBookings; }
+    public void setUpcomingBookings(long upcomingBookings) { this.upcomingBookings = upcomingBookings; }
+}
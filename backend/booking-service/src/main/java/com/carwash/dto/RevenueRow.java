@@ -0,0 +1,43 @@
+package com.carwash.dto;
+
+import com.carwash.entity.Booking;
+
+import java.time.LocalDate;
+
+/**
+ * Completed bookings and revenue for one group of a revenue report
+ * Dimensions the report is not grouped by are null; so is providerId for unassigned bookings
+ */
+public class RevenueRow {
+    private LocalDate day;
+    private Booking.ServiceType serviceType;
+    private Long providerId;
+    private long completedBookings;
+    private double revenue;
+
+    public RevenueRow() {}
+
+    public RevenueRow(LocalDate day, Booking.ServiceType serviceType, Long providerId,
+                      long completedBookings, double revenue) {
+        this.day = day;
+        this.serviceType = serviceType;
+        this.providerId = providerId;
+        this.completedBookings = completedBookings;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public long getCompletedBookings() { return completedBookings; }
+    public void setCompletedBookings(long completedBookings) { this.completedBookings = completedBookings; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+}
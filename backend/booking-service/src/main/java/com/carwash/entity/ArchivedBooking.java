@@ -0,0 +1,96 @@
+package com.carwash.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Finished booking moved out of the bookings table by the archival job
+ * Same columns as Booking plus the time it was archived; rows are written once and never changed
+ */
+@Entity
+@Immutable
+@Table(name = "bookings_archive", indexes = {
+    // Customer history ordered by scheduled time
+    @Index(name = "idx_bookings_archive_customer_time", columnList = "customer_id, scheduled_time, id"),
+    // Revenue rollup reconciliation over a range of days
+    @Index(name = "idx_bookings_archive_status_time", columnList = "status, scheduled_time")
+})
+public class ArchivedBooking {
+    
+    // Keeps the id the booking had in the hot table
+    @Id
+    private Long id;
+    
+    private Long customerId;
+    private Long providerId;
+    
+    @Enumerated(EnumType.STRING)
+    private Booking.ServiceType serviceType;
+    
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus status;
+    
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime scheduledTime;
+    private Double price;
+    
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    private long version;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    public ArchivedBooking() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+    
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+    
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+    
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    
+    public Long getRecurrenceId() { return recurrenceId; }
+    public void setRecurrenceId(Long recurrenceId) { this.recurrenceId = recurrenceId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
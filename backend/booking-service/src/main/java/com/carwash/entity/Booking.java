@@ -1,13 +1,31 @@
 package com.carwash.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // countByProviderIdAndStatus and provider dashboard filters
+    @Index(name = "idx_bookings_provider_status", columnList = "provider_id, status"),
+    // findByProviderId and provider keyset pages ordered by scheduled time
+    @Index(name = "idx_bookings_provider_time", columnList = "provider_id, scheduled_time, id"),
+    // findByCustomerId and customer keyset pages ordered by scheduled time
+    @Index(name = "idx_bookings_customer_time", columnList = "customer_id, scheduled_time, id"),
+    // findByStatus, findByStatusIn and status keyset pages ordered by scheduled time
+    @Index(name = "idx_bookings_status_time", columnList = "status, scheduled_time, id"),
+    // Date-range day and week views across all providers
+    @Index(name = "idx_bookings_time", columnList = "scheduled_time, id"),
+    // Occurrences of a recurring booking, for cancelling the future ones when the rule stops
+    @Index(name = "idx_bookings_recurrence_time", columnList = "recurrence_id, scheduled_time")
+})
 public class Booking {
+    // Ids are drawn from a pooled sequence so Hibernate can batch inserts (IDENTITY disables batching)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     private Long customerId;
@@ -20,14 +38,41 @@ public class Booking {
     private BookingStatus status = BookingStatus.PENDING;
     
     private String location;
+    
+    // WGS84 coordinates of the location, used for nearby-job search; optional
+    private Double latitude;
+    private Double longitude;
+    
     private LocalDateTime scheduledTime;
     private Double price;
     
+    // Recurring booking this occurrence was materialized from; null for one-off bookings
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+    
+    // When the pre-appointment reminder went out; cleared when the booking is rescheduled
+    @JsonIgnore
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
+    // Optimistic lock for load-modify-save updates; bulk UPDATEs bump it explicitly
+    @Version
+    private long version;
+    
     public enum ServiceType {
-        BASIC_WASH, PREMIUM_WASH, FULL_DETAIL
+        BASIC_WASH(30), PREMIUM_WASH(60), FULL_DETAIL(120);
+        
+        // Nominal time a provider is busy with this service, used for schedule conflicts
+        private final int durationMinutes;
+        
+        ServiceType(int durationMinutes) {
+            this.durationMinutes = durationMinutes;
+        }
+        
+        public int getDurationMinutes() { return durationMinutes; }
     }
     
     public enum BookingStatus {
@@ -55,12 +100,27 @@ public class Booking {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public LocalDateTime getScheduledTime() { return scheduledTime; }
     public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
     
     public Double getPrice() { return price; }
     public void setPrice(Double price) { this.price = price; }
     
+    public Long getRecurrenceId() { return recurrenceId; }
+    public void setRecurrenceId(Long recurrenceId) { this.recurrenceId = recurrenceId; }
+    
+    public LocalDateTime getReminderSentAt() { return reminderSentAt; }
+    public void setReminderSentAt(LocalDateTime reminderSentAt) { this.reminderSentAt = reminderSentAt; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
\ No newline at end of file
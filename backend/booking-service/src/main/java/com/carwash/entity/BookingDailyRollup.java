@@ -0,0 +1,91 @@
+package com.carwash.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Completed bookings and their revenue for one day, service type and provider
+ * Maintained alongside every booking write so revenue reports never scan the bookings table.
+ * The day is the booking's scheduled date; archived bookings stay counted.
+ */
+@Entity
+@Table(name = "booking_daily_rollup")
+@IdClass(BookingDailyRollup.Key.class)
+public class BookingDailyRollup {
+
+    // Stands in for "no provider" since key columns cannot be null
+    public static final long UNASSIGNED_PROVIDER = 0L;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_type", length = 20)
+    private Booking.ServiceType serviceType;
+
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private long completedBookings;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    public BookingDailyRollup() {}
+
+    public LocalDate getRollupDate() { return rollupDate; }
+    public void setRollupDate(LocalDate rollupDate) { this.rollupDate = rollupDate; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public long getCompletedBookings() { return completedBookings; }
+    public void setCompletedBookings(long completedBookings) { this.completedBookings = completedBookings; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+
+    /**
+     * Composite primary key (rollup_date, service_type, provider_id)
+     */
+    public static class Key implements Serializable {
+        private LocalDate rollupDate;
+        private Booking.ServiceType serviceType;
+        private Long providerId;
+
+        public Key() {}
+
+        public Key(LocalDate rollupDate, Booking.ServiceType serviceType, Long providerId) {
+            this.rollupDate = rollupDate;
+            this.serviceType = serviceType;
+            this.providerId = providerId;
+        }
+
+        public LocalDate getRollupDate() { return rollupDate; }
+        public Booking.ServiceType getServiceType() { return serviceType; }
+        public Long getProviderId() { return providerId; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(rollupDate, key.rollupDate) && serviceType == key.serviceType
+                && Objects.equals(providerId, key.providerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rollupDate, serviceType, providerId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.carwash.entity;
+
+import com.carwash.dto.BookingDomainEvent;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking change waiting in the outbox for the relay
+ * Inserted in the same transaction as the change itself, so a change is recorded exactly when it
+ * commits; the relay deletes the row once the event has been published
+ */
+@Entity
+@Table(name = "booking_outbox", indexes = {
+    // Relay drains oldest first
+    @Index(name = "idx_booking_outbox_order", columnList = "occurred_at, id")
+})
+public class BookingOutboxEvent {
+
+    // Pooled sequence so the events of one transaction go out as one batched INSERT
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_outbox_seq")
+    @SequenceGenerator(name = "booking_outbox_seq", sequenceName = "booking_outbox_seq",
+                       allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 20, nullable = false)
+    private BookingDomainEvent.Type type;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Booking.BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_type", length = 20)
+    private Booking.ServiceType serviceType;
+
+    @Column(name = "scheduled_time")
+    private LocalDateTime scheduledTime;
+
+    private Double price;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public BookingOutboxEvent() {}
+
+    public static BookingOutboxEvent of(BookingDomainEvent event) {
+        BookingOutboxEvent row = new BookingOutboxEvent();
+        row.type = event.getType();
+        row.bookingId = event.getBookingId();
+        row.customerId = event.getCustomerId();
+        row.providerId = event.getProviderId();
+        row.status = event.getStatus();
+        row.serviceType = event.getServiceType();
+        row.scheduledTime = event.getScheduledTime();
+        row.price = event.getPrice();
+        row.occurredAt = event.getOccurredAt();
+        return row;
+    }
+
+    public BookingDomainEvent toEvent() {
+        return new BookingDomainEvent(id, type, bookingId, customerId, providerId, status, serviceType,
+            scheduledTime, price, occurredAt);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public BookingDomainEvent.Type getType() { return type; }
+    public void setType(BookingDomainEvent.Type type) { this.type = type; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public void setScheduledTime(LocalDateTime scheduledTime) { this.scheduledTime = scheduledTime; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,75 @@
+package com.carwash.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Running number of bookings a provider has in one status
+ * Maintained alongside every booking write so dashboard counts never scan the bookings table
+ */
+@Entity
+@Table(name = "provider_booking_counters")
+@IdClass(ProviderBookingCounter.Key.class)
+public class ProviderBookingCounter {
+    
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Booking.BookingStatus status;
+    
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+    
+    public ProviderBookingCounter() {}
+    
+    public ProviderBookingCounter(Long providerId, Booking.BookingStatus status, long bookingCount) {
+        this.providerId = providerId;
+        this.status = status;
+        this.bookingCount = bookingCount;
+    }
+    
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+    
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+    
+    public long getBookingCount() { return bookingCount; }
+    public void setBookingCount(long bookingCount) { this.bookingCount = bookingCount; }
+    
+    /**
+     * Composite primary key (provider_id, status)
+     */
+    public static class Key implements Serializable {
+        private Long providerId;
+        private Booking.BookingStatus status;
+        
+        public Key() {}
+        
+        public Key(Long providerId, Booking.BookingStatus status) {
+            this.providerId = providerId;
+            this.status = status;
+        }
+        
+        public Long getProviderId() { return providerId; }
+        public Booking.BookingStatus getStatus() { return status; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(providerId, key.providerId) && status == key.status;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(providerId, status);
+        }
+    }
+}
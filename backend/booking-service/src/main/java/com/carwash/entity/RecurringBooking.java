@@ -0,0 +1,115 @@
+package com.carwash.entity;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Weekly booking rule, e.g. "every Saturday 10:00, premium wash"
+ * The rule is stored once; concrete bookings are materialized a rolling window ahead and
+ * materializedThrough records the last date already covered
+ */
+@Entity
+@Table(name = "recurring_bookings", indexes = {
+    // findByCustomerId
+    @Index(name = "idx_recurring_bookings_customer", columnList = "customer_id"),
+    // Materializer scan for rules whose window needs extending
+    @Index(name = "idx_recurring_bookings_due", columnList = "active, materialized_through")
+})
+public class RecurringBooking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_type", nullable = false)
+    private Booking.ServiceType serviceType;
+
+    private String location;
+    private Double latitude;
+    private Double longitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "time_of_day", nullable = false)
+    private LocalTime timeOfDay;
+
+    // 1 for every week, 2 for every other week, ...
+    @Column(name = "interval_weeks", nullable = false)
+    private int intervalWeeks = 1;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Last date with an occurrence, inclusive; null for no end
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    private boolean active = true;
+
+    // Occurrences up to and including this date already exist as bookings
+    @Column(name = "materialized_through", nullable = false)
+    private LocalDate materializedThrough;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public RecurringBooking() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Booking.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Booking.ServiceType serviceType) { this.serviceType = serviceType; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public LocalTime getTimeOfDay() { return timeOfDay; }
+    public void setTimeOfDay(LocalTime timeOfDay) { this.timeOfDay = timeOfDay; }
+
+    public int getIntervalWeeks() { return intervalWeeks; }
+    public void setIntervalWeeks(int intervalWeeks) { this.intervalWeeks = intervalWeeks; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public LocalDate getMaterializedThrough() { return materializedThrough; }
+    public void setMaterializedThrough(LocalDate materializedThrough) { this.materializedThrough = materializedThrough; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,63 @@
+package com.carwash.repository;
+
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.ArchivedBooking;
+import com.carwash.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    String SUMMARY = "SELECT new com.carwash.dto.BookingSummary(a.id, a.status, a.scheduledTime, a.serviceType, a.price)"
+                   + " FROM ArchivedBooking a";
+
+    // Customer history pages, keyed like the live customer pages along idx_bookings_archive_customer_time
+    @Query(SUMMARY + " WHERE a.customerId = :customerId"
+         + " ORDER BY a.customerId ASC, a.scheduledTime ASC, a.id ASC")
+    List<BookingSummary> findCustomerPage(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE a.customerId = :customerId"
+         + " AND a.scheduledTime >= :afterTime AND (a.scheduledTime > :afterTime OR a.id > :afterId)"
+         + " ORDER BY a.customerId ASC, a.scheduledTime ASC, a.id ASC")
+    List<BookingSummary> findCustomerPageAfter(@Param("customerId") Long customerId,
+                                               @Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    // Set-based copy of one archival chunk from the hot table
+    // Rows already archived are skipped, so a chunk that is retried never fails on a duplicate key
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedBooking (id, customerId, providerId, serviceType, status, location, latitude,"
+         + " longitude, scheduledTime, price, recurrenceId, createdAt, version, archivedAt)"
+         + " SELECT b.id, b.customerId, b.providerId, b.serviceType, b.status, b.location, b.latitude,"
+         + " b.longitude, b.scheduledTime, b.price, b.recurrenceId, b.createdAt, b.version, :archivedAt"
+         + " FROM Booking b WHERE b.id IN :ids"
+         + " AND NOT EXISTS (SELECT 1 FROM ArchivedBooking a WHERE a.id = b.id)")
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Archived completed bookings still count towards revenue; read by the rollup reconciler
+    @Query("SELECT a.status AS status, a.scheduledTime AS scheduledTime, a.serviceType AS serviceType,"
+         + " a.providerId AS providerId, a.price AS price FROM ArchivedBooking a"
+         + " WHERE a.status = :status AND a.scheduledTime >= :from AND a.scheduledTime < :to")
+    List<BookingRepository.RevenueFacts> findRevenueFacts(@Param("status") Booking.BookingStatus status,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    // Archived bookings stay in the analytics column store; streamed for its load
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY)
+    Stream<BookingSummary> streamSummaries();
+}
@@ -0,0 +1,53 @@
+package com.carwash.repository;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.BookingDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingDailyRollupRepository
+        extends JpaRepository<BookingDailyRollup, BookingDailyRollup.Key> {
+
+    // Plain INSERT starting at zero, same reasoning as the provider counters: never merge over committed sums
+    @Modifying
+    @Query(value = "INSERT INTO booking_daily_rollup (rollup_date, service_type, provider_id, completed_bookings, revenue)"
+                 + " VALUES (:rollupDate, :serviceType, :providerId, 0, 0)", nativeQuery = true)
+    int create(@Param("rollupDate") LocalDate rollupDate,
+               @Param("serviceType") String serviceType,
+               @Param("providerId") Long providerId);
+
+    // Relative update so concurrent writers never overwrite each other's deltas
+    // Native so the revenue delta is bound as a plain double; Hibernate renders a JPQL double parameter
+    // in arithmetic as cast(? as float(p)), which H2 rejects
+    @Modifying
+    @Query(value = "UPDATE booking_daily_rollup SET completed_bookings = completed_bookings + :bookings,"
+                 + " revenue = revenue + :revenue"
+                 + " WHERE rollup_date = :rollupDate AND service_type = :serviceType AND provider_id = :providerId",
+           nativeQuery = true)
+    int increment(@Param("rollupDate") LocalDate rollupDate,
+                  @Param("serviceType") String serviceType,
+                  @Param("providerId") Long providerId,
+                  @Param("bookings") long bookings,
+                  @Param("revenue") double revenue);
+
+    // Scalar read so values come from the table, not from entities cached in the persistence context
+    @Query("SELECT r.rollupDate AS rollupDate, r.serviceType AS serviceType, r.providerId AS providerId,"
+         + " r.completedBookings AS completedBookings, r.revenue AS revenue"
+         + " FROM BookingDailyRollup r WHERE r.rollupDate >= :from AND r.rollupDate < :to")
+    List<RollupTotals> findTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface RollupTotals {
+        LocalDate getRollupDate();
+        Booking.ServiceType getServiceType();
+        Long getProviderId();
+        long getCompletedBookings();
+        double getRevenue();
+    }
+}
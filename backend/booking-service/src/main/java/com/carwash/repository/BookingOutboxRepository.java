@@ -0,0 +1,30 @@
+package com.carwash.repository;
+
+import com.carwash.entity.BookingOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEvent, Long> {
+
+    // Oldest events first; locked so a relay on another instance waits instead of publishing them too.
+    // Per-booking order rests on the booking row lock: a change records its event only after taking that
+    // lock, so it is stamped no earlier than the booking's previous change, as long as instance clocks agree.
+    // The id only breaks ties; the pooled sequence gives each instance its own block, so ids are not global order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM BookingOutboxEvent e ORDER BY e.occurredAt ASC, e.id ASC")
+    List<BookingOutboxEvent> lockOldest(Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BookingOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
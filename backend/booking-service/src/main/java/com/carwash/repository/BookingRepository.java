@@ -1,10 +1,24 @@
 package com.carwash.repository;
 
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -12,4 +26,282 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByProviderId(Long providerId);
     List<Booking> findByStatus(Booking.BookingStatus status);
     long countByProviderIdAndStatus(Long providerId, Booking.BookingStatus status);
-}
\ No newline at end of file
+    List<Booking> findByStatusIn(Collection<Booking.BookingStatus> statuses);
+
+    // Conditional claim: assigns the provider only while the booking is still pending with the provider read before
+    // Returns the affected row count, 1 for the winner and 0 for everyone else
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.providerId = :providerId, b.status = :claimed, b.version = b.version + 1"
+         + " WHERE b.id = :id AND b.status = :expected"
+         + " AND (b.providerId = :previousProviderId OR (b.providerId IS NULL AND :previousProviderId IS NULL))")
+    int claimBooking(@Param("id") Long id,
+                     @Param("providerId") Long providerId,
+                     @Param("previousProviderId") Long previousProviderId,
+                     @Param("expected") Booking.BookingStatus expected,
+                     @Param("claimed") Booking.BookingStatus claimed);
+
+    // Provider a booking currently names; empty when it names none or does not exist
+    @Query("SELECT b.providerId FROM Booking b WHERE b.id = :id")
+    Optional<Long> findProviderIdById(@Param("id") Long id);
+
+    // Guarded status transition: only rows currently in one of the allowed predecessor statuses change
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :target, b.version = b.version + 1"
+         + " WHERE b.id = :id AND b.status IN :allowedFrom")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("target") Booking.BookingStatus target,
+                         @Param("allowedFrom") Collection<Booking.BookingStatus> allowedFrom);
+
+    // Current status, looked up only after a guarded UPDATE matched nothing
+    @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+    Optional<Booking.BookingStatus> findStatusById(@Param("id") Long id);
+
+    // Dashboard stats: one row per (provider, status) with count, revenue and upcoming count
+    @Query("SELECT b.providerId AS providerId, b.status AS status, COUNT(b) AS bookings,"
+         + " COALESCE(SUM(b.price), 0.0) AS revenue,"
+         + " SUM(CASE WHEN b.scheduledTime > :now THEN 1 ELSE 0 END) AS upcoming"
+         + " FROM Booking b WHERE b.providerId IN :providerIds GROUP BY b.providerId, b.status")
+    List<ProviderStatusAggregate> aggregateByProviderAndStatus(@Param("providerIds") Collection<Long> providerIds,
+                                                               @Param("now") LocalDateTime now);
+
+    // Ground truth for the provider counters reconciler
+    @Query("SELECT b.providerId AS providerId, b.status AS status, COUNT(b) AS bookings"
+         + " FROM Booking b WHERE b.providerId IS NOT NULL GROUP BY b.providerId, b.status")
+    List<ProviderStatusCount> countGroupedByProviderAndStatus();
+
+    // Facts of one booking for the side effects of a status change; read after its guarded UPDATE, which holds the row lock
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.id = :id")
+    Optional<TransitionState> findStateById(@Param("id") Long id);
+
+    // Next chunk for the archival job, oldest first along the (status, scheduled_time, id) index
+    // Rows are locked so a concurrent update cannot slip in between the copy and the delete
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status"
+         + " FROM Booking b WHERE b.status IN :statuses AND b.scheduledTime < :cutoff"
+         + " ORDER BY b.scheduledTime ASC, b.id ASC")
+    List<BookingState> findArchiveCandidates(@Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                                 @Param("cutoff") LocalDateTime cutoff,
+                                                 Pageable pageable);
+
+    // Removes one archived chunk; goes straight to SQL so bookings need not be loaded
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Bulk transitions: the rows to change are locked and read first, so every side effect knows
+    // each row's previous status and parties and this UPDATE matches exactly those rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :target, b.version = b.version + 1 WHERE b.id IN :ids")
+    int transitionStatusByIds(@Param("ids") Collection<Long> ids, @Param("target") Booking.BookingStatus target);
+
+    // Bulk status changes lock their rows in id order, so overlapping bulk requests cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.id IN :ids ORDER BY b.id ASC")
+    List<TransitionState> lockStatesByIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.customerId = :customerId AND b.status IN :statuses ORDER BY b.id ASC")
+    List<TransitionState> lockStatesByCustomerId(@Param("customerId") Long customerId,
+                                              @Param("statuses") Collection<Booking.BookingStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.providerId = :providerId AND b.status IN :statuses"
+         + " AND b.scheduledTime >= :from AND b.scheduledTime < :to ORDER BY b.id ASC")
+    List<TransitionState> lockStatesByProviderIdAndScheduledTimeRange(
+            @Param("providerId") Long providerId,
+            @Param("statuses") Collection<Booking.BookingStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Pending-acceptance timeouts, guarded so a booking accepted meanwhile is never expired
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.id IN :ids AND b.status = :status AND b.createdAt <= :createdBefore"
+         + " ORDER BY b.id ASC")
+    List<TransitionState> lockExpired(@Param("ids") Collection<Long> ids,
+                                   @Param("status") Booking.BookingStatus status,
+                                   @Param("createdBefore") LocalDateTime createdBefore);
+
+    // Reminders: open bookings starting within the lead time whose reminder has not gone out yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId,"
+         + " b.scheduledTime AS scheduledTime"
+         + " FROM Booking b WHERE b.id IN :ids AND b.status IN :statuses AND b.reminderSentAt IS NULL"
+         + " AND b.scheduledTime > :now AND b.scheduledTime <= :latest ORDER BY b.id ASC")
+    List<ReminderTarget> lockDueReminders(@Param("ids") Collection<Long> ids,
+                                        @Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("latest") LocalDateTime latest);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.reminderSentAt = :sentAt WHERE b.id IN :ids")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    // Timer rebuild: creation times of bookings still waiting for a provider, created up to a bound
+    @Query("SELECT b.id AS id, b.createdAt AS time FROM Booking b WHERE b.status = :status"
+         + " AND b.createdAt <= :createdBefore")
+    List<BookingTime> findCreatedTimesByStatus(@Param("status") Booking.BookingStatus status,
+                                               @Param("createdBefore") LocalDateTime createdBefore);
+
+    // Timer rebuild: start times of upcoming open bookings whose reminder has not gone out,
+    // up to a horizon, along idx_bookings_status_time
+    @Query("SELECT b.id AS id, b.scheduledTime AS time FROM Booking b WHERE b.status IN :statuses"
+         + " AND b.reminderSentAt IS NULL AND b.scheduledTime > :now AND b.scheduledTime <= :until")
+    List<BookingTime> findReminderTimes(@Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                        @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // Ground truth for the revenue rollup reconciler, along idx_bookings_status_time
+    @Query("SELECT b.status AS status, b.scheduledTime AS scheduledTime, b.serviceType AS serviceType,"
+         + " b.providerId AS providerId, b.price AS price FROM Booking b"
+         + " WHERE b.status = :status AND b.scheduledTime >= :from AND b.scheduledTime < :to")
+    List<RevenueFacts> findRevenueFacts(@Param("status") Booking.BookingStatus status,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    // Id, parties and status of a booking, read under lock before it is archived
+    interface BookingState {
+        Long getId();
+        Long getCustomerId();
+        Long getProviderId();
+        Booking.BookingStatus getStatus();
+    }
+
+    // Read under lock before a status change: the previous status and parties for counters and events,
+    // and the revenue facts, so the rollup needs no read of its own
+    interface TransitionState extends BookingState, RevenueFacts {
+    }
+
+    interface ReminderTarget {
+        Long getId();
+        Long getCustomerId();
+        Long getProviderId();
+        LocalDateTime getScheduledTime();
+    }
+
+    interface BookingTime {
+        Long getId();
+        LocalDateTime getTime();
+    }
+
+    interface RevenueFacts {
+        Booking.BookingStatus getStatus();
+        LocalDateTime getScheduledTime();
+        Booking.ServiceType getServiceType();
+        Long getProviderId();
+        Double getPrice();
+    }
+
+    interface ProviderStatusCount {
+        Long getProviderId();
+        Booking.BookingStatus getStatus();
+        long getBookings();
+    }
+
+    interface ProviderStatusAggregate {
+        Long getProviderId();
+        Booking.BookingStatus getStatus();
+        long getBookings();
+        double getRevenue();
+        long getUpcoming();
+    }
+
+    // List views: constructor projections of the columns the lists show
+    // Rows are not managed, so there is no entity hydration and no dirty-checking snapshot per row
+    String SUMMARY = "SELECT new com.carwash.dto.BookingSummary(b.id, b.status, b.scheduledTime, b.serviceType, b.price)"
+                   + " FROM Booking b";
+
+    // Keyset pagination: first page reads from the head of the range, later pages seek past the cursor
+    // Pageable is only used for its page size, offset is always zero
+    // The leading ">=" gives the optimizer a range it can seek on the (x, scheduled_time, id) indexes,
+    // and ordering by the equality column first lets engines read rows in index order without a sort
+
+    @Query(SUMMARY + " ORDER BY b.id ASC")
+    List<BookingSummary> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<BookingSummary> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.customerId = :customerId"
+         + " ORDER BY b.customerId ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findByCustomerIdOrderByScheduledTimeAscIdAsc(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.customerId = :customerId"
+         + " AND b.scheduledTime >= :afterTime AND (b.scheduledTime > :afterTime OR b.id > :afterId)"
+         + " ORDER BY b.customerId ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findCustomerPageAfter(@Param("customerId") Long customerId,
+                                               @Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.providerId = :providerId"
+         + " ORDER BY b.providerId ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findByProviderIdOrderByScheduledTimeAscIdAsc(@Param("providerId") Long providerId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.providerId = :providerId"
+         + " AND b.scheduledTime >= :afterTime AND (b.scheduledTime > :afterTime OR b.id > :afterId)"
+         + " ORDER BY b.providerId ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findProviderPageAfter(@Param("providerId") Long providerId,
+                                               @Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.status = :status"
+         + " ORDER BY b.status ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findByStatusOrderByScheduledTimeAscIdAsc(@Param("status") Booking.BookingStatus status, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE b.status = :status"
+         + " AND b.scheduledTime >= :afterTime AND (b.scheduledTime > :afterTime OR b.id > :afterId)"
+         + " ORDER BY b.status ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findStatusPageAfter(@Param("status") Booking.BookingStatus status,
+                                             @Param("afterTime") LocalDateTime afterTime,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // Date-range views: half-open [from, to) on scheduled time
+    // Served by idx_bookings_time / idx_bookings_provider_time, and pruned to the matching
+    // monthly partitions where bookings is partitioned on MySQL
+    @Query(SUMMARY + " WHERE b.scheduledTime >= :from AND b.scheduledTime < :to"
+         + " ORDER BY b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findSummariesByScheduledTimeRange(@Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to);
+
+    @Query(SUMMARY + " WHERE b.providerId = :providerId"
+         + " AND b.scheduledTime >= :from AND b.scheduledTime < :to"
+         + " ORDER BY b.providerId ASC, b.scheduledTime ASC, b.id ASC")
+    List<BookingSummary> findSummariesByProviderIdAndScheduledTimeRange(@Param("providerId") Long providerId,
+                                                                        @Param("from") LocalDateTime from,
+                                                                        @Param("to") LocalDateTime to);
+
+    // Streaming export: rows are fetched from the cursor in chunks instead of materialised as a list
+    // Must be consumed inside a transaction and closed afterwards
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b ORDER BY b.id ASC")
+    Stream<Booking> streamAllForExport();
+
+    // Summary rows of every booking, streamed for the analytics column store load
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY)
+    Stream<BookingSummary> streamSummaries();
+
+    // Occurrences of a recurring booking still open after a point in time, locked for a bulk cancel
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.customerId AS customerId, b.providerId AS providerId, b.status AS status,"
+         + " b.scheduledTime AS scheduledTime, b.serviceType AS serviceType, b.price AS price"
+         + " FROM Booking b WHERE b.recurrenceId = :recurrenceId AND b.status IN :statuses"
+         + " AND b.scheduledTime > :after ORDER BY b.id ASC")
+    List<TransitionState> lockRecurrenceOccurrences(@Param("recurrenceId") Long recurrenceId,
+                                                    @Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                                    @Param("after") LocalDateTime after);
+}
@@ -0,0 +1,37 @@
+package com.carwash.repository;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.ProviderBookingCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProviderBookingCounterRepository
+        extends JpaRepository<ProviderBookingCounter, ProviderBookingCounter.Key> {
+
+    // Plain INSERT starting at zero; fails on a duplicate instead of merging into an existing row,
+    // which would overwrite counts other writers have committed since the existence check
+    // Native so the status is bound as its name, matching the STRING enum column
+    @Modifying
+    @Query(value = "INSERT INTO provider_booking_counters (provider_id, status, booking_count)"
+                 + " VALUES (:providerId, :status, 0)", nativeQuery = true)
+    int create(@Param("providerId") Long providerId, @Param("status") String status);
+
+    // Relative update so concurrent writers never overwrite each other's deltas
+    @Modifying
+    @Query("UPDATE ProviderBookingCounter c SET c.bookingCount = c.bookingCount + :delta"
+         + " WHERE c.providerId = :providerId AND c.status = :status")
+    int increment(@Param("providerId") Long providerId,
+                  @Param("status") Booking.BookingStatus status,
+                  @Param("delta") long delta);
+
+    // Scalar read so values come from the table, not from entities cached in the persistence context
+    @Query("SELECT c.providerId AS providerId, c.status AS status, c.bookingCount AS bookings"
+         + " FROM ProviderBookingCounter c")
+    List<BookingRepository.ProviderStatusCount> findAllCounts();
+}
@@ -0,0 +1,33 @@
+package com.carwash.repository;
+
+import com.carwash.entity.RecurringBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RecurringBookingRepository extends JpaRepository<RecurringBooking, Long> {
+
+    List<RecurringBooking> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    // Keyset page of active rules not yet materialized through the given date
+    @Query("SELECT r.id FROM RecurringBooking r WHERE r.active = true AND r.materializedThrough < :through"
+         + " AND r.id > :afterId ORDER BY r.id ASC")
+    List<Long> findDueIds(@Param("through") LocalDate through, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Compare-and-set on the materialized date: of two instances extending the same rule, one wins
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RecurringBooking r SET r.materializedThrough = :to"
+         + " WHERE r.id = :id AND r.active = true AND r.materializedThrough = :from")
+    int advance(@Param("id") Long id, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RecurringBooking r SET r.active = false WHERE r.id = :id AND r.active = true")
+    int deactivate(@Param("id") Long id);
+}
@@ -0,0 +1,147 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.repository.ArchivedBookingRepository;
+import com.carwash.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves finished bookings out of the hot bookings table into bookings_archive
+ * Each chunk is copied and deleted in its own transaction, so a run that stops halfway leaves
+ * every booking in exactly one of the two tables and the next run simply carries on
+ */
+@Service
+public class BookingArchiveService {
+
+    // Bookings in these statuses never change again
+    public static final Set<Booking.BookingStatus> ARCHIVABLE_STATUSES =
+        EnumSet.of(Booking.BookingStatus.COMPLETED, Booking.BookingStatus.CANCELLED);
+
+    private static final Comparator<BookingSummary> HISTORY_ORDER = Comparator
+        .comparing(BookingSummary::getScheduledTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(BookingSummary::getId);
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ProviderBookingCounters counters;
+    private final BookingCache bookingCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 ArchivedBookingRepository archivedBookingRepository,
+                                 ProviderBookingCounters counters, BookingCache bookingCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.archive.min-age:90d}") Duration minAge,
+                                 @Value("${booking.archive.chunk-size:500}") int chunkSize,
+                                 @Value("${booking.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.counters = counters;
+        this.bookingCache = bookingCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    /**
+     * Archive finished bookings scheduled longer ago than the configured age
+     * Stops after max-chunks-per-run chunks so one run never holds the database for long;
+     * returns the number of bookings moved
+     */
+    @Scheduled(fixedDelayString = "${booking.archive.interval-ms:3600000}",
+               initialDelayString = "${booking.archive.interval-ms:3600000}")
+    public int archiveFinishedBookings() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(tx -> archiveChunk(cutoff));
+            int count = moved != null ? moved : 0;
+            archived += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * One page of a customer's full history: live bookings followed into the archive
+     * Ordered by scheduled time, then id, with the same cursor as the live list pages; each page reads
+     * at most one page plus one row from either table and merges them
+     */
+    @Transactional(readOnly = true)
+    public BookingPage getCustomerHistory(Long customerId, String cursor, int limit) {
+        return BookingService.fetchPage(cursor, limit,
+            pageable -> merge(
+                bookingRepository.findByCustomerIdOrderByScheduledTimeAscIdAsc(customerId, pageable),
+                archivedBookingRepository.findCustomerPage(customerId, pageable)),
+            (after, pageable) -> merge(
+                bookingRepository.findCustomerPageAfter(customerId, after.getScheduledTime(), after.getId(), pageable),
+                archivedBookingRepository.findCustomerPageAfter(
+                    customerId, after.getScheduledTime(), after.getId(), pageable)),
+            true);
+    }
+
+    // A booking is in exactly one of the two tables, so merging never repeats a row
+    private static List<BookingSummary> merge(List<BookingSummary> live, List<BookingSummary> archived) {
+        List<BookingSummary> rows = new ArrayList<>(live.size() + archived.size());
+        rows.addAll(live);
+        rows.addAll(archived);
+        rows.sort(HISTORY_ORDER);
+        return rows;
+    }
+
+    /**
+     * Copy one chunk into the archive and delete it from the hot table, in the caller's transaction
+     */
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<BookingRepository.BookingState> candidates = bookingRepository.findArchiveCandidates(
+            ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(candidates.size());
+        Map<Long, Map<Booking.BookingStatus, Long>> removedByProvider = new HashMap<>();
+        for (BookingRepository.BookingState candidate : candidates) {
+            ids.add(candidate.getId());
+            if (candidate.getProviderId() != null) {
+                removedByProvider.computeIfAbsent(candidate.getProviderId(), id -> new HashMap<>())
+                    .merge(candidate.getStatus(), 1L, Long::sum);
+            }
+        }
+
+        archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteByIds(ids);
+
+        // Counters track the hot table, so archived rows leave them
+        removedByProvider.forEach((providerId, byStatus) ->
+            byStatus.forEach((status, removed) -> counters.adjust(providerId, status, -removed)));
+        for (BookingRepository.BookingState candidate : candidates) {
+            bookingCache.evict(candidate.getId(), candidate.getCustomerId());
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingCacheStats;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.replica.ReadYourWritesFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for single bookings and the first page of each customer's bookings
+ * Writers invalidate after their transaction commits; a loader still running at that point
+ * finishes first and is then removed, so a pre-commit read never outlives the write.
+ * The TTL bounds staleness from writes made by other instances, and from loads served by a replica that
+ * had not yet applied a write; a caller pinned to the primary after writing reloads instead of reading the cache.
+ * Cached bookings are shared between callers and must be treated as read-only; the cached pages are immutable.
+ */
+@Component
+public class BookingCache {
+
+    private final Cache<Long, Booking> bookings;
+    private final Cache<Long, List<BookingSummary>> customerFirstPages;
+    private final long maxBookings;
+    private final long maxCustomers;
+
+    public BookingCache(@Value("${booking.cache.max-bookings:10000}") long maxBookings,
+                        @Value("${booking.cache.max-customers:5000}") long maxCustomers,
+                        @Value("${booking.cache.ttl:30s}") Duration ttl) {
+        this.maxBookings = maxBookings;
+        this.maxCustomers = maxCustomers;
+        this.bookings = Caffeine.newBuilder()
+            .maximumSize(maxBookings)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.customerFirstPages = Caffeine.newBuilder()
+            .maximumSize(maxCustomers)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Booking by id, loading it on a miss
+     * Missing bookings are not cached; a caller pinned to the primary always reloads and refreshes the entry
+     */
+    public Optional<Booking> getBooking(Long id, Function<Long, Optional<Booking>> loader) {
+        if (ReadYourWritesFilter.isPinnedToPrimary()) {
+            return Optional.ofNullable(bookings.asMap().compute(id, (key, cached) -> loader.apply(key).orElse(null)));
+        }
+        return Optional.ofNullable(bookings.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Rows of a customer's first page, loading them on a miss
+     * The loader reads the largest page size plus one, so one entry serves the first page at any limit;
+     * a caller pinned to the primary always reloads and refreshes the entry
+     */
+    public List<BookingSummary> getCustomerFirstPage(Long customerId, Function<Long, List<BookingSummary>> loader) {
+        if (ReadYourWritesFilter.isPinnedToPrimary()) {
+            return customerFirstPages.asMap().compute(customerId, (key, cached) -> List.copyOf(loader.apply(key)));
+        }
+        return customerFirstPages.get(customerId, key -> List.copyOf(loader.apply(key)));
+    }
+
+    /**
+     * Drop a booking and its customer's first page once the current transaction commits
+     * Nothing is dropped on rollback because nothing changed
+     */
+    public void evict(Long bookingId, Long customerId) {
+        TransactionHooks.afterCommit(() -> {
+            if (bookingId != null) {
+                bookings.invalidate(bookingId);
+            }
+            if (customerId != null) {
+                customerFirstPages.invalidate(customerId);
+            }
+        });
+    }
+
+    /**
+     * Drop a customer's first page once the current transaction commits
+     * Used when a booking is added
+     */
+    public void evictCustomer(Long customerId) {
+        evict(null, customerId);
+    }
+
+    /**
+     * Current statistics of both caches
+     */
+    public List<BookingCacheStats> stats() {
+        return List.of(
+            toStats("bookings", bookings, maxBookings),
+            toStats("customerFirstPages", customerFirstPages, maxCustomers));
+    }
+
+    private static BookingCacheStats toStats(String name, Cache<?, ?> cache, long maximumSize) {
+        // Run pending size-based evictions so the reported size is exact
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new BookingCacheStats(name, cache.estimatedSize(), maximumSize, stats.hitCount(),
+            stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,610 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingAggregate;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.repository.ArchivedBookingRepository;
+import com.carwash.repository.BookingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented in-memory copy of every booking, live and archived, for ad-hoc analytics
+ * Each attribute is a primitive array indexed by row: ids, status and service type ordinals,
+ * scheduled time in epoch minutes and price, so a filter/group-by query is a parallel scan
+ * over a few flat arrays instead of a pass over entities.
+ * Loaded when the application is ready; committed writes are queued and applied in batches,
+ * so queries see them within booking.analytics.apply-interval-ms or at their own start.
+ * Only this instance's writes are queued, so the store is reloaded every
+ * booking.analytics.refresh-interval-ms to pick up writes made by other instances.
+ */
+@Component
+public class BookingColumnStore {
+
+    // Largest number of groups one query may produce; bounds the per-thread accumulators
+    public static final int MAX_GROUPS = 10_000;
+
+    // Price buckets beyond the last one are folded into it
+    public static final int MAX_PRICE_BUCKETS = 50;
+
+    private static final byte NO_VALUE = -1;
+    private static final int NO_TIME = Integer.MIN_VALUE;
+    private static final int ALL = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+    private static final Booking.ServiceType[] SERVICE_TYPES = Booking.ServiceType.values();
+
+    /**
+     * What an analytics query can be grouped by
+     */
+    public enum Dimension {
+        STATUS(STATUSES.length), SERVICE_TYPE(SERVICE_TYPES.length), HOUR_OF_DAY(24), DAY_OF_WEEK(7),
+        PRICE_BUCKET(MAX_PRICE_BUCKETS);
+
+        private final int cardinality;
+
+        Dimension(int cardinality) {
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Parse a dimension name, ignoring case, dashes and underscores ("hourOfDay", "hour_of_day")
+         * Throws IllegalArgumentException for unknown names
+         */
+        public static Dimension from(String value) {
+            String normalized = value.trim().replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+            for (Dimension dimension : values()) {
+                if (dimension.name().replace("_", "").equals(normalized)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown analytics dimension: " + value);
+        }
+    }
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate readOnly;
+
+    // Writers hold the write lock while changing the arrays; queries scan under the read lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Consumer<Columns>> pending = new ConcurrentLinkedQueue<>();
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+    // Changes applied while a refresh loads, replayed onto the loaded columns; guarded by the write lock
+    private List<Consumer<Columns>> replay;
+
+    public BookingColumnStore(BookingRepository bookingRepository,
+                              ArchivedBookingRepository archivedBookingRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Load every booking from the archive and the bookings table
+     * Holds the write lock throughout, so changes committed meanwhile wait in the queue and are applied on top
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            columns = load();
+            drainPending();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reload every booking while queries keep scanning the current columns, then swap
+     * Local changes applied during the load are replayed onto the new columns, so none is lost;
+     * a write from another instance racing the load is picked up by the next refresh
+     */
+    @Scheduled(fixedDelayString = "${booking.analytics.refresh-interval-ms:3600000}",
+               initialDelayString = "${booking.analytics.refresh-interval-ms:3600000}")
+    public synchronized void refresh() {
+        lock.writeLock().lock();
+        try {
+            drainPending();
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Columns loaded = null;
+        try {
+            loaded = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                drainPending();
+                if (loaded != null) {
+                    for (Consumer<Columns> change : replay) {
+                        change.accept(loaded);
+                    }
+                    columns = loaded;
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Columns load() {
+        Columns loaded = new Columns(INITIAL_CAPACITY);
+        readOnly.executeWithoutResult(tx -> {
+            // Archive first so the live row wins for a booking caught mid-archival
+            try (Stream<BookingSummary> rows = archivedBookingRepository.streamSummaries()) {
+                rows.forEach(loaded::upsert);
+            }
+            try (Stream<BookingSummary> rows = bookingRepository.streamSummaries()) {
+                rows.forEach(loaded::upsert);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Record the current state of a booking once the surrounding transaction commits
+     */
+    public void track(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        BookingSummary row = BookingSummary.of(booking);
+        TransactionHooks.afterCommit(() -> pending.add(c -> c.upsert(row)));
+    }
+
+    /**
+     * Record a status change without reloading the booking
+     */
+    public void updateStatus(Long bookingId, Booking.BookingStatus status) {
+        TransactionHooks.afterCommit(() -> pending.add(c -> c.updateStatus(bookingId, ordinal(status))));
+    }
+
+    /**
+     * Drop a deleted booking once the surrounding transaction commits
+     * Archival does not call this: archived bookings stay in the store
+     */
+    public void untrack(Long bookingId) {
+        TransactionHooks.afterCommit(() -> pending.add(c -> c.remove(bookingId)));
+    }
+
+    /**
+     * Apply queued changes to the columns
+     * Returns the number of changes applied
+     */
+    @Scheduled(fixedDelayString = "${booking.analytics.apply-interval-ms:1000}")
+    public int applyPendingChanges() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        lock.writeLock().lock();
+        try {
+            return drainPending();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of bookings held
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count and price statistics of the bookings matching the filter, grouped by the given dimensions
+     * Rows lacking a value for a grouped dimension (no scheduled time, no price) are left out;
+     * groups come back in dimension order and empty groups are omitted
+     */
+    public List<BookingAggregate> aggregate(Filter filter, Set<Dimension> groupBy, double priceBucketWidth) {
+        List<Dimension> dimensions = new ArrayList<>(groupBy.isEmpty()
+            ? EnumSet.noneOf(Dimension.class) : EnumSet.copyOf(groupBy));
+        if (dimensions.contains(Dimension.PRICE_BUCKET) && !(priceBucketWidth > 0)) {
+            throw new IllegalArgumentException("Price bucket width must be positive");
+        }
+        int groups = 1;
+        for (Dimension dimension : dimensions) {
+            groups *= dimension.cardinality;
+        }
+        if (groups > MAX_GROUPS) {
+            throw new IllegalArgumentException("Grouping would produce more than " + MAX_GROUPS + " groups");
+        }
+        int statusMask = mask(filter.statuses);
+        int serviceTypeMask = mask(filter.serviceTypes);
+        int fromMinute = filter.from != null ? minute(filter.from) : NO_TIME;
+        int toMinute = filter.to != null ? minute(filter.to) : Integer.MAX_VALUE;
+        boolean timeFiltered = filter.from != null || filter.to != null;
+        Dimension[] dims = dimensions.toArray(new Dimension[0]);
+        int groupCount = groups;
+
+        applyPendingChanges();
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            byte[] statuses = c.statuses;
+            byte[] serviceTypes = c.serviceTypes;
+            int[] scheduledMinutes = c.scheduledMinutes;
+            double[] prices = c.prices;
+
+            Accumulator totals = IntStream.range(0, c.size).parallel().collect(
+                () -> new Accumulator(groupCount),
+                (acc, row) -> {
+                    if (!matches(statusMask, statuses[row]) || !matches(serviceTypeMask, serviceTypes[row])) {
+                        return;
+                    }
+                    int minute = scheduledMinutes[row];
+                    if (timeFiltered && (minute == NO_TIME || minute < fromMinute || minute >= toMinute)) {
+                        return;
+                    }
+                    double price = prices[row];
+                    int key = 0;
+                    for (Dimension dimension : dims) {
+                        int value = value(dimension, statuses[row], serviceTypes[row], minute, price, priceBucketWidth);
+                        if (value < 0) {
+                            return;
+                        }
+                        key = key * dimension.cardinality + value;
+                    }
+                    acc.add(key, price);
+                },
+                Accumulator::merge);
+            return totals.toAggregates(dimensions, priceBucketWidth);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int drainPending() {
+        int applied = 0;
+        Consumer<Columns> change;
+        while ((change = pending.poll()) != null) {
+            change.accept(columns);
+            if (replay != null) {
+                replay.add(change);
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Index of a row's value along one dimension, or -1 when the row has none
+     */
+    private static int value(Dimension dimension, byte status, byte serviceType, int minute, double price,
+                             double priceBucketWidth) {
+        switch (dimension) {
+            case STATUS:
+                return status;
+            case SERVICE_TYPE:
+                return serviceType;
+            case HOUR_OF_DAY:
+                return minute == NO_TIME ? -1 : (int) Math.floorMod(Math.floorDiv((long) minute, 60), 24);
+            case DAY_OF_WEEK:
+                // Epoch day 0 was a Thursday
+                return minute == NO_TIME ? -1 : (int) Math.floorMod(Math.floorDiv((long) minute, 1440) + 3, 7);
+            default:
+                return Double.isNaN(price) ? -1
+                    : (int) Math.max(0, Math.min(MAX_PRICE_BUCKETS - 1, Math.floor(price / priceBucketWidth)));
+        }
+    }
+
+    private static boolean matches(int mask, byte ordinal) {
+        return mask == ALL || (ordinal >= 0 && ((mask >>> ordinal) & 1) != 0);
+    }
+
+    private static int mask(Set<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return ALL;
+        }
+        int mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value != null ? (byte) value.ordinal() : NO_VALUE;
+    }
+
+    private static int minute(LocalDateTime time) {
+        return Math.toIntExact(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    /**
+     * Which bookings a query looks at; null or empty sets and null bounds match everything
+     * The scheduled time range is half-open, [from, to)
+     */
+    public static final class Filter {
+        private final Set<Booking.BookingStatus> statuses;
+        private final Set<Booking.ServiceType> serviceTypes;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        public Filter(Set<Booking.BookingStatus> statuses, Set<Booking.ServiceType> serviceTypes,
+                      LocalDateTime from, LocalDateTime to) {
+            this.statuses = statuses;
+            this.serviceTypes = serviceTypes;
+            this.from = from;
+            this.to = to;
+        }
+
+        public static Filter all() {
+            return new Filter(null, null, null, null);
+        }
+    }
+
+    /**
+     * Parallel arrays holding one booking per row, plus the row of each id
+     * Removal moves the last row into the hole so the arrays stay dense
+     */
+    private static final class Columns {
+        private long[] ids;
+        private byte[] statuses;
+        private byte[] serviceTypes;
+        private int[] scheduledMinutes;
+        private double[] prices;
+        private int size;
+        private final RowIndex rowById = new RowIndex(INITIAL_CAPACITY);
+
+        Columns(int capacity) {
+            ids = new long[capacity];
+            statuses = new byte[capacity];
+            serviceTypes = new byte[capacity];
+            scheduledMinutes = new int[capacity];
+            prices = new double[capacity];
+        }
+
+        void upsert(BookingSummary booking) {
+            int row = rowById.get(booking.getId());
+            if (row < 0) {
+                if (size == ids.length) {
+                    grow();
+                }
+                row = size++;
+                rowById.put(booking.getId(), row);
+                ids[row] = booking.getId();
+            }
+            statuses[row] = ordinal(booking.getStatus());
+            serviceTypes[row] = ordinal(booking.getServiceType());
+            scheduledMinutes[row] = booking.getScheduledTime() != null ? minute(booking.getScheduledTime()) : NO_TIME;
+            prices[row] = booking.getPrice() != null ? booking.getPrice() : Double.NaN;
+        }
+
+        void updateStatus(Long id, byte status) {
+            int row = rowById.get(id);
+            if (row >= 0) {
+                statuses[row] = status;
+            }
+        }
+
+        void remove(Long id) {
+            int row = rowById.remove(id);
+            if (row < 0) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                statuses[row] = statuses[last];
+                serviceTypes[row] = serviceTypes[last];
+                scheduledMinutes[row] = scheduledMinutes[last];
+                prices[row] = prices[last];
+                rowById.put(ids[row], row);
+            }
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            serviceTypes = Arrays.copyOf(serviceTypes, capacity);
+            scheduledMinutes = Arrays.copyOf(scheduledMinutes, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+    }
+
+    /**
+     * Booking id to row, open addressing over primitive arrays so a lookup neither boxes nor chases pointers
+     * Linear probing at no more than half full; a slot holds row + 1 so zero marks it free,
+     * and removal shifts the following entries back instead of leaving tombstones
+     */
+    private static final class RowIndex {
+        private long[] keys;
+        private int[] rows;
+        private int mask;
+        private int size;
+
+        RowIndex(int capacity) {
+            allocate(Integer.highestOneBit(Math.max(capacity, 8) - 1) << 2);
+        }
+
+        /**
+         * Row of the id, or -1 when absent
+         */
+        int get(long id) {
+            for (int slot = slot(id); rows[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int row) {
+            if ((size + 1) * 2 > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldRows = rows;
+                allocate(keys.length * 2);
+                for (int slot = 0; slot < oldKeys.length; slot++) {
+                    if (oldRows[slot] != 0) {
+                        insert(oldKeys[slot], oldRows[slot]);
+                    }
+                }
+            }
+            insert(id, row + 1);
+        }
+
+        /**
+         * Remove the id and return its row, or -1 when absent
+         */
+        int remove(long id) {
+            for (int slot = slot(id); rows[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    int row = rows[slot] - 1;
+                    shiftBack(slot);
+                    size--;
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(long id, int storedRow) {
+            int slot = slot(id);
+            while (rows[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (rows[slot] == 0) {
+                keys[slot] = id;
+                size++;
+            }
+            rows[slot] = storedRow;
+        }
+
+        // Close the hole left by a removal: pull back each following entry whose home slot is not
+        // between the hole and where it sits, until a free slot ends the probe run
+        private void shiftBack(int hole) {
+            for (int slot = (hole + 1) & mask; rows[slot] != 0; slot = (slot + 1) & mask) {
+                if (((slot - slot(keys[slot])) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    rows[hole] = rows[slot];
+                    hole = slot;
+                }
+            }
+            rows[hole] = 0;
+        }
+
+        private void allocate(int slots) {
+            keys = new long[slots];
+            rows = new int[slots];
+            mask = slots - 1;
+            size = 0;
+        }
+
+        // Ids are sequential, so spread them before masking
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Per-thread partial results of a scan, one slot per group
+     */
+    private static final class Accumulator {
+        private final long[] bookings;
+        private final long[] priced;
+        private final double[] totalPrice;
+        private final double[] minPrice;
+        private final double[] maxPrice;
+
+        Accumulator(int groups) {
+            bookings = new long[groups];
+            priced = new long[groups];
+            totalPrice = new double[groups];
+            minPrice = new double[groups];
+            maxPrice = new double[groups];
+            Arrays.fill(minPrice, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxPrice, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int group, double price) {
+            bookings[group]++;
+            if (!Double.isNaN(price)) {
+                priced[group]++;
+                totalPrice[group] += price;
+                minPrice[group] = Math.min(minPrice[group], price);
+                maxPrice[group] = Math.max(maxPrice[group], price);
+            }
+        }
+
+        void merge(Accumulator other) {
+            for (int group = 0; group < bookings.length; group++) {
+                bookings[group] += other.bookings[group];
+                priced[group] += other.priced[group];
+                totalPrice[group] += other.totalPrice[group];
+                minPrice[group] = Math.min(minPrice[group], other.minPrice[group]);
+                maxPrice[group] = Math.max(maxPrice[group], other.maxPrice[group]);
+            }
+        }
+
+        List<BookingAggregate> toAggregates(List<Dimension> dimensions, double priceBucketWidth) {
+            List<BookingAggregate> aggregates = new ArrayList<>();
+            for (int group = 0; group < bookings.length; group++) {
+                if (bookings[group] == 0 && !dimensions.isEmpty()) {
+                    continue;
+                }
+                BookingAggregate aggregate = new BookingAggregate();
+                int remainder = group;
+                for (int i = dimensions.size() - 1; i >= 0; i--) {
+                    Dimension dimension = dimensions.get(i);
+                    int value = remainder % dimension.cardinality;
+                    remainder /= dimension.cardinality;
+                    switch (dimension) {
+                        case STATUS -> aggregate.setStatus(STATUSES[value]);
+                        case SERVICE_TYPE -> aggregate.setServiceType(SERVICE_TYPES[value]);
+                        case HOUR_OF_DAY -> aggregate.setHourOfDay(value);
+                        case DAY_OF_WEEK -> aggregate.setDayOfWeek(DayOfWeek.of(value + 1));
+                        case PRICE_BUCKET -> {
+                            aggregate.setPriceFrom(value * priceBucketWidth);
+                            aggregate.setPriceTo(value == MAX_PRICE_BUCKETS - 1 ? null : (value + 1) * priceBucketWidth);
+                        }
+                    }
+                }
+                aggregate.setBookings(bookings[group]);
+                aggregate.setPricedBookings(priced[group]);
+                aggregate.setTotalPrice(totalPrice[group]);
+                if (priced[group] > 0) {
+                    aggregate.setMinPrice(minPrice[group]);
+                    aggregate.setMaxPrice(maxPrice[group]);
+                    aggregate.setAveragePrice(totalPrice[group] / priced[group]);
+                }
+                aggregates.add(aggregate);
+            }
+            return aggregates;
+        }
+    }
+}
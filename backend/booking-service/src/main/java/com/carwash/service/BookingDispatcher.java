@@ -0,0 +1,104 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+/**
+ * Hands queued pending bookings to waiting providers
+ * A booking taken from the queue is claimed under its row lock like a manual assignment,
+ * so a direct assign or cancel racing with dispatch is simply skipped
+ */
+@Service
+public class BookingDispatcher {
+
+    // Longest a provider may wait in one long-poll
+    public static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final PendingDispatchQueue dispatchQueue;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ProviderScheduleIndex scheduleIndex;
+
+    // Claims run here, never on the thread that committed the new booking
+    private final ExecutorService claimExecutor;
+
+    public BookingDispatcher(PendingDispatchQueue dispatchQueue, BookingService bookingService,
+                             BookingRepository bookingRepository, ProviderScheduleIndex scheduleIndex,
+                             @Value("${booking.dispatch.claim-threads:4}") int claimThreads) {
+        this.dispatchQueue = dispatchQueue;
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.scheduleIndex = scheduleIndex;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.claimExecutor = Executors.newFixedThreadPool(claimThreads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Wait for the next booking this provider can take and assign it to them
+     * Completes empty when nothing suitable arrives in time
+     */
+    public CompletableFuture<Optional<Booking>> next(Long providerId, Duration wait) {
+        if (providerId == null) {
+            throw new IllegalArgumentException("Provider ID is required");
+        }
+        Duration capped = wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+        return attempt(providerId, System.nanoTime() + capped.toNanos());
+    }
+
+    private CompletableFuture<Optional<Booking>> attempt(Long providerId, long deadline) {
+        // Skip bookings that would overlap the provider's schedule; they stay queued for others
+        LongPredicate acceptable = bookingId -> !scheduleIndex.hasConflict(bookingId, providerId);
+        long remaining = deadline - System.nanoTime();
+        // Out of time, or asked not to wait at all: a booking already queued is still handed out
+        CompletableFuture<Long> next = remaining > 0
+            ? dispatchQueue.take(acceptable, Duration.ofNanos(remaining))
+            : CompletableFuture.completedFuture(dispatchQueue.poll(acceptable));
+        return next.thenComposeAsync(bookingId -> {
+                if (bookingId == null) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+                try {
+                    Booking assigned = bookingService.assignProvider(bookingId, providerId);
+                    return CompletableFuture.completedFuture(Optional.of(assigned));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // Assigned, cancelled or deleted meanwhile; put it back if it is still open, then keep waiting
+                    bookingRepository.findById(bookingId).ifPresent(dispatchQueue::offer);
+                    return System.nanoTime() < deadline
+                        ? attempt(providerId, deadline)
+                        : CompletableFuture.completedFuture(Optional.empty());
+                } catch (RuntimeException e) {
+                    // Nothing wrong with the booking, e.g. the database is unavailable; keep it for the next provider
+                    dispatchQueue.requeue(bookingId);
+                    throw e;
+                }
+            }, claimExecutor);
+    }
+
+    /**
+     * Give back a booking handed out by next whose caller can no longer receive it
+     * It returns to pending and to the queue, unless it has changed since, e.g. was cancelled
+     */
+    public void release(Booking booking) {
+        bookingService.releaseProvider(booking.getId(), booking.getProviderId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        claimExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,229 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingReminderEvent;
+import com.carwash.dto.BookingStatusEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes booking status changes to customers and providers over Server-Sent Events
+ * Each subscriber has a bounded buffer drained by a shared sender pool, so a slow client
+ * only loses its own oldest events and never blocks the writer that published them.
+ */
+@Component
+public class BookingEventBroadcaster {
+
+    static final String STATUS_EVENT = "booking-status";
+    static final String REMINDER_EVENT = "booking-reminder";
+
+    private final Map<Long, Set<Subscriber>> customerSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> providerSubscribers = new ConcurrentHashMap<>();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final int bufferSize;
+    private final long emitterTimeoutMillis;
+    private final ExecutorService sender;
+
+    public BookingEventBroadcaster(@Value("${booking.events.buffer-size:64}") int bufferSize,
+                                   @Value("${booking.events.timeout:30m}") Duration emitterTimeout,
+                                   @Value("${booking.events.sender-threads:2}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream of status changes for a customer's bookings
+     */
+    public SseEmitter subscribeCustomer(Long customerId) {
+        return subscribe(customerSubscribers, customerId);
+    }
+
+    /**
+     * Open a stream of status changes for bookings assigned to a provider
+     */
+    public SseEmitter subscribeProvider(Long providerId) {
+        return subscribe(providerSubscribers, providerId);
+    }
+
+    /**
+     * Deliver a status change once the surrounding transaction commits
+     */
+    public void publish(BookingStatusEvent event) {
+        TransactionHooks.afterCommit(() ->
+            broadcast(STATUS_EVENT, event, event.getCustomerId(), event.getProviderId()));
+    }
+
+    /**
+     * Deliver an upcoming-booking reminder once the surrounding transaction commits
+     */
+    public void publishReminder(BookingReminderEvent event) {
+        TransactionHooks.afterCommit(() ->
+            broadcast(REMINDER_EVENT, event, event.getCustomerId(), event.getProviderId()));
+    }
+
+    /**
+     * Keep idle connections open through proxies and find the ones that went away
+     */
+    @Scheduled(fixedRateString = "${booking.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : customerSubscribers.values()) {
+            subscribers.forEach(Subscriber::heartbeat);
+        }
+        for (Set<Subscriber> subscribers : providerSubscribers.values()) {
+            subscribers.forEach(Subscriber::heartbeat);
+        }
+    }
+
+    /**
+     * Number of open streams
+     */
+    public int subscriberCount() {
+        return count(customerSubscribers.values()) + count(providerSubscribers.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> registry, Long key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Subscriber ID is required");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        registry.compute(key, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        Runnable unsubscribe = () -> registry.computeIfPresent(key, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    private void broadcast(String name, Object event, Long customerId, Long providerId) {
+        // Built once and shared; the builder itself must not be sent twice
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+            .id(Long.toString(eventIds.incrementAndGet()))
+            .name(name)
+            .data(event)
+            .build();
+        deliver(customerSubscribers, customerId, message);
+        deliver(providerSubscribers, providerId, message);
+    }
+
+    private static void deliver(Map<Long, Set<Subscriber>> registry, Long key,
+                                Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        Set<Subscriber> subscribers = key != null ? registry.get(key) : null;
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(message);
+            }
+        }
+    }
+
+    private static int count(Collection<Set<Subscriber>> registry) {
+        int total = 0;
+        for (Set<Subscriber> subscribers : registry) {
+            total += subscribers.size();
+        }
+        return total;
+    }
+
+    /**
+     * One open stream with its own bounded send buffer
+     * At most one sender thread drains it at a time, so events arrive in order
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        // Guarded by this
+        private final Deque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    // Slow client: keep the newest state, drop the oldest
+                    buffer.pollFirst();
+                }
+                buffer.addLast(message);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+            }
+            enqueue(SseEmitter.event().comment("heartbeat").build());
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> next;
+                synchronized (this) {
+                    next = buffer.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the stream already completed
+                    synchronized (this) {
+                        closed = true;
+                        buffer.clear();
+                        draining = false;
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingDomainEvent;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay publishes booking events to
+ * Selected with booking.outbox.publisher; "local" delivers in-process
+ */
+public interface BookingEventPublisher {
+
+    /**
+     * Publish a batch of events in the given order
+     * Throwing keeps the whole batch in the outbox to be published again on the next run
+     */
+    void publish(List<BookingDomainEvent> events);
+}
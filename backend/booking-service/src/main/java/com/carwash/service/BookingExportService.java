@@ -0,0 +1,119 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service for bulk export of bookings
+ * Streams rows from the database cursor straight to the response so memory use stays flat
+ */
+@Service
+public class BookingExportService {
+    
+    private static final String CSV_HEADER =
+        "id,customerId,providerId,serviceType,status,location,latitude,longitude,scheduledTime,price,createdAt";
+    
+    public enum ExportFormat {
+        NDJSON, CSV;
+        
+        /**
+         * Parse format name case-insensitively
+         * Throws IllegalArgumentException for unknown formats
+         */
+        public static ExportFormat from(String value) {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+    
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    public BookingExportService(BookingRepository bookingRepository, EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Write every booking to the given stream
+     * Each entity is detached once written so the persistence context never grows
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        try (Stream<Booking> bookings = bookingRepository.streamAllForExport()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, booking);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(booking));
+                }
+                writer.write('\n');
+                entityManager.detach(booking);
+            }
+        }
+        writer.flush();
+    }
+    
+    private void writeCsvRow(Writer writer, Booking booking) throws IOException {
+        writer.write(csvValue(booking.getId()));
+        writer.write(',');
+        writer.write(csvValue(booking.getCustomerId()));
+        writer.write(',');
+        writer.write(csvValue(booking.getProviderId()));
+        writer.write(',');
+        writer.write(csvValue(booking.getServiceType()));
+        writer.write(',');
+        writer.write(csvValue(booking.getStatus()));
+        writer.write(',');
+        writer.write(csvValue(booking.getLocation()));
+        writer.write(',');
+        writer.write(csvValue(booking.getLatitude()));
+        writer.write(',');
+        writer.write(csvValue(booking.getLongitude()));
+        writer.write(',');
+        writer.write(csvValue(booking.getScheduledTime()));
+        writer.write(',');
+        writer.write(csvValue(booking.getPrice()));
+        writer.write(',');
+        writer.write(csvValue(booking.getCreatedAt()));
+    }
+    
+    /**
+     * Format a single CSV field
+     * Quotes values containing separators, quotes or line breaks (RFC 4180)
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
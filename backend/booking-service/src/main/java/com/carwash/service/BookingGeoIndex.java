@@ -0,0 +1,219 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index over the coordinates of open bookings
+ * The world is cut into fixed cells of CELL_DEGREES; a radius query only visits the cells
+ * overlapping its bounding box and measures exact great-circle distance on what it finds there
+ */
+@Component
+public class BookingGeoIndex {
+
+    // Only bookings that can still be worked on are searchable
+    public static final Set<Booking.BookingStatus> INDEXED_STATUSES =
+        EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED);
+
+    // About 5.5 km of latitude; small enough that a city-scale radius touches only a few cells
+    static final double CELL_DEGREES = 0.05;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, Entry> entriesByBooking = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Entry>> entriesByCell = new ConcurrentHashMap<>();
+
+    public BookingGeoIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Build the index from the bookings table
+     * Runs once the application is ready so startup is not blocked on schema creation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        entriesByBooking.clear();
+        entriesByCell.clear();
+        for (Booking booking : bookingRepository.findByStatusIn(INDEXED_STATUSES)) {
+            put(booking.getId(), booking.getLatitude(), booking.getLongitude(), booking.getStatus());
+        }
+    }
+
+    /**
+     * Record the current state of a booking once the surrounding transaction commits
+     * Bookings without coordinates or no longer open are dropped
+     */
+    public void track(Booking booking) {
+        Long bookingId = booking.getId();
+        Double latitude = booking.getLatitude();
+        Double longitude = booking.getLongitude();
+        Booking.BookingStatus status = booking.getStatus();
+        if (bookingId != null) {
+            TransactionHooks.afterCommit(() -> put(bookingId, latitude, longitude, status));
+        }
+    }
+
+    /**
+     * Record a status change without reloading the booking
+     */
+    public void updateStatus(Long bookingId, Booking.BookingStatus status) {
+        TransactionHooks.afterCommit(() -> {
+            Entry entry = entriesByBooking.get(bookingId);
+            if (entry != null) {
+                put(bookingId, entry.latitude, entry.longitude, status);
+            }
+        });
+    }
+
+    /**
+     * Drop a booking once the surrounding transaction commits
+     */
+    public void untrack(Long bookingId) {
+        TransactionHooks.afterCommit(() -> remove(bookingId));
+    }
+
+    /**
+     * Bookings in the given status within the radius, nearest first
+     */
+    public List<Hit> findNearby(double latitude, double longitude, double radiusKm,
+                                Booking.BookingStatus status, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cosLat < 1e-9 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+
+        int minLatCell = latCell(Math.max(-90, latitude - latDelta));
+        int maxLatCell = latCell(Math.min(90, latitude + latDelta));
+        int minLonCell = lonCell(longitude - lonDelta);
+        int lonSpan = lonDelta >= 180 ? LON_CELLS - 1 : lonCell(longitude + lonDelta) - minLonCell;
+        if (lonSpan < 0) {
+            // Box crosses the antimeridian
+            lonSpan += LON_CELLS;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int step = 0; step <= lonSpan; step++) {
+                Map<Long, Entry> cell = entriesByCell.get(cellKey(latCell, Math.floorMod(minLonCell + step, LON_CELLS)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell.values()) {
+                    if (entry.status != status) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit(entry.bookingId, distance));
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparingLong(Hit::getBookingId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Number of bookings currently indexed
+     */
+    public int size() {
+        return entriesByBooking.size();
+    }
+
+    /**
+     * Great-circle distance by the haversine formula
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void put(Long bookingId, Double latitude, Double longitude, Booking.BookingStatus status) {
+        if (latitude == null || longitude == null || status == null || !INDEXED_STATUSES.contains(status)) {
+            remove(bookingId);
+            return;
+        }
+        Entry entry = new Entry(bookingId, latitude, longitude, status);
+        Entry previous = entriesByBooking.put(bookingId, entry);
+        if (previous != null && previous.cell != entry.cell) {
+            removeFromCell(previous);
+        }
+        entriesByCell.computeIfAbsent(entry.cell, cell -> new ConcurrentHashMap<>()).put(bookingId, entry);
+    }
+
+    private void remove(Long bookingId) {
+        Entry previous = entriesByBooking.remove(bookingId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    private void removeFromCell(Entry entry) {
+        entriesByCell.computeIfPresent(entry.cell, (cell, entries) -> {
+            entries.remove(entry.bookingId, entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    /**
+     * A booking found by a nearby query and its distance from the search point
+     */
+    public static final class Hit {
+        private final long bookingId;
+        private final double distanceKm;
+
+        Hit(long bookingId, double distanceKm) {
+            this.bookingId = bookingId;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getBookingId() { return bookingId; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+
+    private static final class Entry {
+        final long bookingId;
+        final double latitude;
+        final double longitude;
+        final Booking.BookingStatus status;
+        final long cell;
+
+        Entry(long bookingId, double latitude, double longitude, Booking.BookingStatus status) {
+            this.bookingId = bookingId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.status = status;
+            this.cell = cellKey(latCell(latitude), lonCell(longitude));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingDomainEvent;
+import com.carwash.entity.BookingOutboxEvent;
+import com.carwash.repository.BookingOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write side of the booking outbox
+ * Events recorded during a transaction are collected and persisted together just before it
+ * commits, so each mutation adds one batched INSERT to its own transaction and a rolled back
+ * change leaves no event behind. BookingOutboxRelay publishes them.
+ */
+@Component
+public class BookingOutbox {
+
+    private final BookingOutboxRepository outboxRepository;
+
+    public BookingOutbox(BookingOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Add an event to the outbox as part of the current transaction, or right away outside one
+     */
+    public void record(BookingDomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.save(BookingOutboxEvent.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BookingOutboxEvent> pending = (List<BookingOutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = bind();
+        }
+        pending.add(BookingOutboxEvent.of(event));
+    }
+
+    private List<BookingOutboxEvent> bind() {
+        List<BookingOutboxEvent> pending = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Flushed with the rest of the transaction at commit, sharing one JDBC batch
+                outboxRepository.saveAll(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BookingOutbox.this);
+            }
+        });
+        return pending;
+    }
+}
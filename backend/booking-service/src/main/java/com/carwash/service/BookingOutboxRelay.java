@@ -0,0 +1,69 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingDomainEvent;
+import com.carwash.entity.BookingOutboxEvent;
+import com.carwash.repository.BookingOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the booking outbox to the configured BookingEventPublisher
+ * Each batch is locked, published in order and deleted in one transaction, so an event leaves
+ * the outbox only after it was published. A crash between publish and commit publishes the
+ * batch again: delivery is at-least-once and consumers dedupe by event id.
+ */
+@Component
+public class BookingOutboxRelay {
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public BookingOutboxRelay(BookingOutboxRepository outboxRepository, BookingEventPublisher publisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${booking.outbox.batch-size:200}") int batchSize,
+                              @Value("${booking.outbox.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Publish waiting events, oldest first, until the outbox is empty or the run's batch limit is hit
+     * Returns the number published; a publisher failure propagates and leaves its batch in place
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval-ms:500}")
+    public int relay() {
+        int published = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer count = transactionTemplate.execute(tx -> relayBatch());
+            int relayed = count != null ? count : 0;
+            published += relayed;
+            if (relayed < batchSize) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    private int relayBatch() {
+        List<BookingOutboxEvent> rows = outboxRepository.lockOldest(PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<BookingDomainEvent> events = rows.stream().map(BookingOutboxEvent::toEvent).toList();
+        publisher.publish(events);
+        outboxRepository.deleteByIds(rows.stream().map(BookingOutboxEvent::getId).toList());
+        return rows.size();
+    }
+}
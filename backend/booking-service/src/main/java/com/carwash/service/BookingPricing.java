@@ -0,0 +1,213 @@
+package com.carwash.service;
+
+import com.carwash.dto.PriceQuote;
+import com.carwash.entity.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Server-side booking prices: a base price per service type times a surge multiplier per time slot
+ * Demand is the number of bookings made for a slot within the last window, counted in lock-free
+ * ring buffers of time buckets, one ring per slot in the horizon. Multipliers are recomputed from the
+ * rings every booking.pricing.publish-interval-ms into an immutable price table, so quoting is a
+ * volatile read and an array lookup with no database access and no locking.
+ * Slots outside the horizon, past or too far ahead, are quoted at the base price.
+ */
+@Component
+public class BookingPricing {
+
+    // Each ring cell packs [slot generation:8][bucket stamp:36][count:20] into one long,
+    // so a stale cell is detected and reset by the same CAS that counts into it
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int STAMP_BITS = 36;
+    private static final long STAMP_MASK = (1L << STAMP_BITS) - 1;
+    private static final long GENERATION_MASK = 0xFF;
+
+    private static final Booking.ServiceType[] SERVICE_TYPES = Booking.ServiceType.values();
+
+    private final double[] basePrices = new double[SERVICE_TYPES.length];
+    private final long slotSeconds;
+    private final int horizonSlots;
+    private final int windowBuckets;
+    private final long bucketSeconds;
+    private final int slotCapacity;
+    private final double surgeStep;
+    private final double maxMultiplier;
+
+    private final AtomicLongArray cells;
+    private volatile PriceTable table;
+
+    public BookingPricing(@Value("${booking.pricing.base-price.basic-wash:20}") double basicWash,
+                          @Value("${booking.pricing.base-price.premium-wash:35}") double premiumWash,
+                          @Value("${booking.pricing.base-price.full-detail:100}") double fullDetail,
+                          @Value("${booking.pricing.slot-minutes:60}") int slotMinutes,
+                          @Value("${booking.pricing.horizon-days:14}") int horizonDays,
+                          @Value("${booking.pricing.window:1h}") Duration window,
+                          @Value("${booking.pricing.window-buckets:12}") int windowBuckets,
+                          @Value("${booking.pricing.slot-capacity:5}") int slotCapacity,
+                          @Value("${booking.pricing.surge-step:0.25}") double surgeStep,
+                          @Value("${booking.pricing.max-multiplier:2.0}") double maxMultiplier) {
+        if (slotMinutes <= 0 || 1440 % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot minutes must divide a day");
+        }
+        if (horizonDays <= 0 || windowBuckets <= 0 || slotCapacity <= 0 || maxMultiplier < 1) {
+            throw new IllegalArgumentException("Invalid pricing configuration");
+        }
+        if (window.getSeconds() < windowBuckets) {
+            throw new IllegalArgumentException("Pricing window must be at least one second per bucket");
+        }
+        basePrices[Booking.ServiceType.BASIC_WASH.ordinal()] = basicWash;
+        basePrices[Booking.ServiceType.PREMIUM_WASH.ordinal()] = premiumWash;
+        basePrices[Booking.ServiceType.FULL_DETAIL.ordinal()] = fullDetail;
+        this.slotSeconds = slotMinutes * 60L;
+        this.horizonSlots = horizonDays * (1440 / slotMinutes);
+        this.windowBuckets = windowBuckets;
+        this.bucketSeconds = window.getSeconds() / windowBuckets;
+        this.slotCapacity = slotCapacity;
+        this.surgeStep = surgeStep;
+        this.maxMultiplier = maxMultiplier;
+        this.cells = new AtomicLongArray(horizonSlots * windowBuckets);
+        publish(nowSecond());
+    }
+
+    /**
+     * Current price of a service type in the slot containing the given time
+     */
+    public PriceQuote quote(Booking.ServiceType serviceType, LocalDateTime scheduledTime) {
+        if (serviceType == null || scheduledTime == null) {
+            throw new IllegalArgumentException("Service type and scheduled time are required");
+        }
+        return table.quote(serviceType, scheduledTime, slot(scheduledTime));
+    }
+
+    /**
+     * Current price of a service type in the slot containing the given time
+     */
+    public double price(Booking.ServiceType serviceType, LocalDateTime scheduledTime) {
+        return quote(serviceType, scheduledTime).getPrice();
+    }
+
+    /**
+     * Count a booking for the slot containing the given time once the surrounding transaction commits
+     */
+    public void recordDemand(LocalDateTime scheduledTime) {
+        if (scheduledTime != null) {
+            TransactionHooks.afterCommit(() -> recordDemand(scheduledTime, nowSecond()));
+        }
+    }
+
+    void recordDemand(LocalDateTime scheduledTime, long nowSecond) {
+        long slot = slot(scheduledTime);
+        long firstSlot = Math.floorDiv(nowSecond, slotSeconds);
+        if (slot < firstSlot || slot >= firstSlot + horizonSlots) {
+            return;
+        }
+        long bucket = Math.floorDiv(nowSecond, bucketSeconds);
+        int index = cellIndex(slot, bucket);
+        long tag = tag(slot, bucket);
+        while (true) {
+            long current = cells.get(index);
+            long next;
+            if ((current & ~COUNT_MASK) != tag) {
+                // Cell still holds an expired bucket or another slot generation
+                next = tag | 1;
+            } else if ((current & COUNT_MASK) == COUNT_MASK) {
+                return;
+            } else {
+                next = current + 1;
+            }
+            if (cells.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recompute every slot's multiplier from the rings and swap in a new price table
+     */
+    @Scheduled(fixedDelayString = "${booking.pricing.publish-interval-ms:5000}")
+    public void publish() {
+        publish(nowSecond());
+    }
+
+    void publish(long nowSecond) {
+        long firstSlot = Math.floorDiv(nowSecond, slotSeconds);
+        double[] multipliers = new double[horizonSlots];
+        for (int i = 0; i < horizonSlots; i++) {
+            multipliers[i] = multiplier(demand(firstSlot + i, nowSecond));
+        }
+        table = new PriceTable(firstSlot, multipliers, basePrices.clone());
+    }
+
+    /**
+     * Bookings made for a slot within the window ending now
+     */
+    int demand(long slot, long nowSecond) {
+        long currentBucket = Math.floorDiv(nowSecond, bucketSeconds);
+        int demand = 0;
+        for (long bucket = currentBucket - windowBuckets + 1; bucket <= currentBucket; bucket++) {
+            long cell = cells.get(cellIndex(slot, bucket));
+            if ((cell & ~COUNT_MASK) == tag(slot, bucket)) {
+                demand += (int) (cell & COUNT_MASK);
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * One surge step for every slot-capacity bookings in the window, capped at max-multiplier
+     */
+    double multiplier(int demand) {
+        return Math.min(maxMultiplier, 1 + surgeStep * (demand / slotCapacity));
+    }
+
+    private int cellIndex(long slot, long bucket) {
+        return (int) Math.floorMod(slot, (long) horizonSlots) * windowBuckets
+            + (int) Math.floorMod(bucket, (long) windowBuckets);
+    }
+
+    private long tag(long slot, long bucket) {
+        long generation = Math.floorDiv(slot, (long) horizonSlots) & GENERATION_MASK;
+        return ((generation << STAMP_BITS) | (bucket & STAMP_MASK)) << COUNT_BITS;
+    }
+
+    private long slot(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), slotSeconds);
+    }
+
+    // Scheduled times are zone-less local times, so "now" is read the same way
+    private static long nowSecond() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Immutable multipliers for the horizon starting at firstSlot
+     * Replaced wholesale on every publish, never modified
+     */
+    private static final class PriceTable {
+        private final long firstSlot;
+        private final double[] multipliers;
+        private final double[] basePrices;
+
+        PriceTable(long firstSlot, double[] multipliers, double[] basePrices) {
+            this.firstSlot = firstSlot;
+            this.multipliers = multipliers;
+            this.basePrices = basePrices;
+        }
+
+        PriceQuote quote(Booking.ServiceType serviceType, LocalDateTime scheduledTime, long slot) {
+            long offset = slot - firstSlot;
+            double multiplier = offset >= 0 && offset < multipliers.length ? multipliers[(int) offset] : 1.0;
+            double basePrice = basePrices[serviceType.ordinal()];
+            double price = Math.round(basePrice * multiplier * 100) / 100.0;
+            return new PriceQuote(serviceType, scheduledTime, basePrice, multiplier, price);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.carwash.service;
+
+import com.carwash.dto.RevenueRow;
+import com.carwash.entity.Booking;
+import com.carwash.entity.BookingDailyRollup;
+import com.carwash.repository.ArchivedBookingRepository;
+import com.carwash.repository.BookingDailyRollupRepository;
+import com.carwash.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Daily revenue per service type and provider, kept in the booking_daily_rollup table
+ * A booking contributes one completed booking and its price to the row of its scheduled day while it is
+ * COMPLETED; writers move that contribution in their own transaction whenever it appears, changes or goes
+ * away, so revenue reports read a few rollup rows instead of the bookings. Archiving leaves it in place.
+ * A periodic reconcile re-derives the most recent days from the bookings and the archive.
+ */
+@Component
+public class BookingRevenueRollups {
+
+    // Longest window a revenue report may cover
+    public static final long MAX_REPORT_DAYS = 366;
+
+    // Revenue differences below this are rounding, not drift
+    private static final double REVENUE_TOLERANCE = 0.005;
+
+    /**
+     * What a revenue report can be grouped by
+     */
+    public enum Dimension {
+        DAY("r.rollupDate"), SERVICE_TYPE("r.serviceType"), PROVIDER("r.providerId");
+
+        private final String column;
+
+        Dimension(String column) {
+            this.column = column;
+        }
+
+        /**
+         * Parse a dimension name, ignoring case, dashes and underscores ("serviceType", "service_type")
+         * Throws IllegalArgumentException for unknown names
+         */
+        public static Dimension from(String value) {
+            String normalized = value.trim().replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+            for (Dimension dimension : values()) {
+                if (dimension.name().replace("_", "").equals(normalized)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown revenue dimension: " + value);
+        }
+    }
+
+    private final BookingDailyRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+    private final int reconcileDays;
+
+    // Rows known to exist, so steady-state writes skip the existence check
+    private final Cache<BookingDailyRollup.Key, Boolean> knownRows;
+
+    public BookingRevenueRollups(BookingDailyRollupRepository rollupRepository,
+                                 BookingRepository bookingRepository,
+                                 ArchivedBookingRepository archivedBookingRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.rollup.reconcile-days:7}") int reconcileDays,
+                                 @Value("${booking.rollup.known-rows:10000}") long knownRows) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileDays = reconcileDays;
+        this.knownRows = Caffeine.newBuilder().maximumSize(knownRows).build();
+    }
+
+    /**
+     * Record a booking that changed, given what it contributed before and after
+     * Either side may be null when the booking was not COMPLETED; no-op when nothing changed
+     */
+    public void record(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    /**
+     * Record a new booking
+     */
+    public void add(Booking booking) {
+        record(null, Contribution.of(booking));
+    }
+
+    /**
+     * Record a removed booking
+     */
+    public void remove(Booking booking) {
+        record(Contribution.of(booking), null);
+    }
+
+    /**
+     * Record status changes made by a guarded or bulk UPDATE, given each booking's state before it
+     * Only rows entering or leaving COMPLETED count; their contributions are summed per rollup row first,
+     * so each row is written once however many bookings moved
+     */
+    public void transition(Collection<? extends BookingRepository.RevenueFacts> before, Booking.BookingStatus to) {
+        Map<BookingDailyRollup.Key, double[]> deltas = new HashMap<>();
+        for (BookingRepository.RevenueFacts row : before) {
+            Booking.BookingStatus from = row.getStatus();
+            if (from == to || (from != Booking.BookingStatus.COMPLETED && to != Booking.BookingStatus.COMPLETED)) {
+                continue;
+            }
+            Contribution contribution = Contribution.completed(row.getScheduledTime(), row.getServiceType(),
+                row.getProviderId(), row.getPrice());
+            if (contribution != null) {
+                int sign = to == Booking.BookingStatus.COMPLETED ? 1 : -1;
+                double[] delta = deltas.computeIfAbsent(contribution.key, key -> new double[2]);
+                delta[0] += sign;
+                delta[1] += sign * contribution.price;
+            }
+        }
+        // Create every missing row before the first UPDATE, like reconcile
+        for (BookingDailyRollup.Key key : deltas.keySet()) {
+            ensureRow(key);
+        }
+        deltas.forEach((key, delta) -> increment(key, (long) delta[0], delta[1]));
+    }
+
+    /**
+     * Revenue of bookings scheduled in [from, to), grouped by the given dimensions
+     * Reads only the rollup; without dimensions the result is a single total row
+     */
+    @Transactional(readOnly = true)
+    public List<RevenueRow> revenue(LocalDate from, LocalDate to, Set<Dimension> groupBy) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        if (from.plusDays(MAX_REPORT_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Range cannot be longer than " + MAX_REPORT_DAYS + " days");
+        }
+        List<Dimension> dimensions = new ArrayList<>(groupBy.isEmpty()
+            ? EnumSet.noneOf(Dimension.class) : EnumSet.copyOf(groupBy));
+        List<String> columns = new ArrayList<>();
+        for (Dimension dimension : dimensions) {
+            columns.add(dimension.column);
+        }
+        String grouping = String.join(", ", columns);
+        String jpql = "SELECT " + (grouping.isEmpty() ? "" : grouping + ", ")
+            + "SUM(r.completedBookings), SUM(r.revenue) FROM BookingDailyRollup r"
+            + " WHERE r.rollupDate >= :from AND r.rollupDate < :to"
+            + (grouping.isEmpty() ? "" : " GROUP BY " + grouping + " ORDER BY " + grouping);
+
+        List<RevenueRow> rows = new ArrayList<>();
+        for (Object[] values : entityManager.createQuery(jpql, Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList()) {
+            RevenueRow row = new RevenueRow();
+            for (int i = 0; i < dimensions.size(); i++) {
+                switch (dimensions.get(i)) {
+                    case DAY -> row.setDay((LocalDate) values[i]);
+                    case SERVICE_TYPE -> row.setServiceType((Booking.ServiceType) values[i]);
+                    case PROVIDER -> row.setProviderId(
+                        BookingDailyRollup.UNASSIGNED_PROVIDER == (Long) values[i] ? null : (Long) values[i]);
+                }
+            }
+            Number bookings = (Number) values[dimensions.size()];
+            Number revenue = (Number) values[dimensions.size() + 1];
+            row.setCompletedBookings(bookings != null ? bookings.longValue() : 0);
+            row.setRevenue(revenue != null ? revenue.doubleValue() : 0);
+            // Groups whose bookings were all reversed keep an all-zero row
+            if (dimensions.isEmpty() || row.getCompletedBookings() != 0) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Correct drift in the most recent days
+     * Returns how many rollup rows had drifted
+     */
+    @Scheduled(fixedDelayString = "${booking.rollup.reconcile-interval-ms:3600000}",
+               initialDelayString = "${booking.rollup.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        LocalDate today = LocalDate.now();
+        return reconcile(today.minusDays(reconcileDays), today.plusDays(1));
+    }
+
+    /**
+     * Re-derive the rollup rows of [from, to) from the bookings and the archive
+     * Corrections are applied as deltas so writes committed meanwhile are not lost;
+     * returns how many rows had drifted
+     */
+    public int reconcile(LocalDate from, LocalDate to) {
+        Integer corrected = transactionTemplate.execute(tx -> {
+            LocalDateTime start = from.atStartOfDay();
+            LocalDateTime end = to.atStartOfDay();
+            Map<BookingDailyRollup.Key, double[]> actual = new HashMap<>();
+            List<BookingRepository.RevenueFacts> facts = new ArrayList<>(
+                bookingRepository.findRevenueFacts(Booking.BookingStatus.COMPLETED, start, end));
+            facts.addAll(archivedBookingRepository.findRevenueFacts(Booking.BookingStatus.COMPLETED, start, end));
+            for (BookingRepository.RevenueFacts row : facts) {
+                Contribution contribution = Contribution.completed(row.getScheduledTime(), row.getServiceType(),
+                    row.getProviderId(), row.getPrice());
+                if (contribution != null) {
+                    double[] totals = actual.computeIfAbsent(contribution.key, key -> new double[2]);
+                    totals[0]++;
+                    totals[1] += contribution.price;
+                }
+            }
+            Map<BookingDailyRollup.Key, BookingDailyRollupRepository.RollupTotals> recorded = new HashMap<>();
+            for (BookingDailyRollupRepository.RollupTotals row : rollupRepository.findTotals(from, to)) {
+                recorded.put(new BookingDailyRollup.Key(row.getRollupDate(), row.getServiceType(),
+                    row.getProviderId()), row);
+            }
+
+            // Create every missing row before the first UPDATE so the inserts never wait on our own locks
+            for (BookingDailyRollup.Key key : actual.keySet()) {
+                if (!recorded.containsKey(key)) {
+                    ensureRow(key);
+                }
+            }
+            int drifted = 0;
+            Set<BookingDailyRollup.Key> keys = new HashSet<>(recorded.keySet());
+            keys.addAll(actual.keySet());
+            for (BookingDailyRollup.Key key : keys) {
+                double[] totals = actual.getOrDefault(key, new double[2]);
+                BookingDailyRollupRepository.RollupTotals row = recorded.get(key);
+                long bookingDrift = (long) totals[0] - (row != null ? row.getCompletedBookings() : 0);
+                double revenueDrift = totals[1] - (row != null ? row.getRevenue() : 0);
+                if (bookingDrift != 0 || Math.abs(revenueDrift) > REVENUE_TOLERANCE) {
+                    increment(key, bookingDrift, revenueDrift);
+                    drifted++;
+                }
+            }
+            return drifted;
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    /**
+     * Add or take away one booking's contribution within the current transaction
+     */
+    private void apply(Contribution contribution, int sign) {
+        if (contribution == null) {
+            return;
+        }
+        ensureRow(contribution.key);
+        increment(contribution.key, sign, sign * contribution.price);
+    }
+
+    private void increment(BookingDailyRollup.Key key, long bookings, double revenue) {
+        rollupRepository.increment(key.getRollupDate(), key.getServiceType().name(), key.getProviderId(),
+            bookings, revenue);
+    }
+
+    /**
+     * Create a rollup row on first use
+     * Inserted in its own transaction before the caller touches it, like the provider counter rows
+     */
+    private void ensureRow(BookingDailyRollup.Key key) {
+        if (knownRows.getIfPresent(key) != null) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(tx -> {
+                if (!rollupRepository.existsById(key)) {
+                    rollupRepository.create(key.getRollupDate(), key.getServiceType().name(), key.getProviderId());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the row first
+        }
+        knownRows.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * What one COMPLETED booking adds to the rollup: one booking and its price on the row of its key
+     */
+    public static final class Contribution {
+        private final BookingDailyRollup.Key key;
+        private final double price;
+
+        private Contribution(BookingDailyRollup.Key key, double price) {
+            this.key = key;
+            this.price = price;
+        }
+
+        /**
+         * Contribution of a booking in its current state, or null unless it is COMPLETED
+         */
+        public static Contribution of(Booking booking) {
+            if (booking == null || booking.getStatus() != Booking.BookingStatus.COMPLETED) {
+                return null;
+            }
+            return completed(booking.getScheduledTime(), booking.getServiceType(), booking.getProviderId(),
+                booking.getPrice());
+        }
+
+        /**
+         * Contribution of a completed booking with these values
+         * Null when the booking has no scheduled time or service type to file it under
+         */
+        static Contribution completed(LocalDateTime scheduledTime, Booking.ServiceType serviceType,
+                                      Long providerId, Double price) {
+            if (scheduledTime == null || serviceType == null) {
+                return null;
+            }
+            return new Contribution(new BookingDailyRollup.Key(scheduledTime.toLocalDate(), serviceType,
+                providerId != null ? providerId : BookingDailyRollup.UNASSIGNED_PROVIDER),
+                price != null ? price : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution that = (Contribution) o;
+            return key.equals(that.key) && Double.compare(price, that.price) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, price);
+        }
+    }
+}
@@ -1,12 +1,40 @@
 package com.carwash.service;
 
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.dto.BatchBookingResult;
+import com.carwash.dto.BookingCacheStats;
+import com.carwash.dto.BookingCursor;
+import com.carwash.dto.BookingDomainEvent;
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingReminderEvent;
+import com.carwash.dto.BookingStatusEvent;
+import com.carwash.dto.BookingSummary;
+import com.carwash.dto.BulkTransitionResponse;
+import com.carwash.dto.BulkTransitionResult;
+import com.carwash.dto.NearbyBooking;
+import com.carwash.dto.ProviderStats;
 import com.carwash.entity.Booking;
 import com.carwash.repository.BookingRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Service class for Booking entity operations
@@ -21,18 +49,142 @@ public class BookingService {
     private static final String CUSTOMER_ID_REQUIRED_MSG = "Customer ID is required";
     private static final String SERVICE_TYPE_REQUIRED_MSG = "Service type is required";
     private static final String SCHEDULED_TIME_REQUIRED_MSG = "Scheduled time is required";
+    private static final String PROVIDER_BUSY_MSG = "Provider already has a booking at ";
+    private static final String PROVIDER_OVERLAP_MSG = "Provider already has a booking overlapping booking ";
+    private static final String INVALID_TRANSITION_MSG = "Cannot change booking status from ";
+    private static final String COORDINATES_PAIR_MSG = "Latitude and longitude must be given together";
+    private static final String COORDINATES_RANGE_MSG = "Latitude must be within [-90, 90] and longitude within [-180, 180]";
+    
+    // Upper bound for cursor pages so a single request can never load an unbounded result
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    // A customer's cached first page holds enough rows for the first page at any limit
+    private static final Pageable CACHED_FIRST_PAGE = PageRequest.of(0, MAX_PAGE_SIZE + 1);
+    
+    // Largest fleet import accepted in one batch request
+    public static final int MAX_BATCH_SIZE = 500;
+    
+    // Largest search radius for nearby bookings
+    public static final double MAX_NEARBY_RADIUS_KM = 100;
+    
+    // Longest window accepted by the date-range query; enough for a month view
+    public static final long MAX_RANGE_DAYS = 31;
+    
+    // Largest provider list accepted by the bulk stats query
+    public static final int MAX_STATS_PROVIDERS = 500;
     
     private final BookingRepository bookingRepository;
+    private final ProviderScheduleIndex scheduleIndex;
+    private final ProviderBookingCounters counters;
+    private final BookingCache bookingCache;
+    private final PendingDispatchQueue dispatchQueue;
+    private final BookingEventBroadcaster eventBroadcaster;
+    private final BookingGeoIndex geoIndex;
+    private final BookingRevenueRollups revenueRollups;
+    private final BookingColumnStore columnStore;
+    private final BookingPricing pricing;
+    private final BookingTimerWheel timers;
+    private final BookingOutbox outbox;
     
-    public BookingService(BookingRepository bookingRepository) {
+    public BookingService(BookingRepository bookingRepository, ProviderScheduleIndex scheduleIndex,
+                          ProviderBookingCounters counters, BookingCache bookingCache,
+                          PendingDispatchQueue dispatchQueue, BookingEventBroadcaster eventBroadcaster,
+                          BookingGeoIndex geoIndex, BookingRevenueRollups revenueRollups,
+                          BookingColumnStore columnStore, BookingPricing pricing, BookingTimerWheel timers,
+                          BookingOutbox outbox) {
         this.bookingRepository = bookingRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.counters = counters;
+        this.bookingCache = bookingCache;
+        this.dispatchQueue = dispatchQueue;
+        this.eventBroadcaster = eventBroadcaster;
+        this.geoIndex = geoIndex;
+        this.revenueRollups = revenueRollups;
+        this.columnStore = columnStore;
+        this.pricing = pricing;
+        this.timers = timers;
+        this.outbox = outbox;
     }
     
     /**
      * Create a new booking
-     * Validates booking data and sets default status
+     * Validates booking data, sets default status and rejects provider double-booking
      */
     public Booking createBooking(Booking booking) {
+        prepareNewBooking(booking);
+        
+        Booking saved = bookingRepository.save(booking);
+        scheduleIndex.track(saved);
+        counters.increment(saved.getProviderId(), saved.getStatus());
+        revenueRollups.add(saved);
+        bookingCache.evictCustomer(saved.getCustomerId());
+        dispatchQueue.offer(saved);
+        geoIndex.track(saved);
+        columnStore.track(saved);
+        timers.track(saved);
+        pricing.recordDemand(saved.getScheduledTime());
+        outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.CREATED, saved));
+        return saved;
+    }
+    
+    /**
+     * Create many bookings in one transaction
+     * Every item is validated first; valid ones are inserted together so Hibernate can
+     * batch the INSERTs, invalid ones are reported back without failing the rest
+     */
+    public BatchBookingResponse createBookings(List<Booking> bookings) {
+        if (bookings == null || bookings.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one booking");
+        }
+        if (bookings.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot exceed " + MAX_BATCH_SIZE + " bookings");
+        }
+        
+        BatchBookingResult[] results = new BatchBookingResult[bookings.size()];
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            try {
+                if (booking == null) {
+                    throw new IllegalArgumentException("Booking is required");
+                }
+                prepareNewBooking(booking);
+                for (Booking other : accepted) {
+                    if (overlaps(booking, other)) {
+                        throw new IllegalStateException(PROVIDER_BUSY_MSG + booking.getScheduledTime());
+                    }
+                }
+                accepted.add(booking);
+                acceptedIndexes.add(i);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[i] = BatchBookingResult.rejected(i, e.getMessage());
+            }
+        }
+        
+        List<Booking> saved = bookingRepository.saveAll(accepted);
+        for (int j = 0; j < saved.size(); j++) {
+            scheduleIndex.track(saved.get(j));
+            counters.increment(saved.get(j).getProviderId(), saved.get(j).getStatus());
+            revenueRollups.add(saved.get(j));
+            bookingCache.evictCustomer(saved.get(j).getCustomerId());
+            dispatchQueue.offer(saved.get(j));
+            geoIndex.track(saved.get(j));
+            columnStore.track(saved.get(j));
+            timers.track(saved.get(j));
+            pricing.recordDemand(saved.get(j).getScheduledTime());
+            outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.CREATED, saved.get(j)));
+            int index = acceptedIndexes.get(j);
+            results[index] = BatchBookingResult.created(index, saved.get(j));
+        }
+        return new BatchBookingResponse(Arrays.asList(results));
+    }
+    
+    /**
+     * Apply defaults and validate a booking before insert
+     * Fails fast without a write if the provider is visibly busy
+     */
+    private void prepareNewBooking(Booking booking) {
         // Set default status if not provided
         if (booking.getStatus() == null) {
             booking.setStatus(Booking.BookingStatus.PENDING);
@@ -48,53 +200,158 @@ public class BookingService {
         if (booking.getScheduledTime() == null) {
             throw new IllegalArgumentException(SCHEDULED_TIME_REQUIRED_MSG);
         }
+        validateCoordinates(booking.getLatitude(), booking.getLongitude());
         
-        return bookingRepository.save(booking);
+        // The price is always quoted by the server, whatever the client sent
+        booking.setPrice(pricing.price(booking.getServiceType(), booking.getScheduledTime()));
+        
+        if (scheduleIndex.hasConflict(booking.getProviderId(), booking.getScheduledTime(),
+                booking.getServiceType(), null)) {
+            throw new IllegalStateException(PROVIDER_BUSY_MSG + booking.getScheduledTime());
+        }
+    }
+    
+    /**
+     * Whether two not-yet-saved bookings would occupy the same provider at once
+     */
+    private static boolean overlaps(Booking a, Booking b) {
+        if (a.getProviderId() == null || !a.getProviderId().equals(b.getProviderId())) {
+            return false;
+        }
+        LocalDateTime aEnd = a.getScheduledTime().plusMinutes(a.getServiceType().getDurationMinutes());
+        LocalDateTime bEnd = b.getScheduledTime().plusMinutes(b.getServiceType().getDurationMinutes());
+        return a.getScheduledTime().isBefore(bEnd) && b.getScheduledTime().isBefore(aEnd);
+    }
+    
+    /**
+     * Check a [from, to) window is non-empty and at most MAX_RANGE_DAYS long
+     */
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Range cannot be longer than " + MAX_RANGE_DAYS + " days");
+        }
+    }
+    
+    /**
+     * Coordinates are optional but must come as a valid latitude/longitude pair
+     */
+    static void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException(COORDINATES_PAIR_MSG);
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException(COORDINATES_RANGE_MSG);
+        }
     }
     
     /**
      * Get booking by ID
-     * Returns booking if found, empty optional otherwise
+     * Returns booking if found, empty optional otherwise; served from the cache when possible
      */
     @Transactional(readOnly = true)
     public Optional<Booking> getBookingById(Long id) {
-        return bookingRepository.findById(id);
+        return bookingCache.getBooking(id, bookingRepository::findById);
+    }
+    
+    /**
+     * Get bookings scheduled in [from, to), optionally for one provider
+     * For day and week views; the window is capped so a request never scans more than a month
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingsInRange(LocalDateTime from, LocalDateTime to, Long providerId) {
+        validateRange(from, to);
+        return providerId != null
+            ? bookingRepository.findSummariesByProviderIdAndScheduledTimeRange(providerId, from, to)
+            : bookingRepository.findSummariesByScheduledTimeRange(from, to);
     }
     
     /**
-     * Get all bookings
-     * Returns complete list of bookings in the system
+     * Get one page of all bookings
+     * Keyset on id so deep pages cost the same as the first
      */
     @Transactional(readOnly = true)
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    public BookingPage getBookingsPage(String cursor, int limit) {
+        return fetchPage(cursor, limit,
+            pageable -> bookingRepository.findAllByOrderByIdAsc(pageable),
+            (after, pageable) -> bookingRepository.findPageAfterId(after.getId(), pageable),
+            false);
     }
     
     /**
-     * Get bookings by customer ID
-     * Returns all bookings for a specific customer
+     * Get one page of bookings for a customer
+     * Ordered by scheduled time, then id; the first page is served from the cache when possible
      */
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByCustomerId(Long customerId) {
-        return bookingRepository.findByCustomerId(customerId);
+    public BookingPage getBookingsPageByCustomerId(Long customerId, String cursor, int limit) {
+        return fetchPage(cursor, limit,
+            pageable -> bookingCache.getCustomerFirstPage(customerId,
+                id -> bookingRepository.findByCustomerIdOrderByScheduledTimeAscIdAsc(id, CACHED_FIRST_PAGE)),
+            (after, pageable) -> bookingRepository.findCustomerPageAfter(
+                customerId, after.getScheduledTime(), after.getId(), pageable),
+            true);
     }
     
     /**
-     * Get bookings by provider ID
-     * Returns all bookings assigned to a specific service provider
+     * Get one page of bookings for a provider
+     * Ordered by scheduled time, then id
      */
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByProviderId(Long providerId) {
-        return bookingRepository.findByProviderId(providerId);
+    public BookingPage getBookingsPageByProviderId(Long providerId, String cursor, int limit) {
+        return fetchPage(cursor, limit,
+            pageable -> bookingRepository.findByProviderIdOrderByScheduledTimeAscIdAsc(providerId, pageable),
+            (after, pageable) -> bookingRepository.findProviderPageAfter(
+                providerId, after.getScheduledTime(), after.getId(), pageable),
+            true);
     }
     
     /**
-     * Get bookings by status
-     * Filters bookings based on their current status
+     * Get one page of bookings with a given status
+     * Ordered by scheduled time, then id
      */
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByStatus(Booking.BookingStatus status) {
-        return bookingRepository.findByStatus(status);
+    public BookingPage getBookingsPageByStatus(Booking.BookingStatus status, String cursor, int limit) {
+        return fetchPage(cursor, limit,
+            pageable -> bookingRepository.findByStatusOrderByScheduledTimeAscIdAsc(status, pageable),
+            (after, pageable) -> bookingRepository.findStatusPageAfter(
+                status, after.getScheduledTime(), after.getId(), pageable),
+            true);
+    }
+    
+    /**
+     * Shared keyset paging logic, also used for the customer history
+     * Fetches one extra row to tell whether another page exists
+     */
+    static BookingPage fetchPage(String cursor, int limit,
+                                 Function<Pageable, List<BookingSummary>> firstPage,
+                                 BiFunction<BookingCursor, Pageable, List<BookingSummary>> nextPage,
+                                 boolean keyedOnTime) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = firstPage.apply(pageable);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            if (keyedOnTime && after.getScheduledTime() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = nextPage.apply(after, pageable);
+        }
+        
+        if (rows.size() <= pageSize) {
+            return new BookingPage(rows, null);
+        }
+        List<BookingSummary> items = new ArrayList<>(rows.subList(0, pageSize));
+        BookingSummary last = items.get(pageSize - 1);
+        BookingCursor next = new BookingCursor(keyedOnTime ? last.getScheduledTime() : null, last.getId());
+        return new BookingPage(items, next.encode());
     }
     
     /**
@@ -104,6 +361,12 @@ public class BookingService {
     public Booking updateBooking(Long id, Booking updatedBooking) {
         return bookingRepository.findById(id)
             .map(booking -> {
+                Long previousProviderId = booking.getProviderId();
+                Booking.BookingStatus previousStatus = booking.getStatus();
+                BookingRevenueRollups.Contribution previousRevenue = BookingRevenueRollups.Contribution.of(booking);
+                Booking.ServiceType previousServiceType = booking.getServiceType();
+                LocalDateTime previousScheduledTime = booking.getScheduledTime();
+                
                 // Update booking fields while preserving ID and creation timestamp
                 if (updatedBooking.getProviderId() != null) {
                     booking.setProviderId(updatedBooking.getProviderId());
@@ -111,51 +374,199 @@ public class BookingService {
                 if (updatedBooking.getServiceType() != null) {
                     booking.setServiceType(updatedBooking.getServiceType());
                 }
-                if (updatedBooking.getStatus() != null) {
+                if (updatedBooking.getStatus() != null && updatedBooking.getStatus() != booking.getStatus()) {
+                    if (!BookingStatusTransitions.isAllowed(booking.getStatus(), updatedBooking.getStatus())) {
+                        throw new IllegalStateException(INVALID_TRANSITION_MSG + booking.getStatus()
+                            + " to " + updatedBooking.getStatus());
+                    }
                     booking.setStatus(updatedBooking.getStatus());
                 }
                 if (updatedBooking.getLocation() != null) {
                     booking.setLocation(updatedBooking.getLocation());
                 }
+                if (updatedBooking.getLatitude() != null || updatedBooking.getLongitude() != null) {
+                    validateCoordinates(updatedBooking.getLatitude(), updatedBooking.getLongitude());
+                    booking.setLatitude(updatedBooking.getLatitude());
+                    booking.setLongitude(updatedBooking.getLongitude());
+                }
                 if (updatedBooking.getScheduledTime() != null) {
                     booking.setScheduledTime(updatedBooking.getScheduledTime());
                 }
-                if (updatedBooking.getPrice() != null) {
-                    booking.setPrice(updatedBooking.getPrice());
+                // Prices are server-owned: re-quoted when the service or slot changes, never taken from the client
+                boolean rescheduled = !Objects.equals(previousScheduledTime, booking.getScheduledTime());
+                if (rescheduled || previousServiceType != booking.getServiceType()) {
+                    booking.setPrice(pricing.price(booking.getServiceType(), booking.getScheduledTime()));
                 }
-                return bookingRepository.save(booking);
+                if (rescheduled) {
+                    // The new time gets its own reminder
+                    booking.setReminderSentAt(null);
+                }
+                Booking saved = bookingRepository.save(booking);
+                scheduleIndex.track(saved);
+                counters.move(previousProviderId, previousStatus, saved.getProviderId(), saved.getStatus());
+                revenueRollups.record(previousRevenue, BookingRevenueRollups.Contribution.of(saved));
+                bookingCache.evict(saved.getId(), saved.getCustomerId());
+                dispatchQueue.offer(saved);
+                geoIndex.track(saved);
+                columnStore.track(saved);
+                timers.track(saved);
+                if (rescheduled) {
+                    pricing.recordDemand(saved.getScheduledTime());
+                }
+                if (previousStatus != saved.getStatus() || !Objects.equals(previousProviderId, saved.getProviderId())) {
+                    eventBroadcaster.publish(BookingStatusEvent.of(saved));
+                }
+                outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.UPDATED, saved));
+                return saved;
             })
             .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id));
     }
     
     /**
      * Update booking status
-     * Specifically for status changes (accept, complete, cancel)
+     * Specifically for status changes (accept, complete, cancel); returns the updated booking
      */
     public Booking updateBookingStatus(Long id, Booking.BookingStatus status) {
-        return bookingRepository.findById(id)
-            .map(booking -> {
-                booking.setStatus(status);
-                return bookingRepository.save(booking);
-            })
+        Booking.BookingStatus previous = claimTransition(id, status);
+        // The booking is returned anyway, so it also serves as the facts for the side effects
+        Booking booking = bookingRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id));
+        if (previous != null) {
+            afterTransition(id, booking.getCustomerId(), booking.getProviderId(), previous, status,
+                BookingRevenueRollups.Contribution.completed(booking.getScheduledTime(), booking.getServiceType(),
+                    booking.getProviderId(), booking.getPrice()));
+        }
+        return booking;
+    }
+    
+    /**
+     * Move a booking to a new status
+     * The guarded UPDATE decides whether it moves; its facts are read only once it has;
+     * returns false when the booking is already in that status, so retries are harmless;
+     * throws IllegalStateException for transitions the matrix does not allow
+     */
+    public boolean transitionStatus(Long id, Booking.BookingStatus status) {
+        Booking.BookingStatus previous = claimTransition(id, status);
+        if (previous == null) {
+            return false;
+        }
+        BookingRepository.TransitionState row = bookingRepository.findStateById(id)
+            .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id));
+        afterTransition(id, row.getCustomerId(), row.getProviderId(), previous, status,
+            BookingRevenueRollups.Contribution.completed(row.getScheduledTime(), row.getServiceType(),
+                row.getProviderId(), row.getPrice()));
+        return true;
+    }
+    
+    /**
+     * Run the guarded UPDATE of one status change and return the status the booking left
+     * Null when it already is in the target status; the current status is only read when no guard matched
+     */
+    private Booking.BookingStatus claimTransition(Long id, Booking.BookingStatus status) {
+        // One guarded UPDATE per allowed predecessor, so the one that matches tells where the booking came from
+        // Every target but CANCELLED has a single predecessor
+        for (Booking.BookingStatus from : BookingStatusTransitions.predecessorsOf(status)) {
+            if (bookingRepository.transitionStatus(id, status, Set.of(from)) == 1) {
+                return from;
+            }
+        }
+        Booking.BookingStatus current = bookingRepository.findStatusById(id)
+            .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id));
+        if (current == status) {
+            return null;
+        }
+        throw new IllegalStateException(INVALID_TRANSITION_MSG + current + " to " + status);
+    }
+    
+    /**
+     * Side effects of a status change made by claimTransition
+     * The revenue contribution is what the booking adds to the rollup while COMPLETED
+     */
+    private void afterTransition(Long id, Long customerId, Long providerId, Booking.BookingStatus previous,
+                                 Booking.BookingStatus status, BookingRevenueRollups.Contribution completed) {
+        counters.move(providerId, previous, providerId, status);
+        revenueRollups.record(previous == Booking.BookingStatus.COMPLETED ? completed : null,
+            status == Booking.BookingStatus.COMPLETED ? completed : null);
+        bookingCache.evict(id, customerId);
+        eventBroadcaster.publish(new BookingStatusEvent(id, customerId, providerId, status, LocalDateTime.now()));
+        // No transition leads back to PENDING
+        dispatchQueue.remove(id);
+        geoIndex.updateStatus(id, status);
+        columnStore.updateStatus(id, status);
+        timers.updateStatus(id, status);
+        if (BookingStatusTransitions.isTerminal(status)) {
+            scheduleIndex.untrack(id);
+        }
+        outbox.record(BookingDomainEvent.statusChanged(id, customerId, providerId, status));
     }
     
     /**
      * Assign provider to booking
-     * Assigns a service provider to a pending booking
+     * One guarded UPDATE claims a pending booking; only one of many concurrent callers can win
      */
     public Booking assignProvider(Long bookingId, Long providerId) {
-        return bookingRepository.findById(bookingId)
-            .map(booking -> {
-                if (booking.getStatus() != Booking.BookingStatus.PENDING) {
-                    throw new IllegalStateException("Can only assign provider to pending bookings");
-                }
-                booking.setProviderId(providerId);
-                booking.setStatus(Booking.BookingStatus.ACCEPTED);
-                return bookingRepository.save(booking);
-            })
+        // In-memory pre-check; the index re-checks atomically once the claim is won
+        if (scheduleIndex.hasConflict(bookingId, providerId)) {
+            throw new IllegalStateException(PROVIDER_OVERLAP_MSG + bookingId);
+        }
+        
+        while (true) {
+            // A pending booking may already name a provider; the claim only matches while it still does
+            Long previousProviderId = bookingRepository.findProviderIdById(bookingId).orElse(null);
+            if (bookingRepository.claimBooking(bookingId, providerId, previousProviderId,
+                    Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED) == 1) {
+                return afterClaim(bookingId, providerId, previousProviderId);
+            }
+            // Lost the claim; only now find out why
+            Booking.BookingStatus current = bookingRepository.findStatusById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + bookingId));
+            if (current != Booking.BookingStatus.PENDING) {
+                throw new IllegalStateException("Can only assign provider to pending bookings");
+            }
+            // Still pending, so its provider changed between the read and the claim; read it again
+        }
+    }
+    
+    private Booking afterClaim(Long bookingId, Long providerId, Long previousProviderId) {
+        // Our UPDATE holds the row lock until commit, so this read sees the claimed booking
+        Booking saved = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + bookingId));
+        
+        scheduleIndex.track(saved);
+        counters.move(previousProviderId, Booking.BookingStatus.PENDING, providerId, Booking.BookingStatus.ACCEPTED);
+        bookingCache.evict(bookingId, saved.getCustomerId());
+        dispatchQueue.remove(bookingId);
+        geoIndex.track(saved);
+        columnStore.track(saved);
+        timers.track(saved);
+        eventBroadcaster.publish(BookingStatusEvent.of(saved));
+        outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.STATUS_CHANGED, saved));
+        return saved;
+    }
+    
+    /**
+     * Undo an assignment its provider never received, e.g. a dispatch whose long-poll had already ended
+     * Only while the booking is still accepted by that provider; it goes back to pending and up for dispatch
+     */
+    public boolean releaseProvider(Long bookingId, Long providerId) {
+        // The claim in reverse: one guarded UPDATE from ACCEPTED by this provider back to PENDING without one
+        if (bookingRepository.claimBooking(bookingId, null, providerId,
+                Booking.BookingStatus.ACCEPTED, Booking.BookingStatus.PENDING) == 0) {
+            return false;
+        }
+        Booking released = bookingRepository.findById(bookingId)
+            .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + bookingId));
+        
+        scheduleIndex.track(released);
+        counters.move(providerId, Booking.BookingStatus.ACCEPTED, null, Booking.BookingStatus.PENDING);
+        bookingCache.evict(bookingId, released.getCustomerId());
+        dispatchQueue.offer(released);
+        geoIndex.track(released);
+        columnStore.track(released);
+        timers.track(released);
+        eventBroadcaster.publish(BookingStatusEvent.of(released));
+        outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.STATUS_CHANGED, released));
+        return true;
     }
     
     /**
@@ -163,18 +574,281 @@ public class BookingService {
      * Removes booking from the system
      */
     public void deleteBooking(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id);
+        Booking booking = bookingRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND_MSG + id));
+        bookingRepository.delete(booking);
+        scheduleIndex.untrack(id);
+        counters.decrement(booking.getProviderId(), booking.getStatus());
+        revenueRollups.remove(booking);
+        bookingCache.evict(id, booking.getCustomerId());
+        dispatchQueue.remove(id);
+        geoIndex.untrack(id);
+        columnStore.untrack(id);
+        timers.untrack(id);
+        outbox.record(BookingDomainEvent.of(BookingDomainEvent.Type.DELETED, booking));
+    }
+    
+    /**
+     * Cancel bookings nobody accepted within the pending timeout
+     * One locking SELECT keeps the ones still pending and overdue, one UPDATE cancels them all;
+     * returns the ids that were cancelled
+     */
+    public List<Long> expirePendingBookings(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        bookingRepository.deleteById(id);
+        List<BookingRepository.TransitionState> expired = bookingRepository.lockExpired(ids,
+            Booking.BookingStatus.PENDING, LocalDateTime.now().minus(timers.getPendingTimeout()));
+        return applyBulkTransition(expired, Booking.BookingStatus.CANCELLED);
+    }
+    
+    /**
+     * Send the reminders of bookings starting within the reminder lead
+     * One locking SELECT keeps the open ones not yet reminded, one UPDATE marks them all;
+     * the reminders go out after commit and are returned
+     */
+    public List<BookingReminderEvent> sendReminders(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingRepository.ReminderTarget> due = bookingRepository.lockDueReminders(ids,
+            BookingTimerWheel.OPEN_STATUSES, now, now.plus(timers.getReminderLead()));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        bookingRepository.markReminded(due.stream().map(BookingRepository.ReminderTarget::getId).toList(), now);
+        List<BookingReminderEvent> reminders = new ArrayList<>(due.size());
+        for (BookingRepository.ReminderTarget target : due) {
+            BookingReminderEvent reminder = new BookingReminderEvent(target.getId(), target.getCustomerId(),
+                target.getProviderId(), target.getScheduledTime(), now);
+            eventBroadcaster.publishReminder(reminder);
+            reminders.add(reminder);
+        }
+        return reminders;
+    }
+    
+    /**
+     * Cancel every pending booking of a customer, e.g. when the account is closed
+     * One locking SELECT and one UPDATE however many bookings there are; bookings in other statuses are left alone
+     */
+    public BulkTransitionResponse cancelPendingBookingsOfCustomer(Long customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException(CUSTOMER_ID_REQUIRED_MSG);
+        }
+        List<BookingRepository.TransitionState> rows = bookingRepository.lockStatesByCustomerId(customerId,
+            EnumSet.of(Booking.BookingStatus.PENDING));
+        return transitionAll(rows, Booking.BookingStatus.CANCELLED);
+    }
+    
+    /**
+     * Cancel a provider's open bookings scheduled in [from, to), e.g. when a site shuts for weather
+     * The window is capped like range reads; finished bookings in it are left alone
+     */
+    public BulkTransitionResponse cancelProviderBookingsInRange(Long providerId, LocalDateTime from, LocalDateTime to) {
+        if (providerId == null) {
+            throw new IllegalArgumentException("Provider ID is required");
+        }
+        validateRange(from, to);
+        List<BookingRepository.TransitionState> rows = bookingRepository.lockStatesByProviderIdAndScheduledTimeRange(
+            providerId, BookingStatusTransitions.predecessorsOf(Booking.BookingStatus.CANCELLED), from, to);
+        return transitionAll(rows, Booking.BookingStatus.CANCELLED);
+    }
+    
+    /**
+     * Cancel the open occurrences of a recurring booking scheduled after a point in time
+     * One locking SELECT and one UPDATE however many occurrences there are; returns the ids cancelled
+     */
+    public List<Long> cancelRecurrenceOccurrences(Long recurrenceId, LocalDateTime after) {
+        List<BookingRepository.TransitionState> rows = bookingRepository.lockRecurrenceOccurrences(recurrenceId,
+            BookingStatusTransitions.predecessorsOf(Booking.BookingStatus.CANCELLED), after);
+        return applyBulkTransition(rows, Booking.BookingStatus.CANCELLED);
+    }
+    
+    /**
+     * Move a list of bookings to one status
+     * All are locked with one SELECT and the allowed ones moved with one UPDATE; the rest are reported
+     * per booking instead of failing the request. Results follow the request order, duplicates dropped.
+     */
+    public BulkTransitionResponse transitionStatuses(Collection<Long> ids, Booking.BookingStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking ID is required");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot change more than " + MAX_BATCH_SIZE + " bookings at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Booking IDs cannot be null");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, BookingRepository.TransitionState> locked = new HashMap<>();
+        for (BookingRepository.TransitionState row : bookingRepository.lockStatesByIds(requested)) {
+            locked.put(row.getId(), row);
+        }
+        
+        List<BookingRepository.TransitionState> movable = new ArrayList<>();
+        List<BulkTransitionResult> results = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            BookingRepository.TransitionState row = locked.get(id);
+            if (row == null) {
+                results.add(BulkTransitionResult.notFound(id, BOOKING_NOT_FOUND_MSG + id));
+            } else if (row.getStatus() == status) {
+                results.add(BulkTransitionResult.unchanged(id, status));
+            } else if (BookingStatusTransitions.isAllowed(row.getStatus(), status)) {
+                movable.add(row);
+                results.add(BulkTransitionResult.transitioned(id, row.getStatus()));
+            } else {
+                results.add(BulkTransitionResult.rejected(id, row.getStatus(),
+                    INVALID_TRANSITION_MSG + row.getStatus() + " to " + status));
+            }
+        }
+        applyBulkTransition(movable, status);
+        return new BulkTransitionResponse(status, results);
+    }
+    
+    /**
+     * Move locked rows that all allow the transition and report each one
+     */
+    private BulkTransitionResponse transitionAll(List<BookingRepository.TransitionState> rows,
+                                                 Booking.BookingStatus target) {
+        applyBulkTransition(rows, target);
+        List<BulkTransitionResult> results = new ArrayList<>(rows.size());
+        for (BookingRepository.TransitionState row : rows) {
+            results.add(BulkTransitionResult.transitioned(row.getId(), row.getStatus()));
+        }
+        return new BulkTransitionResponse(target, results);
+    }
+    
+    /**
+     * Move rows already locked by the caller to a new status with one UPDATE and apply the side effects
+     * Counter and rollup changes are summed per row they touch first, so each of those rows is written once
+     */
+    private List<Long> applyBulkTransition(List<BookingRepository.TransitionState> rows, Booking.BookingStatus target) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(BookingRepository.TransitionState::getId).toList();
+        bookingRepository.transitionStatusByIds(ids, target);
+        revenueRollups.transition(rows, target);
+        
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Map<Booking.BookingStatus, Long>> movedByProvider = new HashMap<>();
+        for (BookingRepository.TransitionState row : rows) {
+            if (row.getProviderId() != null) {
+                movedByProvider.computeIfAbsent(row.getProviderId(), id -> new HashMap<>())
+                    .merge(row.getStatus(), 1L, Long::sum);
+            }
+            bookingCache.evict(row.getId(), row.getCustomerId());
+            eventBroadcaster.publish(new BookingStatusEvent(row.getId(), row.getCustomerId(), row.getProviderId(),
+                target, now));
+            dispatchQueue.remove(row.getId());
+            geoIndex.updateStatus(row.getId(), target);
+            columnStore.updateStatus(row.getId(), target);
+            timers.updateStatus(row.getId(), target);
+            if (BookingStatusTransitions.isTerminal(target)) {
+                scheduleIndex.untrack(row.getId());
+            }
+            outbox.record(BookingDomainEvent.statusChanged(row.getId(), row.getCustomerId(), row.getProviderId(),
+                target));
+        }
+        movedByProvider.forEach((providerId, byStatus) -> byStatus.forEach((status, moved) -> {
+            counters.adjust(providerId, status, -moved);
+            counters.adjust(providerId, target, moved);
+        }));
+        return ids;
     }
     
     /**
      * Get booking count by provider and status
-     * Provides statistics for service provider dashboard
+     * Served from the maintained counters, no query
      */
     @Transactional(readOnly = true)
     public long getBookingCountByProviderAndStatus(Long providerId, Booking.BookingStatus status) {
-        return bookingRepository.countByProviderIdAndStatus(providerId, status);
+        return counters.count(providerId, status);
+    }
+    
+    /**
+     * Get dashboard statistics for a provider
+     * Counts, revenue and upcoming bookings for every status from one GROUP BY query
+     */
+    @Transactional(readOnly = true)
+    public ProviderStats getProviderStats(Long providerId) {
+        return getProviderStats(List.of(providerId)).get(0);
+    }
+    
+    /**
+     * Get dashboard statistics for many providers
+     * Still a single query; results follow the order of the requested ids
+     */
+    @Transactional(readOnly = true)
+    public List<ProviderStats> getProviderStats(Collection<Long> providerIds) {
+        if (providerIds == null || providerIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one provider ID is required");
+        }
+        Map<Long, ProviderStats> statsByProvider = new LinkedHashMap<>();
+        for (Long providerId : providerIds) {
+            if (providerId == null) {
+                throw new IllegalArgumentException("Provider ID is required");
+            }
+            statsByProvider.putIfAbsent(providerId, new ProviderStats(providerId));
+        }
+        if (statsByProvider.size() > MAX_STATS_PROVIDERS) {
+            throw new IllegalArgumentException("Cannot request stats for more than " + MAX_STATS_PROVIDERS + " providers");
+        }
+        
+        for (BookingRepository.ProviderStatusAggregate row
+                : bookingRepository.aggregateByProviderAndStatus(statsByProvider.keySet(), LocalDateTime.now())) {
+            statsByProvider.get(row.getProviderId())
+                .add(row.getStatus(), row.getBookings(), row.getRevenue(), row.getUpcoming());
+        }
+        return new ArrayList<>(statsByProvider.values());
+    }
+    
+    /**
+     * Get booking cache statistics
+     * Hit, miss and eviction counts used to size the cache
+     */
+    public List<BookingCacheStats> getCacheStats() {
+        return bookingCache.stats();
+    }
+    
+    /**
+     * Find open bookings near a point, nearest first
+     * Candidates come from the in-memory geo index; only the hits are loaded, by primary key
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyBooking> findNearbyBookings(double latitude, double longitude, double radiusKm,
+                                                  Booking.BookingStatus status, int limit) {
+        validateCoordinates(latitude, longitude);
+        if (!(radiusKm > 0) || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (!BookingGeoIndex.INDEXED_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Nearby search only supports statuses " + BookingGeoIndex.INDEXED_STATUSES);
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        
+        List<BookingGeoIndex.Hit> hits = geoIndex.findNearby(latitude, longitude, radiusKm, status, pageSize);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (BookingGeoIndex.Hit hit : hits) {
+            ids.add(hit.getBookingId());
+        }
+        Map<Long, Booking> bookingsById = new HashMap<>();
+        for (Booking booking : bookingRepository.findAllById(ids)) {
+            bookingsById.put(booking.getId(), booking);
+        }
+        
+        List<NearbyBooking> results = new ArrayList<>(hits.size());
+        for (BookingGeoIndex.Hit hit : hits) {
+            Booking booking = bookingsById.get(hit.getBookingId());
+            // The index follows commits, so a row may have moved on since; trust the row
+            if (booking != null && booking.getStatus() == status) {
+                results.add(new NearbyBooking(booking, hit.getDistanceKm()));
+            }
+        }
+        return results;
     }
 }
\ No newline at end of file
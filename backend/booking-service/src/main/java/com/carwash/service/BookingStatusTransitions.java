@@ -0,0 +1,73 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Allowed booking status transitions
+ * Matrix is indexed by enum ordinal so checks are a single array lookup, and the
+ * predecessor sets feed the WHERE status IN (...) guard of single-statement updates
+ */
+public final class BookingStatusTransitions {
+    
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+    
+    // ALLOWED[from][to]
+    private static final boolean[][] ALLOWED = new boolean[STATUSES.length][STATUSES.length];
+    
+    // Statuses a booking may be in to move into the indexed status
+    private static final Set<Booking.BookingStatus>[] PREDECESSORS = predecessorTable();
+    
+    static {
+        allow(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED);
+        allow(Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED);
+        allow(Booking.BookingStatus.ACCEPTED, Booking.BookingStatus.COMPLETED);
+        allow(Booking.BookingStatus.ACCEPTED, Booking.BookingStatus.CANCELLED);
+    }
+    
+    private BookingStatusTransitions() {}
+    
+    /**
+     * Whether a booking may move from one status to another
+     * Staying in the same status is not a transition
+     */
+    public static boolean isAllowed(Booking.BookingStatus from, Booking.BookingStatus to) {
+        return ALLOWED[from.ordinal()][to.ordinal()];
+    }
+    
+    /**
+     * Statuses from which the target status can be reached
+     * Empty for statuses that cannot be entered by a transition
+     */
+    public static Set<Booking.BookingStatus> predecessorsOf(Booking.BookingStatus to) {
+        return EnumSet.copyOf(PREDECESSORS[to.ordinal()]);
+    }
+    
+    /**
+     * Whether a status is final
+     */
+    public static boolean isTerminal(Booking.BookingStatus status) {
+        for (boolean allowed : ALLOWED[status.ordinal()]) {
+            if (allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void allow(Booking.BookingStatus from, Booking.BookingStatus to) {
+        ALLOWED[from.ordinal()][to.ordinal()] = true;
+        PREDECESSORS[to.ordinal()].add(from);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Set<Booking.BookingStatus>[] predecessorTable() {
+        Set<Booking.BookingStatus>[] table = new Set[STATUSES.length];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = EnumSet.noneOf(Booking.BookingStatus.class);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,55 @@
+package com.carwash.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives the booking timer wheel and acts on the timers that come due
+ * Due timers are grouped into batches of batch-size, and each batch is one transaction with one
+ * bulk UPDATE. Firing is idempotent, so a timer armed on several instances does no harm.
+ */
+@Component
+public class BookingTimeouts {
+
+    private final BookingTimerWheel timers;
+    private final BookingService bookingService;
+    private final int batchSize;
+
+    public BookingTimeouts(BookingTimerWheel timers, BookingService bookingService,
+                           @Value("${booking.timers.batch-size:500}") int batchSize) {
+        this.timers = timers;
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Advance the wheel and fire what came due
+     * Returns the number of bookings expired or reminded
+     */
+    @Scheduled(fixedDelayString = "${booking.timers.tick-ms:1000}")
+    public int tick() {
+        return fire(timers.advance());
+    }
+
+    int fire(List<BookingTimerWheel.Due> due) {
+        List<Long> expired = new ArrayList<>();
+        List<Long> reminded = new ArrayList<>();
+        for (BookingTimerWheel.Due timer : due) {
+            (timer.getKind() == BookingTimerWheel.Kind.EXPIRE ? expired : reminded).add(timer.getBookingId());
+        }
+        int fired = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            fired += bookingService.expirePendingBookings(
+                expired.subList(from, Math.min(from + batchSize, expired.size()))).size();
+        }
+        for (int from = 0; from < reminded.size(); from += batchSize) {
+            fired += bookingService.sendReminders(
+                reminded.subList(from, Math.min(from + batchSize, reminded.size()))).size();
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,288 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timer wheel holding the acceptance timeout and the reminder of every open booking
+ * A timer sits in the bucket of its deadline tick modulo the wheel size; each tick visits one
+ * bucket, so arming, cancelling and firing are O(1) no matter how many bookings are open, and
+ * nothing polls the bookings table. Cancelled timers are only flagged and dropped when their
+ * bucket comes round. Armed after commit from BookingService and rebuilt from the database at startup.
+ * Only timers due within the horizon are held; a periodic catch-up arms the ones that have come
+ * into it since, so memory follows the bookings due soon rather than every future booking.
+ */
+@Component
+public class BookingTimerWheel {
+
+    /**
+     * What happens when a timer fires
+     */
+    public enum Kind {
+        // Cancel a booking still PENDING pending-timeout after creation
+        EXPIRE,
+        // Remind customer and provider reminder-lead before the scheduled time
+        REMIND
+    }
+
+    // Bookings that can still be reminded
+    public static final Set<Booking.BookingStatus> OPEN_STATUSES =
+        EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED);
+
+    private final BookingRepository bookingRepository;
+    private final Duration pendingTimeout;
+    private final Duration reminderLead;
+    private final Duration horizon;
+    private final long tickMillis;
+    private final int mask;
+    private final long startMillis;
+
+    // All guarded by this
+    private final List<ArrayDeque<Timer>> buckets;
+    private final Map<Kind, Map<Long, Timer>> armed = new EnumMap<>(Kind.class);
+    private long currentTick;
+
+    public BookingTimerWheel(BookingRepository bookingRepository,
+                             @Value("${booking.timers.pending-timeout:30m}") Duration pendingTimeout,
+                             @Value("${booking.timers.reminder-lead:2h}") Duration reminderLead,
+                             @Value("${booking.timers.tick-ms:1000}") long tickMillis,
+                             @Value("${booking.timers.wheel-size:4096}") int wheelSize,
+                             @Value("${booking.timers.horizon:1h}") Duration horizon,
+                             @Value("${booking.timers.catch-up-interval-ms:300000}") long catchUpMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        // A catch-up must come round before the timers just beyond the horizon are due
+        if (catchUpMillis <= 0 || horizon.toMillis() <= catchUpMillis) {
+            throw new IllegalArgumentException("Timer horizon must be longer than the catch-up interval");
+        }
+        this.bookingRepository = bookingRepository;
+        this.pendingTimeout = pendingTimeout;
+        this.reminderLead = reminderLead;
+        this.horizon = horizon;
+        this.tickMillis = tickMillis;
+        // Power of two so the bucket is a mask of the tick
+        int size = Integer.highestOneBit(wheelSize) < wheelSize ? Integer.highestOneBit(wheelSize) << 1 : wheelSize;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        for (Kind kind : Kind.values()) {
+            armed.put(kind, new HashMap<>());
+        }
+        this.startMillis = millis(LocalDateTime.now());
+    }
+
+    public Duration getPendingTimeout() {
+        return pendingTimeout;
+    }
+
+    public Duration getReminderLead() {
+        return reminderLead;
+    }
+
+    /**
+     * Arm the timers of every open booking due within the horizon
+     * Runs at startup and then as the periodic catch-up. Only adds timers not armed meanwhile;
+     * a stale one is harmless because firing re-checks the row
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.timers.catch-up-interval-ms:300000}",
+               initialDelayString = "${booking.timers.catch-up-interval-ms:300000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+        List<BookingRepository.BookingTime> pending = bookingRepository.findCreatedTimesByStatus(
+            Booking.BookingStatus.PENDING, until.minus(pendingTimeout));
+        List<BookingRepository.BookingTime> reminders =
+            bookingRepository.findReminderTimes(OPEN_STATUSES, now, until.plus(reminderLead));
+        synchronized (this) {
+            for (BookingRepository.BookingTime booking : pending) {
+                if (booking.getTime() != null && !armed.get(Kind.EXPIRE).containsKey(booking.getId())) {
+                    arm(booking.getId(), Kind.EXPIRE, booking.getTime().plus(pendingTimeout));
+                }
+            }
+            for (BookingRepository.BookingTime booking : reminders) {
+                if (!armed.get(Kind.REMIND).containsKey(booking.getId())) {
+                    arm(booking.getId(), Kind.REMIND, booking.getTime().minus(reminderLead));
+                }
+            }
+        }
+    }
+
+    /**
+     * Arm or cancel a booking's timers to match its state once the surrounding transaction commits
+     * A timer beyond the horizon is left to the catch-up
+     */
+    public void track(Booking booking) {
+        Long id = booking.getId();
+        if (id == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireAt = booking.getStatus() == Booking.BookingStatus.PENDING && booking.getCreatedAt() != null
+            ? withinHorizon(booking.getCreatedAt().plus(pendingTimeout), now) : null;
+        LocalDateTime remindAt = OPEN_STATUSES.contains(booking.getStatus()) && booking.getReminderSentAt() == null
+            && booking.getScheduledTime() != null && booking.getScheduledTime().isAfter(now)
+            ? withinHorizon(booking.getScheduledTime().minus(reminderLead), now) : null;
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                set(id, Kind.EXPIRE, expireAt);
+                set(id, Kind.REMIND, remindAt);
+            }
+        });
+    }
+
+    /**
+     * Cancel the timers a status change made pointless once the surrounding transaction commits
+     */
+    public void updateStatus(Long bookingId, Booking.BookingStatus status) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                if (status != Booking.BookingStatus.PENDING) {
+                    cancel(bookingId, Kind.EXPIRE);
+                }
+                if (!OPEN_STATUSES.contains(status)) {
+                    cancel(bookingId, Kind.REMIND);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancel a deleted booking's timers once the surrounding transaction commits
+     */
+    public void untrack(Long bookingId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                cancel(bookingId, Kind.EXPIRE);
+                cancel(bookingId, Kind.REMIND);
+            }
+        });
+    }
+
+    /**
+     * Move the wheel up to now and hand back the timers that came due, in deadline-tick order
+     */
+    public List<Due> advance() {
+        return advance(LocalDateTime.now());
+    }
+
+    synchronized List<Due> advance(LocalDateTime now) {
+        long target = Math.floorDiv(millis(now) - startMillis, tickMillis);
+        List<Due> due = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            Iterator<Timer> bucket = buckets.get((int) (currentTick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timer timer = bucket.next();
+                if (timer.cancelled) {
+                    bucket.remove();
+                } else if (timer.deadlineTick <= currentTick) {
+                    bucket.remove();
+                    armed.get(timer.kind).remove(timer.bookingId, timer);
+                    due.add(new Due(timer.bookingId, timer.kind, timer.deadline));
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Number of armed timers of one kind
+     */
+    public synchronized int size(Kind kind) {
+        return armed.get(kind).size();
+    }
+
+    private LocalDateTime withinHorizon(LocalDateTime deadline, LocalDateTime now) {
+        return deadline.isAfter(now.plus(horizon)) ? null : deadline;
+    }
+
+    private void set(Long bookingId, Kind kind, LocalDateTime deadline) {
+        if (deadline == null) {
+            cancel(bookingId, kind);
+        } else {
+            Timer current = armed.get(kind).get(bookingId);
+            if (current == null || !current.deadline.equals(deadline)) {
+                arm(bookingId, kind, deadline);
+            }
+        }
+    }
+
+    private void arm(Long bookingId, Kind kind, LocalDateTime deadline) {
+        // Overdue timers fire on the next tick
+        long tick = Math.max(currentTick + 1, -Math.floorDiv(startMillis - millis(deadline), tickMillis));
+        Timer timer = new Timer(bookingId, kind, deadline, tick);
+        Timer previous = armed.get(kind).put(bookingId, timer);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        buckets.get((int) (tick & mask)).add(timer);
+    }
+
+    private void cancel(Long bookingId, Kind kind) {
+        Timer timer = armed.get(kind).remove(bookingId);
+        if (timer != null) {
+            timer.cancelled = true;
+        }
+    }
+
+    // Booking times are zone-less local times, so the wheel reads the clock the same way
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * A timer that came due
+     */
+    public static final class Due {
+        private final Long bookingId;
+        private final Kind kind;
+        private final LocalDateTime deadline;
+
+        Due(Long bookingId, Kind kind, LocalDateTime deadline) {
+            this.bookingId = bookingId;
+            this.kind = kind;
+            this.deadline = deadline;
+        }
+
+        public Long getBookingId() { return bookingId; }
+        public Kind getKind() { return kind; }
+        public LocalDateTime getDeadline() { return deadline; }
+    }
+
+    private static final class Timer {
+        private final Long bookingId;
+        private final Kind kind;
+        private final LocalDateTime deadline;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        Timer(Long bookingId, Kind kind, LocalDateTime deadline, long deadlineTick) {
+            this.bookingId = bookingId;
+            this.kind = kind;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.carwash.service;
+
+import com.carwash.entity.IdempotencyRecord;
+import com.carwash.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays its stored response on retries
+ * The key is claimed with an INSERT at the start of the request's transaction and the response is
+ * stored before it commits, so a failed attempt leaves nothing behind and can simply be retried.
+ * A duplicate arriving while the first attempt runs waits for it: on this instance on the in-flight
+ * future, across instances on the claimed row's lock. Completed responses are also kept in a bounded
+ * in-memory cache so most retries never reach the database; a cached response is never replayed past
+ * its record's expiry, so the cache cannot outlive a purged key.
+ */
+@Component
+public class IdempotencyKeys {
+
+    // Longest client key accepted; the stored key also carries the endpoint scope
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyKeys(IdempotencyRecordRepository recordRepository, ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${booking.idempotency.ttl:24h}") Duration ttl,
+                           @Value("${booking.idempotency.max-entries:10000}") long maxEntries,
+                           @Value("${booking.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Run the action once for this key, or return the response an earlier run stored
+     * Requests are compared by raw body, since parsed bookings carry defaults such as the creation time.
+     * The action runs in a new transaction together with the key claim; throws IllegalArgumentException
+     * for a malformed key or one already used with a different request, and IllegalStateException
+     * when an earlier run with the key is still in progress after the wait timeout
+     */
+    public <T> Outcome<T> execute(String scope, String key, byte[] requestBody, Class<T> responseType,
+                                  Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = scope + ":" + key;
+        String requestHash = hash(requestBody);
+
+        while (true) {
+            StoredResponse stored = lookup(scopedKey);
+            if (stored != null) {
+                return replay(stored, requestHash, responseType);
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(scopedKey, mine);
+            if (running != null) {
+                await(running);
+                continue;
+            }
+            try {
+                return new Outcome<>(run(scopedKey, requestHash, action), false);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance held the key; our INSERT waited for it to commit
+                stored = lookup(scopedKey);
+                if (stored == null) {
+                    throw e;
+                }
+                return replay(stored, requestHash, responseType);
+            } finally {
+                inFlight.remove(scopedKey, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Delete keys past their TTL
+     * Returns the number of keys removed
+     */
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${booking.idempotency.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer purged = transactionTemplate.execute(tx -> recordRepository.deleteExpired(now));
+        responses.asMap().values().removeIf(stored -> stored.isExpired(now));
+        return purged != null ? purged : 0;
+    }
+
+    private <T> T run(String scopedKey, String requestHash, Supplier<T> action) {
+        // Its own transaction even inside a caller's, so the claim, the action and the stored response commit together
+        return requiresNew.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plus(ttl);
+            recordRepository.claim(scopedKey, requestHash, now, expiresAt);
+            T response = action.get();
+            String body = write(response);
+            recordRepository.complete(scopedKey, body);
+            TransactionHooks.afterCommit(() ->
+                responses.put(scopedKey, new StoredResponse(requestHash, body, expiresAt)));
+            return response;
+        });
+    }
+
+    /**
+     * Completed response for a key, from the cache or the table
+     * The cache is only trusted until the record's own expiry, which another instance may have set;
+     * an expired row is deleted in its own transaction so the key can be claimed again
+     */
+    private StoredResponse lookup(String scopedKey) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse cached = responses.getIfPresent(scopedKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            responses.invalidate(scopedKey);
+        }
+        Optional<IdempotencyRecord> record = recordRepository.findById(scopedKey);
+        if (record.isEmpty() || record.get().getResponseBody() == null) {
+            return null;
+        }
+        if (!record.get().getExpiresAt().isAfter(now)) {
+            requiresNew.executeWithoutResult(tx -> recordRepository.deleteIfExpired(scopedKey, now));
+            return null;
+        }
+        StoredResponse stored = new StoredResponse(record.get().getRequestHash(), record.get().getResponseBody(),
+            record.get().getExpiresAt());
+        responses.put(scopedKey, stored);
+        return stored;
+    }
+
+    private <T> Outcome<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new Outcome<>(objectMapper.readValue(stored.body, responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void await(CompletableFuture<Void> running) {
+        try {
+            running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a request with the same Idempotency-Key");
+        } catch (ExecutionException e) {
+            // Never completed exceptionally; the next lookup decides
+        }
+    }
+
+    private static String hash(byte[] requestBody) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(requestBody));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class StoredResponse {
+        private final String requestHash;
+        private final String body;
+        private final LocalDateTime expiresAt;
+
+        private StoredResponse(String requestHash, String body, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+
+    /**
+     * Response of an idempotent request and whether it was replayed from an earlier run
+     */
+    public static final class Outcome<T> {
+        private final T response;
+        private final boolean replayed;
+
+        public Outcome(T response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+
+        public T getResponse() { return response; }
+        public boolean isReplayed() { return replayed; }
+    }
+}
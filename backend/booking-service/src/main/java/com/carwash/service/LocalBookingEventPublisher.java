@@ -0,0 +1,30 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingDomainEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes outbox events as Spring application events inside this instance
+ * Stand-in until a broker publisher is plugged in; listeners use @EventListener on BookingDomainEvent
+ */
+@Component
+@ConditionalOnProperty(prefix = "booking.outbox", name = "publisher", havingValue = "local", matchIfMissing = true)
+public class LocalBookingEventPublisher implements BookingEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public LocalBookingEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<BookingDomainEvent> events) {
+        for (BookingDomainEvent event : events) {
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+}
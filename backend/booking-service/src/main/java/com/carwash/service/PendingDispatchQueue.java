@@ -0,0 +1,225 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory queue of unassigned pending bookings, earliest scheduled time first
+ * Providers wait on it instead of polling the status list. Each booking is handed to exactly
+ * one waiter: a hand-out and a timeout both race to complete the waiter's future, and only the
+ * winner's outcome counts.
+ */
+@Component
+public class PendingDispatchQueue {
+
+    private static final Comparator<Entry> DISPATCH_ORDER =
+        Comparator.comparing((Entry entry) -> entry.scheduledTime).thenComparingLong(entry -> entry.bookingId);
+
+    private final BookingRepository bookingRepository;
+
+    // All four are guarded by this
+    private final NavigableSet<Entry> pending = new TreeSet<>(DISPATCH_ORDER);
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    // Handed out and not yet claimed, removed or queued again; lets a failed claim put the booking back
+    private final Map<Long, Entry> handedOut = new HashMap<>();
+
+    public PendingDispatchQueue(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Load all dispatchable bookings
+     * Runs once the application is ready so startup is not blocked on schema creation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Booking> bookings = bookingRepository.findByStatus(Booking.BookingStatus.PENDING);
+        synchronized (this) {
+            pending.clear();
+            entriesById.clear();
+            for (Booking booking : bookings) {
+                if (isDispatchable(booking)) {
+                    add(new Entry(booking.getId(), booking.getScheduledTime()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Queue a booking, or drop it if it is no longer up for dispatch
+     * Applied after the surrounding transaction commits so waiters never see uncommitted bookings
+     */
+    public void offer(Booking booking) {
+        Long bookingId = booking.getId();
+        if (bookingId == null) {
+            return;
+        }
+        if (!isDispatchable(booking)) {
+            remove(bookingId);
+            return;
+        }
+        Entry entry = new Entry(bookingId, booking.getScheduledTime());
+        TransactionHooks.afterCommit(() -> enqueue(entry));
+    }
+
+    /**
+     * Drop a booking once the surrounding transaction commits
+     * Used when it is assigned, cancelled or deleted
+     */
+    public void remove(Long bookingId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                handedOut.remove(bookingId);
+                Entry entry = entriesById.remove(bookingId);
+                if (entry != null) {
+                    pending.remove(entry);
+                }
+            }
+        });
+    }
+
+    /**
+     * Put back a booking handed out by take or poll whose claim failed for reasons unrelated to the booking,
+     * e.g. the database was unavailable; it keeps its place in dispatch order
+     * No-op once the booking was removed or queued again
+     */
+    public void requeue(Long bookingId) {
+        Entry entry;
+        synchronized (this) {
+            entry = handedOut.remove(bookingId);
+        }
+        if (entry != null) {
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Take the earliest booking the caller accepts, waiting up to the timeout for one to arrive
+     * Completes with null on timeout
+     */
+    public CompletableFuture<Long> take(LongPredicate acceptable, Duration timeout) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        synchronized (this) {
+            Long queued = poll(acceptable);
+            if (queued != null) {
+                future.complete(queued);
+                return future;
+            }
+            Waiter waiter = new Waiter(acceptable, future);
+            waiters.addLast(waiter);
+            future.whenComplete((bookingId, error) -> {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            });
+        }
+        future.completeOnTimeout(null, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Take the earliest queued booking the caller accepts without waiting
+     * Returns null when there is none
+     */
+    public synchronized Long poll(LongPredicate acceptable) {
+        for (Entry entry : pending) {
+            if (acceptable.test(entry.bookingId)) {
+                pending.remove(entry);
+                entriesById.remove(entry.bookingId);
+                handedOut.put(entry.bookingId, entry);
+                return entry.bookingId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of bookings waiting for a provider
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Number of providers waiting for a booking
+     */
+    public synchronized int waiting() {
+        return waiters.size();
+    }
+
+    /**
+     * Hand the booking to the longest-waiting provider that accepts it, otherwise keep it
+     */
+    private synchronized void enqueue(Entry entry) {
+        handedOut.remove(entry.bookingId);
+        Entry previous = entriesById.remove(entry.bookingId);
+        if (previous != null) {
+            pending.remove(previous);
+        }
+        Iterator<Waiter> it = waiters.iterator();
+        while (it.hasNext()) {
+            Waiter waiter = it.next();
+            if (waiter.future.isDone()) {
+                it.remove();
+            } else if (waiter.acceptable.test(entry.bookingId)) {
+                it.remove();
+                // Loses only if the waiter timed out or went away in the meantime
+                if (waiter.future.complete(entry.bookingId)) {
+                    handedOut.put(entry.bookingId, entry);
+                    return;
+                }
+            }
+        }
+        add(entry);
+    }
+
+    private void add(Entry entry) {
+        pending.add(entry);
+        entriesById.put(entry.bookingId, entry);
+    }
+
+    private static boolean isDispatchable(Booking booking) {
+        return booking.getStatus() == Booking.BookingStatus.PENDING
+            && booking.getProviderId() == null
+            && booking.getScheduledTime() != null;
+    }
+
+    private static final class Entry {
+        final long bookingId;
+        final LocalDateTime scheduledTime;
+
+        Entry(long bookingId, LocalDateTime scheduledTime) {
+            this.bookingId = bookingId;
+            this.scheduledTime = scheduledTime;
+        }
+    }
+
+    private static final class Waiter {
+        final LongPredicate acceptable;
+        final CompletableFuture<Long> future;
+
+        Waiter(LongPredicate acceptable, CompletableFuture<Long> future) {
+            this.acceptable = acceptable;
+            this.future = future;
+        }
+    }
+}
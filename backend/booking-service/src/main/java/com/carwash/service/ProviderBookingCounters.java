@@ -0,0 +1,195 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.ProviderBookingCounter;
+import com.carwash.repository.BookingRepository;
+import com.carwash.repository.ProviderBookingCounterRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking counts per provider and status, kept in the provider_booking_counters table
+ * and mirrored in memory so dashboard reads are a map lookup instead of a range count
+ * The table is written in the caller's transaction; the in-memory adders only move once it commits.
+ * Other instances' writes reach this mirror through the periodic reconcile.
+ */
+@Component
+public class ProviderBookingCounters {
+
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+
+    private final ProviderBookingCounterRepository counterRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+
+    // One adder per status, indexed by ordinal; a non-null slot means the table row exists
+    private final Map<Long, AtomicReferenceArray<LongAdder>> countersByProvider = new ConcurrentHashMap<>();
+
+    public ProviderBookingCounters(ProviderBookingCounterRepository counterRepository,
+                                   BookingRepository bookingRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Current number of bookings a provider has in a status
+     */
+    public long count(Long providerId, Booking.BookingStatus status) {
+        AtomicReferenceArray<LongAdder> counters = countersByProvider.get(providerId);
+        if (counters == null || status == null) {
+            return 0;
+        }
+        LongAdder adder = counters.get(status.ordinal());
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Record a new booking
+     */
+    public void increment(Long providerId, Booking.BookingStatus status) {
+        adjust(providerId, status, 1);
+    }
+
+    /**
+     * Record a removed booking
+     */
+    public void decrement(Long providerId, Booking.BookingStatus status) {
+        adjust(providerId, status, -1);
+    }
+
+    /**
+     * Record a booking moving between providers and/or statuses
+     * No-op when neither changed
+     */
+    public void move(Long fromProviderId, Booking.BookingStatus fromStatus,
+                     Long toProviderId, Booking.BookingStatus toStatus) {
+        if (Objects.equals(fromProviderId, toProviderId) && fromStatus == toStatus) {
+            return;
+        }
+        decrement(fromProviderId, fromStatus);
+        increment(toProviderId, toStatus);
+    }
+
+    /**
+     * Add a delta to one counter within the current transaction
+     * Unassigned bookings are not counted
+     */
+    public void adjust(Long providerId, Booking.BookingStatus status, long delta) {
+        if (providerId == null || status == null || delta == 0) {
+            return;
+        }
+        LongAdder adder = adderFor(providerId, status);
+        counterRepository.increment(providerId, status, delta);
+        TransactionHooks.afterCommit(() -> adder.add(delta));
+    }
+
+    /**
+     * Seed the table and the in-memory counters once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Correct drift between the counters and the bookings table
+     * Corrections are applied as deltas so writes committed meanwhile are not lost;
+     * returns how many counters had drifted
+     */
+    @Scheduled(fixedDelayString = "${booking.counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${booking.counters.reconcile-interval-ms:300000}")
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(tx -> {
+            Map<ProviderBookingCounter.Key, Long> actual = new HashMap<>();
+            for (BookingRepository.ProviderStatusCount row : bookingRepository.countGroupedByProviderAndStatus()) {
+                actual.put(new ProviderBookingCounter.Key(row.getProviderId(), row.getStatus()), row.getBookings());
+            }
+            Map<ProviderBookingCounter.Key, Long> recorded = new HashMap<>();
+            for (BookingRepository.ProviderStatusCount row : counterRepository.findAllCounts()) {
+                recorded.put(new ProviderBookingCounter.Key(row.getProviderId(), row.getStatus()), row.getBookings());
+            }
+
+            // Create every missing row before the first UPDATE so the inserts never wait on our own locks
+            for (ProviderBookingCounter.Key key : actual.keySet()) {
+                if (!recorded.containsKey(key)) {
+                    adderFor(key.getProviderId(), key.getStatus());
+                }
+            }
+            int drifted = 0;
+            Set<ProviderBookingCounter.Key> keys = new HashSet<>(recorded.keySet());
+            keys.addAll(actual.keySet());
+            for (ProviderBookingCounter.Key key : keys) {
+                long drift = actual.getOrDefault(key, 0L) - recorded.getOrDefault(key, 0L);
+                if (drift != 0) {
+                    counterRepository.increment(key.getProviderId(), key.getStatus(), drift);
+                    drifted++;
+                }
+            }
+            return drifted;
+        });
+        reload();
+        return corrected != null ? corrected : 0;
+    }
+
+    /**
+     * Bring the in-memory adders in line with the committed table
+     * Adds the difference rather than resetting, so concurrent commits are only skewed until the next pass
+     */
+    private void reload() {
+        for (BookingRepository.ProviderStatusCount row : counterRepository.findAllCounts()) {
+            LongAdder adder = registerAdder(row.getProviderId(), row.getStatus());
+            adder.add(row.getBookings() - adder.sum());
+        }
+    }
+
+    /**
+     * Adder for a counter, creating its table row on first use
+     * The row is inserted in its own transaction before the caller touches it, so an UPDATE
+     * that matched nothing never leaves a gap lock for the insert to wait on
+     */
+    private LongAdder adderFor(Long providerId, Booking.BookingStatus status) {
+        AtomicReferenceArray<LongAdder> counters = countersByProvider.get(providerId);
+        LongAdder adder = counters != null ? counters.get(status.ordinal()) : null;
+        if (adder != null) {
+            return adder;
+        }
+        ProviderBookingCounter.Key key = new ProviderBookingCounter.Key(providerId, status);
+        try {
+            requiresNew.executeWithoutResult(tx -> {
+                if (!counterRepository.existsById(key)) {
+                    counterRepository.create(providerId, status.name());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the row first
+        }
+        return registerAdder(providerId, status);
+    }
+
+    private LongAdder registerAdder(Long providerId, Booking.BookingStatus status) {
+        AtomicReferenceArray<LongAdder> counters = countersByProvider.computeIfAbsent(providerId,
+            id -> new AtomicReferenceArray<>(STATUSES.length));
+        counters.compareAndSet(status.ordinal(), null, new LongAdder());
+        return counters.get(status.ordinal());
+    }
+}
@@ -0,0 +1,255 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of active bookings per provider
+ * Keeps each provider's slots in a sorted set so overlap checks are O(log n) and never hit the DB
+ */
+@Component
+public class ProviderScheduleIndex {
+    
+    // Only bookings that still occupy the provider take part in conflict checks
+    private static final Set<Booking.BookingStatus> ACTIVE_STATUSES =
+        EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED);
+    
+    // Longest service duration bounds how far back an overlapping slot can start
+    private static final int MAX_DURATION_MINUTES = maxDurationMinutes();
+    
+    private static final Comparator<Slot> SLOT_ORDER =
+        Comparator.comparing((Slot slot) -> slot.start).thenComparing(slot -> slot.bookingId);
+    
+    private final BookingRepository bookingRepository;
+    
+    // All active bookings with a scheduled time, assigned or not
+    private final Map<Long, Slot> slotsByBooking = new ConcurrentHashMap<>();
+    
+    // Assigned slots per provider ordered by start time; each set is its own lock
+    private final Map<Long, NavigableSet<Slot>> slotsByProvider = new ConcurrentHashMap<>();
+    
+    public ProviderScheduleIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+    
+    /**
+     * Build the index from the bookings table
+     * Runs once the application is ready so startup is not blocked on schema creation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        slotsByBooking.clear();
+        slotsByProvider.clear();
+        for (Booking booking : bookingRepository.findByStatusIn(ACTIVE_STATUSES)) {
+            Slot slot = toSlot(booking);
+            if (slot != null) {
+                insert(slot, false);
+            }
+        }
+    }
+    
+    /**
+     * Check whether a provider is already busy during the given service window
+     * The booking being moved can be excluded so it does not conflict with itself
+     */
+    public boolean hasConflict(Long providerId, LocalDateTime start, Booking.ServiceType serviceType,
+                               Long excludeBookingId) {
+        if (providerId == null || start == null || serviceType == null) {
+            return false;
+        }
+        NavigableSet<Slot> slots = slotsByProvider.get(providerId);
+        if (slots == null) {
+            return false;
+        }
+        Slot candidate = new Slot(excludeBookingId, providerId, start,
+            start.plusMinutes(serviceType.getDurationMinutes()));
+        synchronized (slots) {
+            return findConflict(slots, candidate) != null;
+        }
+    }
+    
+    /**
+     * Check whether assigning an indexed booking to a provider would overlap their schedule
+     * Bookings the index does not know (e.g. without a scheduled time) never conflict
+     */
+    public boolean hasConflict(Long bookingId, Long providerId) {
+        Slot slot = slotsByBooking.get(bookingId);
+        if (slot == null || providerId == null) {
+            return false;
+        }
+        NavigableSet<Slot> slots = slotsByProvider.get(providerId);
+        if (slots == null) {
+            return false;
+        }
+        Slot candidate = new Slot(bookingId, providerId, slot.start, slot.end);
+        synchronized (slots) {
+            return findConflict(slots, candidate) != null;
+        }
+    }
+    
+    /**
+     * Record the current state of a booking
+     * Throws IllegalStateException if its provider is already busy; the index is
+     * restored automatically if the surrounding transaction rolls back
+     */
+    public void track(Booking booking) {
+        Slot previous = booking.getId() != null ? slotsByBooking.get(booking.getId()) : null;
+        Slot next = isActive(booking) ? toSlot(booking) : null;
+        
+        if (previous != null) {
+            remove(previous);
+        }
+        if (next != null) {
+            try {
+                // Unchanged windows are not re-checked so edits to other fields never fail on legacy overlaps
+                insert(next, previous == null || !previous.sameWindow(next));
+            } catch (IllegalStateException e) {
+                if (previous != null) {
+                    insert(previous, false);
+                }
+                throw e;
+            }
+        }
+        registerRollback(previous, next);
+    }
+    
+    /**
+     * Drop a booking from the index
+     * Used when the booking is deleted
+     */
+    public void untrack(Long bookingId) {
+        Slot previous = slotsByBooking.get(bookingId);
+        if (previous != null) {
+            remove(previous);
+            registerRollback(previous, null);
+        }
+    }
+    
+    /**
+     * Number of bookings currently indexed
+     */
+    public int size() {
+        return slotsByBooking.size();
+    }
+    
+    private void insert(Slot slot, boolean checkConflicts) {
+        if (slot.providerId != null) {
+            NavigableSet<Slot> slots = slotsByProvider.computeIfAbsent(slot.providerId, id -> new TreeSet<>(SLOT_ORDER));
+            synchronized (slots) {
+                if (checkConflicts) {
+                    Slot conflict = findConflict(slots, slot);
+                    if (conflict != null) {
+                        throw new IllegalStateException("Provider " + slot.providerId
+                            + " already has booking " + conflict.bookingId + " at " + conflict.start);
+                    }
+                }
+                slots.add(slot);
+            }
+        }
+        slotsByBooking.put(slot.bookingId, slot);
+    }
+    
+    private void remove(Slot slot) {
+        slotsByBooking.remove(slot.bookingId, slot);
+        if (slot.providerId != null) {
+            NavigableSet<Slot> slots = slotsByProvider.get(slot.providerId);
+            if (slots != null) {
+                synchronized (slots) {
+                    slots.remove(slot);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Find a slot overlapping the candidate window
+     * Only slots starting within one max duration before the window can overlap it
+     */
+    private static Slot findConflict(NavigableSet<Slot> slots, Slot candidate) {
+        Slot from = new Slot(Long.MIN_VALUE, null, candidate.start.minusMinutes(MAX_DURATION_MINUTES), null);
+        Slot to = new Slot(Long.MIN_VALUE, null, candidate.end, null);
+        for (Slot slot : slots.subSet(from, true, to, false)) {
+            if (!slot.bookingId.equals(candidate.bookingId) && slot.end.isAfter(candidate.start)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+    
+    private void registerRollback(Slot previous, Slot next) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    if (next != null) {
+                        remove(next);
+                    }
+                    if (previous != null) {
+                        insert(previous, false);
+                    }
+                }
+            }
+        });
+    }
+    
+    private static boolean isActive(Booking booking) {
+        return booking.getStatus() != null && ACTIVE_STATUSES.contains(booking.getStatus());
+    }
+    
+    private static Slot toSlot(Booking booking) {
+        if (booking.getId() == null || booking.getScheduledTime() == null || booking.getServiceType() == null) {
+            return null;
+        }
+        LocalDateTime start = booking.getScheduledTime();
+        return new Slot(booking.getId(), booking.getProviderId(), start,
+            start.plusMinutes(booking.getServiceType().getDurationMinutes()));
+    }
+    
+    private static int maxDurationMinutes() {
+        int max = 0;
+        for (Booking.ServiceType type : Booking.ServiceType.values()) {
+            max = Math.max(max, type.getDurationMinutes());
+        }
+        return max;
+    }
+    
+    /**
+     * Time range a booking occupies its provider
+     */
+    static final class Slot {
+        final Long bookingId;
+        final Long providerId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        
+        Slot(Long bookingId, Long providerId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.providerId = providerId;
+            this.start = start;
+            this.end = end;
+        }
+        
+        boolean sameWindow(Slot other) {
+            return Objects.equals(providerId, other.providerId)
+                && start.equals(other.start) && end.equals(other.end);
+        }
+    }
+}
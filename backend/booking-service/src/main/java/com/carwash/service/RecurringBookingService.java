@@ -0,0 +1,195 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.RecurringBooking;
+import com.carwash.repository.RecurringBookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recurring bookings: the rule is stored once and concrete bookings are created lazily
+ * A materializer keeps each active rule's bookings created a rolling window ahead, so a weekly
+ * rule holds a handful of rows at a time instead of years of them. Each rule is extended in its
+ * own transaction together with its bookings, so a crash never leaves one without the other.
+ * A rule whose window has reached its end date has no occurrences left to create and turns inactive.
+ */
+@Service
+public class RecurringBookingService {
+
+    // Longest gap between two occurrences of a rule
+    public static final int MAX_INTERVAL_WEEKS = 52;
+
+    private static final String RECURRENCE_NOT_FOUND_MSG = "Recurring booking not found with id: ";
+
+    private final RecurringBookingRepository recurrenceRepository;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowDays;
+    private final int batchSize;
+
+    public RecurringBookingService(RecurringBookingRepository recurrenceRepository, BookingService bookingService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${booking.recurrence.window-days:28}") int windowDays,
+                                   @Value("${booking.recurrence.batch-size:100}") int batchSize) {
+        this.recurrenceRepository = recurrenceRepository;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowDays = windowDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Store a new rule and create its bookings for the current window
+     * Occurrences that clash with the provider's other bookings are skipped
+     */
+    public RecurringBooking create(RecurringBooking recurrence) {
+        validate(recurrence);
+        recurrence.setId(null);
+        recurrence.setActive(true);
+        recurrence.setMaterializedThrough(recurrence.getStartDate().minusDays(1));
+        return transactionTemplate.execute(tx -> {
+            RecurringBooking saved = recurrenceRepository.save(recurrence);
+            materialize(saved, windowEnd());
+            return recurrenceRepository.findById(saved.getId()).orElse(saved);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RecurringBooking> get(Long id) {
+        return recurrenceRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringBooking> findByCustomer(Long customerId) {
+        return recurrenceRepository.findByCustomerIdOrderByIdAsc(customerId);
+    }
+
+    /**
+     * Stop a rule and cancel its future occurrences that are still open
+     * Past and finished occurrences are left alone; stopping twice is harmless.
+     * The open ones are cancelled with one locking SELECT and one UPDATE
+     */
+    public RecurringBooking stop(Long id) {
+        return transactionTemplate.execute(tx -> {
+            if (!recurrenceRepository.existsById(id)) {
+                throw new IllegalArgumentException(RECURRENCE_NOT_FOUND_MSG + id);
+            }
+            recurrenceRepository.deactivate(id);
+            bookingService.cancelRecurrenceOccurrences(id, LocalDateTime.now());
+            return recurrenceRepository.findById(id).orElseThrow();
+        });
+    }
+
+    /**
+     * Extend every active rule's bookings to the end of the rolling window
+     * Rules are read in keyset pages of batch-size; returns the number of bookings created
+     */
+    @Scheduled(fixedDelayString = "${booking.recurrence.interval-ms:3600000}")
+    public int materializeDue() {
+        LocalDate through = windowEnd();
+        int created = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = recurrenceRepository.findDueIds(through, afterId, PageRequest.of(0, batchSize));
+            for (Long id : ids) {
+                Integer count = transactionTemplate.execute(tx -> recurrenceRepository.findById(id)
+                    .map(recurrence -> materialize(recurrence, through))
+                    .orElse(0));
+                created += count != null ? count : 0;
+            }
+            if (ids.size() < batchSize) {
+                return created;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Create the occurrences after the rule's materialized date up to and including through
+     * Must run inside a transaction; the conditional advance keeps two instances from both creating them.
+     * Reaching the end date deactivates the rule, so the materializer stops picking it up
+     */
+    private int materialize(RecurringBooking recurrence, LocalDate through) {
+        LocalDate from = recurrence.getMaterializedThrough();
+        if (!recurrence.isActive() || !from.isBefore(through)) {
+            return 0;
+        }
+        if (recurrenceRepository.advance(recurrence.getId(), from, through) == 0) {
+            return 0;
+        }
+        if (recurrence.getEndDate() != null && !through.isBefore(recurrence.getEndDate())) {
+            recurrenceRepository.deactivate(recurrence.getId());
+        }
+        List<Booking> occurrences = occurrences(recurrence, from.plusDays(1), through, LocalDateTime.now());
+        if (occurrences.isEmpty()) {
+            return 0;
+        }
+        return bookingService.createBookings(occurrences).getCreated();
+    }
+
+    /**
+     * Bookings for the rule's occurrences on dates in [from, through], skipping those not after now
+     */
+    static List<Booking> occurrences(RecurringBooking recurrence, LocalDate from, LocalDate through,
+                                     LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>();
+        LocalDate last = recurrence.getEndDate() != null && recurrence.getEndDate().isBefore(through)
+            ? recurrence.getEndDate() : through;
+        for (LocalDate date = recurrence.getStartDate().with(TemporalAdjusters.nextOrSame(recurrence.getDayOfWeek()));
+             !date.isAfter(last); date = date.plusWeeks(recurrence.getIntervalWeeks())) {
+            LocalDateTime scheduledTime = date.atTime(recurrence.getTimeOfDay());
+            if (date.isBefore(from) || !scheduledTime.isAfter(now)) {
+                continue;
+            }
+            Booking booking = new Booking();
+            booking.setCustomerId(recurrence.getCustomerId());
+            booking.setProviderId(recurrence.getProviderId());
+            booking.setServiceType(recurrence.getServiceType());
+            booking.setLocation(recurrence.getLocation());
+            booking.setLatitude(recurrence.getLatitude());
+            booking.setLongitude(recurrence.getLongitude());
+            booking.setScheduledTime(scheduledTime);
+            booking.setRecurrenceId(recurrence.getId());
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private LocalDate windowEnd() {
+        return LocalDate.now().plusDays(windowDays);
+    }
+
+    private static void validate(RecurringBooking recurrence) {
+        if (recurrence.getCustomerId() == null) {
+            throw new IllegalArgumentException("Customer ID is required");
+        }
+        if (recurrence.getServiceType() == null) {
+            throw new IllegalArgumentException("Service type is required");
+        }
+        if (recurrence.getDayOfWeek() == null || recurrence.getTimeOfDay() == null) {
+            throw new IllegalArgumentException("Day of week and time of day are required");
+        }
+        if (recurrence.getStartDate() == null || recurrence.getStartDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Start date is required and cannot be in the past");
+        }
+        if (recurrence.getEndDate() != null && recurrence.getEndDate().isBefore(recurrence.getStartDate())) {
+            throw new IllegalArgumentException("End date cannot be before the start date");
+        }
+        if (recurrence.getIntervalWeeks() < 1 || recurrence.getIntervalWeeks() > MAX_INTERVAL_WEEKS) {
+            throw new IllegalArgumentException("Interval must be between 1 and " + MAX_INTERVAL_WEEKS + " weeks");
+        }
+        BookingService.validateCoordinates(recurrence.getLatitude(), recurrence.getLongitude());
+    }
+}
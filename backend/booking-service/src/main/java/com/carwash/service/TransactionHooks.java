@@ -0,0 +1,29 @@
+package com.carwash.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for in-memory state that must follow the database transaction
+ */
+final class TransactionHooks {
+    
+    private TransactionHooks() {}
+    
+    /**
+     * Run the action once the current transaction commits, or right away outside one
+     * Nothing runs on rollback
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.carwash.benchmark;
+
+import com.carwash.entity.Booking;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark for the booking finders with and without the entity indexes
+ * Seeds an H2 database in MySQL mode, times every finder, adds the indexes declared on
+ * {@link Booking} and times them again
+ *
+ * Run with: mvn -Pbenchmark test -Dbench.rows=1000000
+ */
+class BookingIndexBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 500_000);
+    private static final int CUSTOMERS = Math.max(1, ROWS / 20);
+    private static final int PROVIDERS = Math.max(1, ROWS / 500);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 50);
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2022, 1, 1, 8, 0);
+
+    // Same SQL Hibernate issues for each repository method
+    private static final Map<String, String> FINDERS = new LinkedHashMap<>();
+
+    static {
+        FINDERS.put("findByCustomerId", "SELECT * FROM bookings WHERE customer_id = ?");
+        FINDERS.put("findByProviderId", "SELECT * FROM bookings WHERE provider_id = ?");
+        // What the dispatch queue loads at startup
+        FINDERS.put("findByStatus", "SELECT * FROM bookings WHERE status = 'PENDING'");
+        FINDERS.put("countByProviderIdAndStatus",
+            "SELECT COUNT(*) FROM bookings WHERE provider_id = ? AND status = 'COMPLETED'");
+        FINDERS.put("findByCustomerIdOrderByScheduledTimeAscIdAsc",
+            "SELECT * FROM bookings WHERE customer_id = ? ORDER BY customer_id, scheduled_time, id LIMIT " + (PAGE_SIZE + 1));
+        FINDERS.put("findStatusPageAfter",
+            "SELECT * FROM bookings WHERE status = 'PENDING'"
+                + " AND scheduled_time >= ? AND (scheduled_time > ? OR id > 0)"
+                + " ORDER BY status, scheduled_time, id LIMIT " + (PAGE_SIZE + 1));
+    }
+
+    @Test
+    void benchmarkFindersBeforeAndAfterIndexes() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:booking_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "")) {
+            createTable(connection);
+            seed(connection);
+
+            Map<String, double[]> before = timeFinders(connection);
+            createEntityIndexes(connection);
+            Map<String, double[]> after = timeFinders(connection);
+
+            System.out.printf("%nBooking finder latency over %,d rows (%d iterations, ms)%n", ROWS, ITERATIONS);
+            System.out.printf("%-46s %10s %10s %10s %10s  %s%n",
+                "finder", "p50 before", "p95 before", "p50 after", "p95 after", "plan after");
+            for (Map.Entry<String, String> finder : FINDERS.entrySet()) {
+                double[] b = before.get(finder.getKey());
+                double[] a = after.get(finder.getKey());
+                System.out.printf("%-46s %10.3f %10.3f %10.3f %10.3f  %s%n",
+                    finder.getKey(), b[0], b[1], a[0], a[1], indexUsed(connection, finder.getValue()));
+            }
+
+            for (String sql : FINDERS.values()) {
+                assertNotEquals("table scan", indexUsed(connection, sql), sql);
+            }
+        }
+    }
+
+    private void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bookings");
+            statement.execute("CREATE TABLE bookings ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, customer_id BIGINT, provider_id BIGINT, "
+                + "service_type VARCHAR(32), status VARCHAR(32), location VARCHAR(255), "
+                + "scheduled_time TIMESTAMP, price DOUBLE, created_at TIMESTAMP, recurrence_id BIGINT)");
+        }
+    }
+
+    private void seed(Connection connection) throws SQLException {
+        Random random = new Random(42);
+        Booking.ServiceType[] types = Booking.ServiceType.values();
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bookings (customer_id, provider_id, service_type, status, location, "
+                    + "scheduled_time, price, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime scheduled = EPOCH.plusMinutes(30L * random.nextInt(365 * 3 * 24));
+                insert.setLong(1, 1 + random.nextInt(CUSTOMERS));
+                insert.setLong(2, 1 + random.nextInt(PROVIDERS));
+                insert.setString(3, types[random.nextInt(types.length)].name());
+                insert.setString(4, statuses[random.nextInt(statuses.length)].name());
+                insert.setString(5, "Bay " + random.nextInt(100));
+                insert.setTimestamp(6, Timestamp.valueOf(scheduled));
+                insert.setDouble(7, 100 + random.nextInt(400));
+                insert.setTimestamp(8, Timestamp.valueOf(scheduled.minusDays(2)));
+                insert.addBatch();
+                if (i % 5_000 == 4_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * Issue the DDL for every index declared on the entity
+     * Keeps the benchmark in step with the mapping instead of a hand-written copy
+     */
+    private void createEntityIndexes(Connection connection) throws SQLException {
+        Table table = Booking.class.getAnnotation(Table.class);
+        try (Statement statement = connection.createStatement()) {
+            for (Index index : table.indexes()) {
+                statement.execute("CREATE INDEX " + index.name() + " ON " + table.name()
+                    + " (" + index.columnList() + ")");
+            }
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private Map<String, double[]> timeFinders(Connection connection) throws SQLException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        Random random = new Random(7);
+        for (Map.Entry<String, String> finder : FINDERS.entrySet()) {
+            try (PreparedStatement query = connection.prepareStatement(finder.getValue())) {
+                List<Double> samples = new ArrayList<>();
+                for (int i = 0; i < ITERATIONS + 5; i++) {
+                    bind(query, finder.getKey(), random);
+                    long start = System.nanoTime();
+                    try (ResultSet rows = query.executeQuery()) {
+                        while (rows.next()) {
+                            rows.getLong(1);
+                        }
+                    }
+                    // First iterations warm up the query cache and JIT
+                    if (i >= 5) {
+                        samples.add((System.nanoTime() - start) / 1_000_000.0);
+                    }
+                }
+                results.put(finder.getKey(), percentiles(samples));
+            }
+        }
+        return results;
+    }
+
+    private void bind(PreparedStatement query, String finder, Random random) throws SQLException {
+        if (finder.equals("findByStatus")) {
+            // The status is part of the SQL
+            return;
+        }
+        if (finder.startsWith("findStatus")) {
+            // Seek to a random point in the schedule, as a client paging deep into the list would
+            Timestamp after = Timestamp.valueOf(EPOCH.plusMinutes(30L * random.nextInt(365 * 3 * 24)));
+            query.setTimestamp(1, after);
+            query.setTimestamp(2, after);
+        } else if (finder.contains("Customer")) {
+            query.setLong(1, 1 + random.nextInt(CUSTOMERS));
+        } else {
+            query.setLong(1, 1 + random.nextInt(PROVIDERS));
+        }
+    }
+
+    private String indexUsed(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setTimestamp(i, Timestamp.valueOf(EPOCH));
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                String text = plan.getString(1);
+                for (Index index : Booking.class.getAnnotation(Table.class).indexes()) {
+                    if (text.toUpperCase().contains(index.name().toUpperCase())) {
+                        return index.name();
+                    }
+                }
+                return text.toUpperCase().contains("PRIMARY_KEY") ? "primary key" : "table scan";
+            }
+        }
+    }
+
+    private static double[] percentiles(List<Double> samples) {
+        double[] sorted = samples.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        return new double[] {
+            sorted[sorted.length / 2],
+            sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)]
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.carwash.benchmark;
+
+import com.carwash.config.BookingPartitionMigration;
+import com.carwash.entity.Booking;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * "Today's bookings" on a multi-year dataset, with and without monthly partitions
+ * Loads the same rows into an unpartitioned copy and into a table partitioned with the DDL
+ * from BookingPartitionMigration, then times the range query and prints which partitions
+ * EXPLAIN reports, first without and then with the idx_bookings_time index.
+ * Needs a MySQL schema it may drop tables in; H2 has no partitioning.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=BookingPartitionBenchmark
+ *   -Dbench.mysql.url=jdbc:mysql://localhost:3306/carwash_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true
+ *   -Dbench.mysql.user=root -Dbench.mysql.password=... -Dbench.rows=2000000
+ */
+class BookingPartitionBenchmark {
+
+    private static final String URL = System.getProperty("bench.mysql.url");
+    private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 50);
+    private static final int YEARS = 3;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final String FLAT = "bookings_flat";
+    private static final String PARTITIONED = "bookings";
+    private static final String TODAY_SQL = "SELECT * FROM %s WHERE scheduled_time >= ? AND scheduled_time < ?";
+
+    @Test
+    void benchmarkTodaysBookingsWithPartitionPruning() throws SQLException {
+        assumeTrue(URL != null, "Set -Dbench.mysql.url to run against MySQL");
+        try (Connection connection = DriverManager.getConnection(URL,
+                System.getProperty("bench.mysql.user", "root"), System.getProperty("bench.mysql.password", ""))) {
+            createTables(connection);
+            seed(connection);
+
+            LocalDate today = EPOCH.toLocalDate().plusYears(YEARS - 1).plusMonths(7).plusDays(14);
+            System.out.printf("%n\"Today's bookings\" (%s) over %,d rows spanning %d years (%d iterations, ms)%n",
+                today, ROWS, YEARS, ITERATIONS);
+            System.out.printf("%-34s %10s %10s %10s  %s%n", "table", "p50", "p95", "rows", "partitions");
+
+            report(connection, "unpartitioned", FLAT, today);
+            report(connection, "monthly partitions", PARTITIONED, today);
+            String partitions = explain(connection, PARTITIONED, today)[0];
+
+            createTimeIndex(connection, FLAT);
+            createTimeIndex(connection, PARTITIONED);
+            report(connection, "unpartitioned + idx_bookings_time", FLAT, today);
+            report(connection, "partitions + idx_bookings_time", PARTITIONED, today);
+
+            assertEquals(BookingPartitionMigration.partitionName(YearMonth.from(today)), partitions);
+        }
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        String columns = "(id BIGINT NOT NULL, customer_id BIGINT, provider_id BIGINT, "
+            + "service_type VARCHAR(32), status VARCHAR(32), location VARCHAR(255), "
+            + "scheduled_time DATETIME(6) NOT NULL, price DOUBLE, created_at DATETIME(6), ";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + FLAT);
+            statement.execute("DROP TABLE IF EXISTS " + PARTITIONED);
+            statement.execute("CREATE TABLE " + FLAT + " " + columns + "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE " + PARTITIONED + " " + columns + "PRIMARY KEY (id, scheduled_time))");
+            YearMonth first = YearMonth.from(EPOCH);
+            statement.execute(BookingPartitionMigration.partitionByMonthDdl(first, first.plusYears(YEARS).minusMonths(1)));
+        }
+    }
+
+    private void seed(Connection connection) throws SQLException {
+        Random random = new Random(42);
+        Booking.ServiceType[] types = Booking.ServiceType.values();
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        int slots = 365 * YEARS * 24 * 2;
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + FLAT + " (id, customer_id, provider_id, service_type, status, location, "
+                    + "scheduled_time, price, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime scheduled = EPOCH.plusMinutes(30L * random.nextInt(slots));
+                insert.setLong(1, i + 1L);
+                insert.setLong(2, 1 + random.nextInt(Math.max(1, ROWS / 20)));
+                insert.setLong(3, 1 + random.nextInt(Math.max(1, ROWS / 500)));
+                insert.setString(4, types[random.nextInt(types.length)].name());
+                insert.setString(5, statuses[random.nextInt(statuses.length)].name());
+                insert.setString(6, "Bay " + random.nextInt(100));
+                insert.setTimestamp(7, Timestamp.valueOf(scheduled));
+                insert.setDouble(8, 100 + random.nextInt(400));
+                insert.setTimestamp(9, Timestamp.valueOf(scheduled.minusDays(2)));
+                insert.addBatch();
+                if (i % 5_000 == 4_999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + PARTITIONED + " SELECT * FROM " + FLAT);
+            statement.execute("ANALYZE TABLE " + FLAT + ", " + PARTITIONED);
+        }
+    }
+
+    /**
+     * Same definition as the entity's idx_bookings_time
+     */
+    private void createTimeIndex(Connection connection, String table) throws SQLException {
+        Index index = Arrays.stream(Booking.class.getAnnotation(Table.class).indexes())
+            .filter(candidate -> candidate.name().equals("idx_bookings_time"))
+            .findFirst()
+            .orElseThrow();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + index.name() + " ON " + table + " (" + index.columnList() + ")");
+            statement.execute("ANALYZE TABLE " + table);
+        }
+    }
+
+    private void report(Connection connection, String label, String table, LocalDate today) throws SQLException {
+        double[] latency = time(connection, table, today);
+        String[] plan = explain(connection, table, today);
+        System.out.printf("%-34s %10.3f %10.3f %10s  %s%n", label, latency[0], latency[1], plan[1], plan[0]);
+    }
+
+    private double[] time(Connection connection, String table, LocalDate today) throws SQLException {
+        List<Double> samples = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(String.format(TODAY_SQL, table))) {
+            for (int i = 0; i < ITERATIONS + 5; i++) {
+                bind(query, today);
+                long start = System.nanoTime();
+                try (ResultSet rows = query.executeQuery()) {
+                    while (rows.next()) {
+                        rows.getLong(1);
+                    }
+                }
+                // First iterations warm up the buffer pool and JIT
+                if (i >= 5) {
+                    samples.add((System.nanoTime() - start) / 1_000_000.0);
+                }
+            }
+        }
+        double[] sorted = samples.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        return new double[] {
+            sorted[sorted.length / 2],
+            sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)]
+        };
+    }
+
+    /**
+     * Partitions read and estimated rows examined, from MySQL's EXPLAIN
+     */
+    private String[] explain(Connection connection, String table, LocalDate today) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + String.format(TODAY_SQL, table))) {
+            bind(explain, today);
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                String partitions = plan.getString("partitions");
+                return new String[] {partitions != null ? partitions : "-", plan.getString("rows")};
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement query, LocalDate today) throws SQLException {
+        query.setTimestamp(1, Timestamp.valueOf(today.atStartOfDay()));
+        query.setTimestamp(2, Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+    }
+}
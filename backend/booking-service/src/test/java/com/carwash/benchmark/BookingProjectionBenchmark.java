@@ -0,0 +1,144 @@
+package com.carwash.benchmark;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency and allocation of a full list response, entities versus BookingSummary projections
+ * Each sample loads every row in a fresh transaction, the projection through the keyset page query
+ * the list endpoints use with one page spanning the table, and serialises the result to JSON. Allocation is the bytes the measuring thread allocated for one sample.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=BookingProjectionBenchmark -Dbench.rows=10000
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingProjectionBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 30);
+    private static final int WARMUP = 5;
+    private static final Pageable ALL = PageRequest.of(0, ROWS);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void benchmarkListResponseEntitiesVersusSummaries() {
+        seed();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        double[] managed = measure(() -> readWrite.execute(tx -> serialize(bookingRepository.findAll())));
+        double[] readOnlyEntities = measure(() -> readOnly.execute(tx -> serialize(bookingRepository.findAll())));
+        double[] summaries = measure(() -> readOnly.execute(tx -> serialize(bookingRepository.findAllByOrderByIdAsc(ALL))));
+
+        System.out.printf("%nFull booking list over %,d rows (%d iterations)%n", ROWS, ITERATIONS);
+        System.out.printf("%-30s %10s %10s %14s %12s%n", "query", "p50 ms", "p95 ms", "alloc/request", "JSON bytes");
+        print("findAll, read-write tx", managed);
+        print("findAll, readOnly tx", readOnlyEntities);
+        print("summary pages, readOnly tx", summaries);
+
+        assertEquals(ROWS, bookingRepository.findAllByOrderByIdAsc(ALL).size());
+        assertTrue(summaries[2] < managed[2], "projection should allocate less than managed entities");
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        Booking.ServiceType[] types = Booking.ServiceType.values();
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            List<Booking> batch = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                Booking booking = new Booking();
+                booking.setCustomerId(1L + random.nextInt(Math.max(1, ROWS / 20)));
+                booking.setProviderId(1L + random.nextInt(Math.max(1, ROWS / 500)));
+                booking.setServiceType(types[random.nextInt(types.length)]);
+                booking.setStatus(statuses[random.nextInt(statuses.length)]);
+                booking.setLocation("Bay " + random.nextInt(100));
+                booking.setScheduledTime(EPOCH.plusMinutes(30L * random.nextInt(365 * 24)));
+                booking.setPrice(100.0 + random.nextInt(400));
+                batch.add(booking);
+            }
+            bookingRepository.saveAll(batch);
+        });
+    }
+
+    /**
+     * p50 and p95 latency in ms, median bytes allocated per request and response size
+     */
+    private double[] measure(Supplier<Integer> request) {
+        long threadId = Thread.currentThread().getId();
+        List<Double> latencies = new ArrayList<>();
+        List<Double> allocations = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            size = request.get();
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            // First iterations warm up the JIT and the query plan cache
+            if (i >= WARMUP) {
+                latencies.add(elapsed / 1_000_000.0);
+                allocations.add((double) allocated);
+            }
+        }
+        double[] latency = percentiles(latencies);
+        return new double[] { latency[0], latency[1], percentiles(allocations)[0], size };
+    }
+
+    private int serialize(List<?> rows) {
+        try {
+            return json.writeValueAsBytes(rows).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void print(String label, double[] result) {
+        System.out.printf("%-30s %10.2f %10.2f %11.1f MB %12.0f%n",
+            label, result[0], result[1], result[2] / (1024 * 1024), result[3]);
+    }
+
+    private static double[] percentiles(List<Double> samples) {
+        double[] sorted = samples.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        return new double[] {
+            sorted[sorted.length / 2],
+            sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)]
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.carwash.config;
+
+import com.carwash.entity.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIdSequenceInitializerTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:seq_init_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY)");
+    }
+
+    @Test
+    void testMovesSequenceTablePastExistingIds() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE bookings_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO bookings_seq VALUES (1)");
+        jdbcTemplate.update("INSERT INTO bookings VALUES (1000)");
+
+        new BookingIdSequenceInitializer(dataSource).afterPropertiesSet();
+
+        Long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM bookings_seq", Long.class);
+        assertEquals(1001 + Booking.ID_ALLOCATION_SIZE, nextVal);
+    }
+
+    @Test
+    void testLeavesSequenceAheadOfIdsUntouched() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE bookings_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO bookings_seq VALUES (5000)");
+        jdbcTemplate.update("INSERT INTO bookings VALUES (10)");
+
+        new BookingIdSequenceInitializer(dataSource).afterPropertiesSet();
+
+        assertEquals(5000L, jdbcTemplate.queryForObject("SELECT next_val FROM bookings_seq", Long.class));
+    }
+
+    @Test
+    void testNoSequenceTable() {
+        assertDoesNotThrow(() -> new BookingIdSequenceInitializer(dataSource).afterPropertiesSet());
+    }
+}
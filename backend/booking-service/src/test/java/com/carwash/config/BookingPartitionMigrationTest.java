@@ -0,0 +1,45 @@
+package com.carwash.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingPartitionMigrationTest {
+
+    @Test
+    void testPartitionByMonthDdl() {
+        String ddl = BookingPartitionMigration.partitionByMonthDdl(YearMonth.of(2023, 11), YearMonth.of(2024, 1));
+
+        assertEquals("ALTER TABLE bookings PARTITION BY RANGE COLUMNS(scheduled_time) ("
+            + "PARTITION p202311 VALUES LESS THAN ('2023-12-01 00:00:00'), "
+            + "PARTITION p202312 VALUES LESS THAN ('2024-01-01 00:00:00'), "
+            + "PARTITION p202401 VALUES LESS THAN ('2024-02-01 00:00:00'), "
+            + "PARTITION pmax VALUES LESS THAN (MAXVALUE))", ddl);
+    }
+
+    @Test
+    void testExtendDdlSplitsOverflowPartition() {
+        String ddl = BookingPartitionMigration.extendDdl(YearMonth.of(2024, 2), YearMonth.of(2024, 2));
+
+        assertEquals("ALTER TABLE bookings REORGANIZE PARTITION pmax INTO ("
+            + "PARTITION p202402 VALUES LESS THAN ('2024-03-01 00:00:00'), "
+            + "PARTITION pmax VALUES LESS THAN (MAXVALUE))", ddl);
+    }
+
+    @Test
+    void testSkipsDatabasesOtherThanMySql() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:partition_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, scheduled_time TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO bookings VALUES (1, NULL)");
+
+        new BookingPartitionMigration(dataSource, true, 3).afterPropertiesSet();
+
+        assertNull(jdbcTemplate.queryForObject("SELECT scheduled_time FROM bookings WHERE id = 1", Object.class));
+    }
+}
@@ -0,0 +1,97 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BookingAggregate;
+import com.carwash.dto.RevenueRow;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingColumnStore;
+import com.carwash.service.BookingRevenueRollups;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingAnalyticsController.class)
+class BookingAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingRevenueRollups revenueRollups;
+
+    @MockBean
+    private BookingColumnStore columnStore;
+
+    @Test
+    void testGetRevenue_GroupedByDayAndServiceType() throws Exception {
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        when(revenueRollups.revenue(day, day.plusDays(7), EnumSet.of(
+                BookingRevenueRollups.Dimension.DAY, BookingRevenueRollups.Dimension.SERVICE_TYPE)))
+                .thenReturn(List.of(new RevenueRow(day, Booking.ServiceType.BASIC_WASH, null, 2, 40.0)));
+
+        mockMvc.perform(get("/api/bookings/analytics/revenue")
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-08")
+                        .param("groupBy", "day,serviceType"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].serviceType").value("BASIC_WASH"))
+                .andExpect(jsonPath("$[0].completedBookings").value(2))
+                .andExpect(jsonPath("$[0].revenue").value(40.0));
+    }
+
+    @Test
+    void testGetRevenue_UnknownDimension() throws Exception {
+        mockMvc.perform(get("/api/bookings/analytics/revenue")
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-08")
+                        .param("groupBy", "customer"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(revenueRollups);
+    }
+
+    @Test
+    void testGetRevenue_BadRange() throws Exception {
+        when(revenueRollups.revenue(any(), any(), any())).thenThrow(new IllegalArgumentException("range"));
+
+        mockMvc.perform(get("/api/bookings/analytics/revenue")
+                        .param("from", "2030-01-08")
+                        .param("to", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetBookingAggregates_FilteredAndGrouped() throws Exception {
+        BookingAggregate aggregate = new BookingAggregate();
+        aggregate.setHourOfDay(9);
+        aggregate.setBookings(3);
+        when(columnStore.aggregate(any(), eq(EnumSet.of(BookingColumnStore.Dimension.HOUR_OF_DAY)), eq(10.0)))
+                .thenReturn(List.of(aggregate));
+
+        mockMvc.perform(get("/api/bookings/analytics/bookings")
+                        .param("groupBy", "hourOfDay")
+                        .param("status", "PENDING", "ACCEPTED")
+                        .param("from", "2030-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hourOfDay").value(9))
+                .andExpect(jsonPath("$[0].bookings").value(3));
+    }
+
+    @Test
+    void testGetBookingAggregates_TooManyGroups() throws Exception {
+        when(columnStore.aggregate(any(), any(), anyDouble())).thenThrow(new IllegalArgumentException("groups"));
+
+        mockMvc.perform(get("/api/bookings/analytics/bookings")
+                        .param("groupBy", "status,serviceType,hourOfDay,dayOfWeek,priceBucket"))
+                .andExpect(status().isBadRequest());
+    }
+}
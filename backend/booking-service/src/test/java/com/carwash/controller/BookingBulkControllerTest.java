@@ -0,0 +1,92 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BulkTransitionResponse;
+import com.carwash.dto.BulkTransitionResult;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingBulkController.class)
+class BookingBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Test
+    void testCancelPendingBookingsOfCustomer() throws Exception {
+        when(bookingService.cancelPendingBookingsOfCustomer(100L)).thenReturn(new BulkTransitionResponse(
+                Booking.BookingStatus.CANCELLED,
+                List.of(BulkTransitionResult.transitioned(1L, Booking.BookingStatus.PENDING))));
+
+        mockMvc.perform(post("/api/bookings/bulk/customer/100/cancel-pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(1))
+                .andExpect(jsonPath("$.results[0].bookingId").value(1))
+                .andExpect(jsonPath("$.results[0].previousStatus").value("PENDING"));
+    }
+
+    @Test
+    void testCancelProviderBookingsInRange() throws Exception {
+        when(bookingService.cancelProviderBookingsInRange(eq(7L), any(), any())).thenReturn(
+                new BulkTransitionResponse(Booking.BookingStatus.CANCELLED, List.of()));
+
+        mockMvc.perform(post("/api/bookings/bulk/provider/7/cancel")
+                        .param("from", "2030-01-01T00:00:00").param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(0));
+        verify(bookingService).cancelProviderBookingsInRange(7L, LocalDateTime.of(2030, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 1, 2, 0, 0));
+    }
+
+    @Test
+    void testCancelProviderBookingsInRange_InvalidRange() throws Exception {
+        when(bookingService.cancelProviderBookingsInRange(eq(7L), any(), any()))
+                .thenThrow(new IllegalArgumentException("Range start must be before its end"));
+
+        mockMvc.perform(post("/api/bookings/bulk/provider/7/cancel")
+                        .param("from", "2030-01-02T00:00:00").param("to", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testTransitionStatuses_ReportsEachBooking() throws Exception {
+        when(bookingService.transitionStatuses(List.of(1L, 2L), Booking.BookingStatus.COMPLETED)).thenReturn(
+                new BulkTransitionResponse(Booking.BookingStatus.COMPLETED, List.of(
+                        BulkTransitionResult.transitioned(1L, Booking.BookingStatus.ACCEPTED),
+                        BulkTransitionResult.rejected(2L, Booking.BookingStatus.PENDING,
+                                "Cannot change booking status from PENDING to COMPLETED"))));
+
+        mockMvc.perform(post("/api/bookings/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(1))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("REJECTED"));
+    }
+
+    @Test
+    void testTransitionStatuses_EmptyList() throws Exception {
+        when(bookingService.transitionStatuses(anyList(), any()))
+                .thenThrow(new IllegalArgumentException("At least one booking ID is required"));
+
+        mockMvc.perform(post("/api/bookings/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[],\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
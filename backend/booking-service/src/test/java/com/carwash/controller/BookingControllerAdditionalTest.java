@@ -1,5 +1,7 @@
 package com.carwash.controller;
 
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
 import com.carwash.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -61,15 +63,15 @@ class BookingControllerAdditionalTest {
     }
 
     @Test
-    void testGetAllBookings_EmptyList() throws Exception {
-        when(bookingService.getAllBookings()).thenReturn(Collections.emptyList());
+    void testGetBookings_EmptyPage() throws Exception {
+        when(bookingService.getBookingsPage(null, 20)).thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
 
-        verify(bookingService).getAllBookings();
+        verify(bookingService).getBookingsPage(null, 20);
     }
 
     @Test
@@ -84,42 +86,39 @@ class BookingControllerAdditionalTest {
 
     @Test
     void testGetBookingsByCustomerId_Success() throws Exception {
-        when(bookingService.getBookingsByCustomerId(100L))
-            .thenReturn(List.of(testBooking));
+        when(bookingService.getBookingsPageByCustomerId(100L, null, 20))
+            .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/customer/100"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].customerId").value(100));
+                .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(bookingService).getBookingsByCustomerId(100L);
+        verify(bookingService).getBookingsPageByCustomerId(100L, null, 20);
     }
 
     @Test
     void testGetBookingsByProviderId_Success() throws Exception {
-        testBooking.setProviderId(200L);
-        when(bookingService.getBookingsByProviderId(200L))
-            .thenReturn(List.of(testBooking));
+        when(bookingService.getBookingsPageByProviderId(200L, null, 20))
+            .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/provider/200"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].providerId").value(200));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"));
 
-        verify(bookingService).getBookingsByProviderId(200L);
+        verify(bookingService).getBookingsPageByProviderId(200L, null, 20);
     }
 
     @Test
     void testGetBookingsByStatus_Success() throws Exception {
-        when(bookingService.getBookingsByStatus(Booking.BookingStatus.PENDING))
-            .thenReturn(List.of(testBooking));
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 20))
+            .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/status/PENDING"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].status").value("PENDING"));
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"));
 
-        verify(bookingService).getBookingsByStatus(Booking.BookingStatus.PENDING);
+        verify(bookingService).getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 20);
     }
 
     @Test
@@ -228,41 +227,38 @@ class BookingControllerAdditionalTest {
 
     @Test
     void testGetBookingsByCustomerId_EmptyList() throws Exception {
-        when(bookingService.getBookingsByCustomerId(100L))
-            .thenReturn(Collections.emptyList());
+        when(bookingService.getBookingsPageByCustomerId(100L, null, 20))
+            .thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/bookings/customer/100"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.items").isEmpty());
 
-        verify(bookingService).getBookingsByCustomerId(100L);
+        verify(bookingService).getBookingsPageByCustomerId(100L, null, 20);
     }
 
     @Test
     void testGetBookingsByProviderId_EmptyList() throws Exception {
-        when(bookingService.getBookingsByProviderId(200L))
-            .thenReturn(Collections.emptyList());
+        when(bookingService.getBookingsPageByProviderId(200L, null, 20))
+            .thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/bookings/provider/200"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.items").isEmpty());
 
-        verify(bookingService).getBookingsByProviderId(200L);
+        verify(bookingService).getBookingsPageByProviderId(200L, null, 20);
     }
 
     @Test
     void testGetBookingsByStatus_EmptyList() throws Exception {
-        when(bookingService.getBookingsByStatus(Booking.BookingStatus.CANCELLED))
-            .thenReturn(Collections.emptyList());
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.CANCELLED, null, 20))
+            .thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/bookings/status/CANCELLED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.items").isEmpty());
 
-        verify(bookingService).getBookingsByStatus(Booking.BookingStatus.CANCELLED);
+        verify(bookingService).getBookingsPageByStatus(Booking.BookingStatus.CANCELLED, null, 20);
     }
 
     @Test
@@ -1,5 +1,7 @@
 package com.carwash.controller;
 
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
 import com.carwash.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,7 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -57,11 +59,12 @@ class BookingControllerIntegrationTest {
 
     @Test
     void getAllBookings_Success() throws Exception {
-        when(bookingService.getAllBookings()).thenReturn(Arrays.asList(createTestBooking()));
+        when(bookingService.getBookingsPage(null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(createTestBooking())), null));
 
         mockMvc.perform(get("/api/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1L));
+                .andExpect(jsonPath("$.items[0].id").value(1L));
     }
 
     @Test
@@ -84,30 +87,32 @@ class BookingControllerIntegrationTest {
 
     @Test
     void getBookingsByCustomerId_Success() throws Exception {
-        when(bookingService.getBookingsByCustomerId(1L)).thenReturn(Arrays.asList(createTestBooking()));
+        when(bookingService.getBookingsPageByCustomerId(1L, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(createTestBooking())), null));
 
         mockMvc.perform(get("/api/bookings/customer/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].customerId").value(1L));
+                .andExpect(jsonPath("$.items[0].id").value(1L));
     }
 
     @Test
     void getBookingsByProviderId_Success() throws Exception {
-        when(bookingService.getBookingsByProviderId(1L)).thenReturn(Arrays.asList(createTestBooking()));
+        when(bookingService.getBookingsPageByProviderId(1L, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(createTestBooking())), null));
 
         mockMvc.perform(get("/api/bookings/provider/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].providerId").value(1L));
+                .andExpect(jsonPath("$.items[0].id").value(1L));
     }
 
     @Test
     void getBookingsByStatus_Success() throws Exception {
-        when(bookingService.getBookingsByStatus(Booking.BookingStatus.PENDING))
-                .thenReturn(Arrays.asList(createTestBooking()));
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(createTestBooking())), null));
 
         mockMvc.perform(get("/api/bookings/status/PENDING"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("PENDING"));
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"));
     }
 
     @Test
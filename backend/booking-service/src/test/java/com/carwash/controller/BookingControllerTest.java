@@ -1,5 +1,12 @@
 package com.carwash.controller;
 
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.dto.BatchBookingResult;
+import com.carwash.dto.BookingCacheStats;
+import com.carwash.dto.NearbyBooking;
+import com.carwash.dto.ProviderStats;
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
 import com.carwash.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,9 +17,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,16 +80,14 @@ class BookingControllerTest {
     }
 
     @Test
-    void testGetAllBookings() throws Exception {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingService.getAllBookings()).thenReturn(bookings);
+    void testGetBookings_PagedByDefault() throws Exception {
+        when(bookingService.getBookingsPage(null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), "abc"));
 
         mockMvc.perform(get("/api/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1L));
-
-        verify(bookingService).getAllBookings();
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
     }
 
     @Test
@@ -108,40 +113,34 @@ class BookingControllerTest {
     }
 
     @Test
-    void testGetBookingsByCustomerId() throws Exception {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingService.getBookingsByCustomerId(100L)).thenReturn(bookings);
+    void testGetBookingsByCustomerId_PagedByDefault() throws Exception {
+        when(bookingService.getBookingsPageByCustomerId(100L, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/customer/100"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].customerId").value(100L));
-
-        verify(bookingService).getBookingsByCustomerId(100L);
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.items[0].serviceType").value("BASIC_WASH"));
     }
 
     @Test
-    void testGetBookingsByProviderId() throws Exception {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingService.getBookingsByProviderId(200L)).thenReturn(bookings);
+    void testGetBookingsByProviderId_PagedByDefault() throws Exception {
+        when(bookingService.getBookingsPageByProviderId(200L, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/provider/200"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
-
-        verify(bookingService).getBookingsByProviderId(200L);
+                .andExpect(jsonPath("$.items").isArray());
     }
 
     @Test
-    void testGetBookingsByStatus() throws Exception {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingService.getBookingsByStatus(Booking.BookingStatus.PENDING)).thenReturn(bookings);
+    void testGetBookingsByStatus_PagedByDefault() throws Exception {
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
 
         mockMvc.perform(get("/api/bookings/status/PENDING"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
-
-        verify(bookingService).getBookingsByStatus(Booking.BookingStatus.PENDING);
+                .andExpect(jsonPath("$.items").isArray());
     }
 
     @Test
@@ -257,4 +256,243 @@ class BookingControllerTest {
 
         verify(bookingService).assignProvider(1L, 200L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBookingsPage() throws Exception {
+        when(bookingService.getBookingsPage(null, 50))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), "abc"));
+
+        mockMvc.perform(get("/api/bookings").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void testGetBookingsPageByCustomerId_WithCursor() throws Exception {
+        when(bookingService.getBookingsPageByCustomerId(100L, "abc", 10))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
+
+        mockMvc.perform(get("/api/bookings/customer/100").param("limit", "10").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.items[0].customerId").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void testGetBookingsPageByProviderId_BadCursor() throws Exception {
+        when(bookingService.getBookingsPageByProviderId(200L, "bad", 10))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/bookings/provider/200").param("limit", "10").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetBookingsPageByStatus() throws Exception {
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 5))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(testBooking)), null));
+
+        mockMvc.perform(get("/api/bookings/status/PENDING").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+    }
+
+    @Test
+    void testCreateBooking_ProviderConflict() throws Exception {
+        when(bookingService.createBooking(any(Booking.class)))
+                .thenThrow(new IllegalStateException("Provider already has a booking"));
+
+        mockMvc.perform(post("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBooking)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateBooking_ProviderConflict() throws Exception {
+        when(bookingService.updateBooking(eq(1L), any(Booking.class)))
+                .thenThrow(new IllegalStateException("Provider already has a booking"));
+
+        mockMvc.perform(put("/api/bookings/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBooking)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateBookings_AllCreated() throws Exception {
+        when(bookingService.createBookings(anyList())).thenReturn(
+                new BatchBookingResponse(List.of(BatchBookingResult.created(0, testBooking))));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testBooking))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"));
+    }
+
+    @Test
+    void testCreateBookings_PartiallyRejected() throws Exception {
+        when(bookingService.createBookings(anyList())).thenReturn(new BatchBookingResponse(List.of(
+                BatchBookingResult.created(0, testBooking),
+                BatchBookingResult.rejected(1, "Customer ID is required"))));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testBooking, new Booking()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Customer ID is required"));
+    }
+
+    @Test
+    void testCreateBookings_AllRejected() throws Exception {
+        when(bookingService.createBookings(anyList())).thenReturn(
+                new BatchBookingResponse(List.of(BatchBookingResult.rejected(0, "Customer ID is required"))));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    void testCreateBookings_EmptyBatch() throws Exception {
+        when(bookingService.createBookings(anyList())).thenThrow(new IllegalArgumentException("empty"));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUpdateBooking_ConcurrentModification() throws Exception {
+        when(bookingService.updateBooking(eq(1L), any(Booking.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/api/bookings/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBooking)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateBookingStatus_ReturnMinimal() throws Exception {
+        when(bookingService.transitionStatus(1L, Booking.BookingStatus.COMPLETED)).thenReturn(true);
+
+        mockMvc.perform(patch("/api/bookings/1/status")
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("\"COMPLETED\""))
+                .andExpect(status().isNoContent());
+
+        verify(bookingService, never()).updateBookingStatus(any(), any());
+    }
+
+    @Test
+    void testUpdateBookingStatus_TransitionNotAllowed() throws Exception {
+        when(bookingService.updateBookingStatus(1L, Booking.BookingStatus.PENDING))
+                .thenThrow(new IllegalStateException("Cannot change booking status from COMPLETED to PENDING"));
+
+        mockMvc.perform(patch("/api/bookings/1/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("\"PENDING\""))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testGetProviderStats() throws Exception {
+        ProviderStats stats = new ProviderStats(2L);
+        stats.add(Booking.BookingStatus.COMPLETED, 3, 90.0, 0);
+        when(bookingService.getProviderStats(2L)).thenReturn(stats);
+
+        mockMvc.perform(get("/api/bookings/stats/provider/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countsByStatus.COMPLETED").value(3))
+                .andExpect(jsonPath("$.countsByStatus.PENDING").value(0))
+                .andExpect(jsonPath("$.completedRevenue").value(90.0));
+    }
+
+    @Test
+    void testGetProviderStatsBulk() throws Exception {
+        when(bookingService.getProviderStats(List.of(1L, 2L)))
+                .thenReturn(List.of(new ProviderStats(1L), new ProviderStats(2L)));
+
+        mockMvc.perform(get("/api/bookings/stats/providers").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].providerId").value(2));
+    }
+
+    @Test
+    void testGetProviderStatsBulk_TooMany() throws Exception {
+        when(bookingService.getProviderStats(anyList())).thenThrow(new IllegalArgumentException("too many"));
+
+        mockMvc.perform(get("/api/bookings/stats/providers").param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetCacheStats() throws Exception {
+        when(bookingService.getCacheStats())
+                .thenReturn(List.of(new BookingCacheStats("bookings", 3, 100, 8, 2, 0.8, 0)));
+
+        mockMvc.perform(get("/api/bookings/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("bookings"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.8));
+    }
+
+    @Test
+    void testGetNearbyBookings() throws Exception {
+        when(bookingService.findNearbyBookings(52.5, 13.4, 3.0, Booking.BookingStatus.PENDING, 20))
+                .thenReturn(List.of(new NearbyBooking(testBooking, 1.25)));
+
+        mockMvc.perform(get("/api/bookings/nearby")
+                .param("lat", "52.5")
+                .param("lon", "13.4")
+                .param("radiusKm", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id").value(1))
+                .andExpect(jsonPath("$[0].distanceKm").value(1.25));
+    }
+
+    @Test
+    void testGetNearbyBookings_InvalidRadius() throws Exception {
+        when(bookingService.findNearbyBookings(anyDouble(), anyDouble(), anyDouble(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Radius must be between 0 and 100 km"));
+
+        mockMvc.perform(get("/api/bookings/nearby")
+                .param("lat", "52.5")
+                .param("lon", "13.4")
+                .param("radiusKm", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetBookingsInRange() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 1, 0, 0);
+        when(bookingService.getBookingsInRange(from, from.plusDays(1), null)).thenReturn(List.of(BookingSummary.of(testBooking)));
+
+        mockMvc.perform(get("/api/bookings")
+                .param("from", "2030-05-01T00:00:00")
+                .param("to", "2030-05-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void testGetBookingsInRange_InvalidRange() throws Exception {
+        when(bookingService.getBookingsInRange(any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Range start must be before its end"));
+
+        mockMvc.perform(get("/api/bookings")
+                .param("from", "2030-05-02T00:00:00")
+                .param("to", "2030-05-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,5 +1,7 @@
 package com.carwash.controller;
 
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
 import com.carwash.service.BookingService;
 import org.junit.jupiter.api.Test;
@@ -10,7 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,14 +62,14 @@ class BookingControllerUnitTest {
     }
 
     @Test
-    void getAllBookings_Success() {
-        List<Booking> bookings = Arrays.asList(createTestBooking());
-        when(bookingService.getAllBookings()).thenReturn(bookings);
+    void getBookingsPage_Success() {
+        BookingPage page = new BookingPage(List.of(BookingSummary.of(createTestBooking())), null);
+        when(bookingService.getBookingsPage(null, 20)).thenReturn(page);
 
-        ResponseEntity<List<Booking>> response = bookingController.getAllBookings();
+        ResponseEntity<BookingPage> response = bookingController.getBookingsPage(20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(bookings, response.getBody());
+        assertEquals(page, response.getBody());
     }
 
     @Test
@@ -94,35 +95,35 @@ class BookingControllerUnitTest {
 
     @Test
     void getBookingsByCustomerId_Success() {
-        List<Booking> bookings = Arrays.asList(createTestBooking());
-        when(bookingService.getBookingsByCustomerId(1L)).thenReturn(bookings);
+        BookingPage page = new BookingPage(List.of(BookingSummary.of(createTestBooking())), null);
+        when(bookingService.getBookingsPageByCustomerId(1L, null, 20)).thenReturn(page);
 
-        ResponseEntity<List<Booking>> response = bookingController.getBookingsByCustomerId(1L);
+        ResponseEntity<BookingPage> response = bookingController.getBookingsPageByCustomerId(1L, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(bookings, response.getBody());
+        assertEquals(page, response.getBody());
     }
 
     @Test
     void getBookingsByProviderId_Success() {
-        List<Booking> bookings = Arrays.asList(createTestBooking());
-        when(bookingService.getBookingsByProviderId(1L)).thenReturn(bookings);
+        BookingPage page = new BookingPage(List.of(BookingSummary.of(createTestBooking())), null);
+        when(bookingService.getBookingsPageByProviderId(1L, null, 20)).thenReturn(page);
 
-        ResponseEntity<List<Booking>> response = bookingController.getBookingsByProviderId(1L);
+        ResponseEntity<BookingPage> response = bookingController.getBookingsPageByProviderId(1L, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(bookings, response.getBody());
+        assertEquals(page, response.getBody());
     }
 
     @Test
     void getBookingsByStatus_Success() {
-        List<Booking> bookings = Arrays.asList(createTestBooking());
-        when(bookingService.getBookingsByStatus(Booking.BookingStatus.PENDING)).thenReturn(bookings);
+        BookingPage page = new BookingPage(List.of(BookingSummary.of(createTestBooking())), null);
+        when(bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, null, 20)).thenReturn(page);
 
-        ResponseEntity<List<Booking>> response = bookingController.getBookingsByStatus(Booking.BookingStatus.PENDING);
+        ResponseEntity<BookingPage> response = bookingController.getBookingsPageByStatus(Booking.BookingStatus.PENDING, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(bookings, response.getBody());
+        assertEquals(page, response.getBody());
     }
 
     @Test
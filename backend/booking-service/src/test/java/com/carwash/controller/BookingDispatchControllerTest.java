@@ -0,0 +1,111 @@
+package com.carwash.controller;
+
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingDispatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingDispatchController.class)
+class BookingDispatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingDispatchController bookingDispatchController;
+
+    @MockBean
+    private BookingDispatcher bookingDispatcher;
+
+    @Test
+    void testNextBooking_Dispatched() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setProviderId(200L);
+        when(bookingDispatcher.next(200L, Duration.ofSeconds(30)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(booking)));
+
+        MvcResult result = mockMvc.perform(get("/api/bookings/dispatch/next").param("providerId", "200"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.providerId").value(200));
+    }
+
+    @Test
+    void testNextBooking_NothingInTime() throws Exception {
+        when(bookingDispatcher.next(eq(200L), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        MvcResult result = mockMvc.perform(get("/api/bookings/dispatch/next")
+                        .param("providerId", "200")
+                        .param("waitSeconds", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNoContent());
+        verify(bookingDispatcher).next(200L, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testNextBooking_ReleasesClaimFinishingAfterTimeout() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setProviderId(200L);
+        CompletableFuture<Optional<Booking>> claim = new CompletableFuture<>();
+        when(bookingDispatcher.next(200L, Duration.ofSeconds(30))).thenReturn(claim);
+
+        DeferredResult<ResponseEntity<Booking>> result = bookingDispatchController.nextBooking(200L, 30);
+        // What the container does once the request times out
+        result.setResult(ResponseEntity.noContent().build());
+        claim.complete(Optional.of(booking));
+
+        verify(bookingDispatcher).release(booking);
+    }
+
+    @Test
+    void testNextBooking_DeliveredClaimIsKept() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        when(bookingDispatcher.next(200L, Duration.ofSeconds(30)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(booking)));
+
+        DeferredResult<ResponseEntity<Booking>> result = bookingDispatchController.nextBooking(200L, 30);
+
+        assertTrue(result.hasResult());
+        verify(bookingDispatcher, never()).release(any());
+    }
+
+    @Test
+    void testNextBooking_WaitIsCapped() throws Exception {
+        when(bookingDispatcher.next(eq(200L), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        mockMvc.perform(get("/api/bookings/dispatch/next")
+                        .param("providerId", "200")
+                        .param("waitSeconds", "3600"))
+                .andExpect(request().asyncStarted());
+
+        verify(bookingDispatcher).next(200L, BookingDispatcher.MAX_WAIT);
+    }
+}
@@ -0,0 +1,81 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BookingStatusEvent;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingEventBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingEventController.class)
+@Import(BookingEventBroadcaster.class)
+class BookingEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingEventBroadcaster eventBroadcaster;
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void testCustomerStreamReceivesStatusChange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bookings/events/customer/100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        eventBroadcaster.publish(new BookingStatusEvent(1L, 100L, 200L, Booking.BookingStatus.ACCEPTED,
+                LocalDateTime.of(2030, 1, 1, 10, 0)));
+
+        String content = awaitContent(result.getResponse(), "ACCEPTED");
+        assertTrue(content.contains("event:booking-status"));
+        assertTrue(content.contains("\"bookingId\":1"));
+        assertTrue(content.contains("\"status\":\"ACCEPTED\""));
+    }
+
+    @Test
+    void testProviderStreamOnlyGetsOwnBookings() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bookings/events/provider/200"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        eventBroadcaster.publish(new BookingStatusEvent(2L, 101L, 300L, Booking.BookingStatus.COMPLETED,
+                LocalDateTime.now()));
+        eventBroadcaster.publish(new BookingStatusEvent(3L, 101L, 200L, Booking.BookingStatus.CANCELLED,
+                LocalDateTime.now()));
+
+        String content = awaitContent(result.getResponse(), "CANCELLED");
+        assertTrue(content.contains("\"bookingId\":3"));
+        assertFalse(content.contains("\"bookingId\":2"));
+    }
+
+    @Test
+    void testHeartbeatIsSentAsComment() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bookings/events/customer/102"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        eventBroadcaster.heartbeat();
+
+        assertTrue(awaitContent(result.getResponse(), ":heartbeat").contains(":heartbeat"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingHistoryController.class)
+class BookingHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingArchiveService bookingArchiveService;
+
+    @Test
+    void testGetCustomerHistory() throws Exception {
+        Booking archived = new Booking();
+        archived.setId(1L);
+        archived.setStatus(Booking.BookingStatus.COMPLETED);
+        Booking live = new Booking();
+        live.setId(2L);
+        when(bookingArchiveService.getCustomerHistory(100L, null, 20))
+                .thenReturn(new BookingPage(List.of(BookingSummary.of(archived), BookingSummary.of(live)), "abc"));
+
+        mockMvc.perform(get("/api/bookings/customer/100/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void testGetCustomerHistory_InvalidCursor() throws Exception {
+        when(bookingArchiveService.getCustomerHistory(100L, "bad", 10))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/bookings/customer/100/history").param("limit", "10").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+}
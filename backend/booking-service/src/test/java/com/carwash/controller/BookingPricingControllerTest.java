@@ -0,0 +1,47 @@
+package com.carwash.controller;
+
+import com.carwash.dto.PriceQuote;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingPricing;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingPricingController.class)
+class BookingPricingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingPricing pricing;
+
+    @Test
+    void testGetQuote() throws Exception {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 9, 0);
+        when(pricing.quote(Booking.ServiceType.BASIC_WASH, time))
+                .thenReturn(new PriceQuote(Booking.ServiceType.BASIC_WASH, time, 20.0, 1.5, 30.0));
+
+        mockMvc.perform(get("/api/bookings/prices")
+                        .param("serviceType", "BASIC_WASH")
+                        .param("scheduledTime", "2030-01-01T09:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.multiplier").value(1.5))
+                .andExpect(jsonPath("$.price").value(30.0));
+    }
+
+    @Test
+    void testGetQuote_MissingServiceType() throws Exception {
+        mockMvc.perform(get("/api/bookings/prices").param("scheduledTime", "2030-01-01T09:00:00"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(pricing);
+    }
+}
@@ -0,0 +1,109 @@
+package com.carwash.controller;
+
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.dto.BatchBookingResult;
+import com.carwash.entity.Booking;
+import com.carwash.service.BookingService;
+import com.carwash.service.IdempotencyKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(IdempotentBookingController.class)
+class IdempotentBookingControllerTest {
+
+    private static final String BOOKING_JSON =
+        "{\"customerId\":100,\"serviceType\":\"BASIC_WASH\",\"scheduledTime\":\"2030-01-01T10:00:00\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private IdempotencyKeys idempotencyKeys;
+
+    @Test
+    void testCreateBooking_Replayed() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        when(idempotencyKeys.execute(eq("booking"), eq("key-1"), aryEq(BOOKING_JSON.getBytes()), eq(Booking.class), any()))
+                .thenReturn(new IdempotencyKeys.Outcome<>(booking, true));
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1));
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void testCreateBooking_KeyReused() throws Exception {
+        when(idempotencyKeys.execute(any(), any(), any(), eq(Booking.class), any()))
+                .thenThrow(new IllegalArgumentException("reused"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateBooking_StillInProgress() throws Exception {
+        when(idempotencyKeys.execute(any(), any(), any(), eq(Booking.class), any()))
+                .thenThrow(new IllegalStateException("in progress"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateBooking_MalformedBody() throws Exception {
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{not json"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(idempotencyKeys);
+    }
+
+    @Test
+    void testCreateBookings_RunsBatchUnderKey() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        BatchBookingResponse response = new BatchBookingResponse(List.of(BatchBookingResult.created(0, booking)));
+        when(bookingService.createBookings(anyList())).thenReturn(response);
+        when(idempotencyKeys.execute(eq("batch"), eq("key-1"), any(), eq(BatchBookingResponse.class), any()))
+                .thenAnswer(invocation -> new IdempotencyKeys.Outcome<>(
+                        invocation.<Supplier<BatchBookingResponse>>getArgument(4).get(), false));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + BOOKING_JSON + "]"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.created").value(1));
+        verify(bookingService).createBookings(argThat(bookings -> bookings.size() == 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.carwash.controller;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.RecurringBooking;
+import com.carwash.service.RecurringBookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecurringBookingController.class)
+class RecurringBookingControllerTest {
+
+    private static final String RULE = "{\"customerId\":100,\"serviceType\":\"PREMIUM_WASH\","
+            + "\"dayOfWeek\":\"SATURDAY\",\"timeOfDay\":\"10:00\",\"startDate\":\"2030-01-05\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecurringBookingService recurringBookingService;
+
+    @Test
+    void testCreateRecurringBooking() throws Exception {
+        when(recurringBookingService.create(any(RecurringBooking.class))).thenAnswer(invocation -> {
+            RecurringBooking recurrence = invocation.getArgument(0);
+            recurrence.setId(1L);
+            return recurrence;
+        });
+
+        mockMvc.perform(post("/api/recurring-bookings").contentType(MediaType.APPLICATION_JSON).content(RULE))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.dayOfWeek").value("SATURDAY"));
+        verify(recurringBookingService).create(argThat(recurrence ->
+                recurrence.getDayOfWeek() == DayOfWeek.SATURDAY
+                        && recurrence.getTimeOfDay().equals(LocalTime.of(10, 0))
+                        && recurrence.getServiceType() == Booking.ServiceType.PREMIUM_WASH));
+    }
+
+    @Test
+    void testCreateRecurringBooking_Invalid() throws Exception {
+        when(recurringBookingService.create(any(RecurringBooking.class)))
+                .thenThrow(new IllegalArgumentException("Start date is required and cannot be in the past"));
+
+        mockMvc.perform(post("/api/recurring-bookings").contentType(MediaType.APPLICATION_JSON).content(RULE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStopRecurringBooking_NotFound() throws Exception {
+        when(recurringBookingService.stop(9L)).thenThrow(new IllegalArgumentException("not found"));
+
+        mockMvc.perform(delete("/api/recurring-bookings/9"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,33 @@
+package com.carwash.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCursorTest {
+
+    @Test
+    void testEncodeDecode_WithScheduledTime() {
+        LocalDateTime time = LocalDateTime.of(2030, 5, 1, 9, 30);
+        BookingCursor decoded = BookingCursor.decode(new BookingCursor(time, 42L).encode());
+
+        assertEquals(time, decoded.getScheduledTime());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void testEncodeDecode_IdOnly() {
+        BookingCursor decoded = BookingCursor.decode(new BookingCursor(null, 7L).encode());
+
+        assertNull(decoded.getScheduledTime());
+        assertEquals(7L, decoded.getId());
+    }
+
+    @Test
+    void testDecode_Malformed() {
+        assertThrows(IllegalArgumentException.class, () -> BookingCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> BookingCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.carwash.repository;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.BookingDailyRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the relative rollup UPDATE binds its deltas on the embedded database
+ */
+@DataJpaTest
+class BookingDailyRollupRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Test
+    void testIncrement_AddsDeltas() {
+        rollupRepository.create(DAY, Booking.ServiceType.FULL_DETAIL.name(), 7L);
+
+        assertEquals(1, rollupRepository.increment(DAY, Booking.ServiceType.FULL_DETAIL.name(), 7L, 2, 150.5));
+        assertEquals(1, rollupRepository.increment(DAY, Booking.ServiceType.FULL_DETAIL.name(), 7L, -1, -50.25));
+
+        BookingDailyRollupRepository.RollupTotals totals = rollupRepository.findTotals(DAY, DAY.plusDays(1)).get(0);
+        assertEquals(1, totals.getCompletedBookings());
+        assertEquals(100.25, totals.getRevenue(), 1e-9);
+        assertEquals(0, rollupRepository.increment(DAY, Booking.ServiceType.BASIC_WASH.name(),
+            BookingDailyRollup.UNASSIGNED_PROVIDER, 1, 20.0));
+    }
+}
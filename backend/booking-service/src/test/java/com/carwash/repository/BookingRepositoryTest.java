@@ -0,0 +1,199 @@
+package com.carwash.repository;
+
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Booking saveBooking(Long customerId, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(customerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(scheduledTime);
+        return bookingRepository.save(booking);
+    }
+
+    @Test
+    void testFindPageAfterId() {
+        Booking first = saveBooking(1L, LocalDateTime.now());
+        Booking second = saveBooking(1L, LocalDateTime.now());
+        Booking third = saveBooking(1L, LocalDateTime.now());
+
+        List<BookingSummary> page = bookingRepository.findPageAfterId(first.getId(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(second.getId(), third.getId()), page.stream().map(BookingSummary::getId).toList());
+    }
+
+    @Test
+    void testFindCustomerPageAfter_TieOnScheduledTime() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Booking a = saveBooking(7L, time);
+        Booking b = saveBooking(7L, time);
+        Booking c = saveBooking(7L, time.plusHours(1));
+        saveBooking(8L, time.plusHours(2));
+
+        List<BookingSummary> page = bookingRepository.findCustomerPageAfter(7L, time, a.getId(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(b.getId(), c.getId()), page.stream().map(BookingSummary::getId).toList());
+    }
+
+    @Test
+    void testFirstPageRespectsPageSize() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 10, 0);
+        saveBooking(9L, time.plusHours(2));
+        Booking earliest = saveBooking(9L, time);
+        saveBooking(9L, time.plusHours(1));
+
+        List<BookingSummary> page = bookingRepository.findByCustomerIdOrderByScheduledTimeAscIdAsc(9L, PageRequest.of(0, 2));
+
+        assertEquals(2, page.size());
+        assertEquals(earliest.getId(), page.get(0).getId());
+    }
+
+    @Test
+    void testEntityIndexesCreated() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'BOOKINGS'",
+                String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_bookings_provider_status",
+                "idx_bookings_provider_time",
+                "idx_bookings_customer_time",
+                "idx_bookings_status_time")));
+    }
+
+    @Test
+    void testSaveAllUsesJdbcBatching() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Booking booking = new Booking();
+            booking.setCustomerId(500L);
+            booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+            booking.setScheduledTime(LocalDateTime.of(2030, 1, 1, 10, 0).plusHours(i));
+            bookings.add(booking);
+        }
+
+        bookingRepository.saveAll(bookings);
+        bookingRepository.flush();
+
+        assertEquals(120, bookings.stream().map(Booking::getId).distinct().count());
+        // 120 rows: a few sequence calls plus three insert batches instead of 120 statements
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTransitionStatus_GuardedByPredecessors() {
+        Booking booking = saveBooking(1L, LocalDateTime.now());
+
+        int rejected = bookingRepository.transitionStatus(booking.getId(), Booking.BookingStatus.COMPLETED,
+                List.of(Booking.BookingStatus.ACCEPTED));
+        int applied = bookingRepository.transitionStatus(booking.getId(), Booking.BookingStatus.CANCELLED,
+                List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED));
+
+        assertEquals(0, rejected);
+        assertEquals(1, applied);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findStatusById(booking.getId()).orElseThrow());
+        assertEquals(1L, bookingRepository.findById(booking.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testAggregateByProviderAndStatus() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        saveProviderBooking(5L, Booking.BookingStatus.COMPLETED, 40.0, now.minusDays(1));
+        saveProviderBooking(5L, Booking.BookingStatus.COMPLETED, 60.0, now.minusDays(2));
+        saveProviderBooking(5L, Booking.BookingStatus.ACCEPTED, 25.0, now.plusHours(3));
+        saveProviderBooking(5L, Booking.BookingStatus.PENDING, null, now.minusHours(1));
+        saveProviderBooking(6L, Booking.BookingStatus.CANCELLED, 10.0, now.plusDays(1));
+        saveProviderBooking(7L, Booking.BookingStatus.COMPLETED, 99.0, now.minusDays(1));
+
+        List<BookingRepository.ProviderStatusAggregate> rows =
+                bookingRepository.aggregateByProviderAndStatus(List.of(5L, 6L), now);
+
+        assertEquals(4, rows.size());
+        BookingRepository.ProviderStatusAggregate completed = rows.stream()
+                .filter(r -> r.getProviderId() == 5L && r.getStatus() == Booking.BookingStatus.COMPLETED)
+                .findFirst().orElseThrow();
+        assertEquals(2, completed.getBookings());
+        assertEquals(100.0, completed.getRevenue(), 0.001);
+        assertEquals(0, completed.getUpcoming());
+        BookingRepository.ProviderStatusAggregate pending = rows.stream()
+                .filter(r -> r.getProviderId() == 5L && r.getStatus() == Booking.BookingStatus.PENDING)
+                .findFirst().orElseThrow();
+        assertEquals(0.0, pending.getRevenue(), 0.001);
+        assertEquals(0, pending.getUpcoming());
+        BookingRepository.ProviderStatusAggregate accepted = rows.stream()
+                .filter(r -> r.getProviderId() == 5L && r.getStatus() == Booking.BookingStatus.ACCEPTED)
+                .findFirst().orElseThrow();
+        assertEquals(1, accepted.getUpcoming());
+    }
+
+    private void saveProviderBooking(Long providerId, Booking.BookingStatus status, Double price,
+                                     LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(1L);
+        booking.setProviderId(providerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setStatus(status);
+        booking.setPrice(price);
+        booking.setScheduledTime(scheduledTime);
+        bookingRepository.save(booking);
+    }
+
+    @Test
+    void testFindByScheduledTimeRange_HalfOpen() {
+        LocalDateTime day = LocalDateTime.of(2031, 3, 10, 0, 0);
+        Booking atStart = saveBooking(1L, day);
+        Booking midday = saveBooking(2L, day.plusHours(12));
+        saveBooking(3L, day.plusDays(1));
+        saveBooking(4L, day.minusSeconds(1));
+
+        List<BookingSummary> range = bookingRepository.findSummariesByScheduledTimeRange(day, day.plusDays(1));
+
+        assertEquals(List.of(atStart.getId(), midday.getId()), range.stream().map(BookingSummary::getId).toList());
+        assertEquals(Booking.ServiceType.BASIC_WASH, range.get(0).getServiceType());
+    }
+
+    @Test
+    void testFindByProviderIdAndScheduledTimeRange() {
+        LocalDateTime day = LocalDateTime.of(2031, 3, 10, 0, 0);
+        Booking mine = saveBooking(1L, day.plusHours(9));
+        mine.setProviderId(5L);
+        bookingRepository.save(mine);
+        Booking other = saveBooking(2L, day.plusHours(10));
+        other.setProviderId(6L);
+        bookingRepository.save(other);
+
+        List<BookingSummary> range = bookingRepository.findSummariesByProviderIdAndScheduledTimeRange(5L, day, day.plusDays(7));
+
+        assertEquals(List.of(mine.getId()), range.stream().map(BookingSummary::getId).toList());
+    }
+}
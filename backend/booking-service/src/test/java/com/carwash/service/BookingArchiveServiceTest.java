@@ -0,0 +1,158 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.ArchivedBooking;
+import com.carwash.entity.Booking;
+import com.carwash.repository.ArchivedBookingRepository;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the archival job against a real database, outside the test transaction so every chunk commits
+ */
+@DataJpaTest
+@Import({BookingArchiveService.class, ProviderBookingCounters.class, BookingCache.class})
+@TestPropertySource(properties = {"booking.archive.chunk-size=2", "booking.archive.min-age=30d"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingArchiveServiceTest {
+
+    @Autowired
+    private BookingArchiveService archiveService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ProviderBookingCounters counters;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        archivedBookingRepository.deleteAll();
+        counters.reconcile();
+    }
+
+    private Booking save(Long customerId, Long providerId, Booking.BookingStatus status, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(customerId);
+        booking.setProviderId(providerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setStatus(status);
+        booking.setScheduledTime(scheduledTime);
+        booking.setPrice(25.0);
+        return bookingRepository.save(booking);
+    }
+
+    @Test
+    void testArchive_MovesOnlyOldFinishedBookingsInChunks() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        Booking completed = save(1L, 10L, Booking.BookingStatus.COMPLETED, old);
+        Booking cancelled = save(1L, null, Booking.BookingStatus.CANCELLED, old.plusHours(1));
+        Booking otherCompleted = save(2L, 10L, Booking.BookingStatus.COMPLETED, old.plusHours(2));
+        Booking recent = save(1L, 10L, Booking.BookingStatus.COMPLETED, LocalDateTime.now().minusDays(1));
+        Booking stillOpen = save(1L, 10L, Booking.BookingStatus.ACCEPTED, old);
+        counters.reconcile();
+        assertEquals(3, counters.count(10L, Booking.BookingStatus.COMPLETED));
+
+        int archived = archiveService.archiveFinishedBookings();
+
+        assertEquals(3, archived);
+        assertEquals(List.of(recent.getId(), stillOpen.getId()),
+            bookingRepository.findAll().stream().map(Booking::getId).sorted().toList());
+        assertEquals(List.of(completed.getId(), cancelled.getId(), otherCompleted.getId()),
+            archivedBookingRepository.findAll().stream().map(ArchivedBooking::getId).sorted().toList());
+        assertEquals(1, counters.count(10L, Booking.BookingStatus.COMPLETED));
+        assertEquals(0, counters.reconcile());
+
+        assertEquals(0, archiveService.archiveFinishedBookings());
+    }
+
+    @Test
+    void testArchive_KeepsRecurrenceId() {
+        Booking occurrence = new Booking();
+        occurrence.setCustomerId(1L);
+        occurrence.setServiceType(Booking.ServiceType.BASIC_WASH);
+        occurrence.setStatus(Booking.BookingStatus.COMPLETED);
+        occurrence.setScheduledTime(LocalDateTime.now().minusDays(60));
+        occurrence.setRecurrenceId(42L);
+        Long id = bookingRepository.save(occurrence).getId();
+
+        assertEquals(1, archiveService.archiveFinishedBookings());
+
+        assertEquals(42L, archivedBookingRepository.findById(id).orElseThrow().getRecurrenceId());
+    }
+
+    @Test
+    void testArchive_SkipsRowsAlreadyInArchive() {
+        Booking booking = save(1L, null, Booking.BookingStatus.CANCELLED, LocalDateTime.now().minusDays(60));
+        ArchivedBooking copy = new ArchivedBooking();
+        copy.setId(booking.getId());
+        copy.setCustomerId(1L);
+        copy.setStatus(Booking.BookingStatus.CANCELLED);
+        archivedBookingRepository.save(copy);
+
+        assertEquals(1, archiveService.archiveFinishedBookings());
+
+        assertEquals(0, bookingRepository.count());
+        assertEquals(1, archivedBookingRepository.count());
+    }
+
+    @Test
+    void testGetCustomerHistory_MergesLiveAndArchived() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        Booking archived = save(1L, 10L, Booking.BookingStatus.COMPLETED, old);
+        Booking live = save(1L, 10L, Booking.BookingStatus.PENDING, LocalDateTime.now().plusDays(1));
+        save(2L, 10L, Booking.BookingStatus.COMPLETED, old);
+        archiveService.archiveFinishedBookings();
+
+        BookingPage history = archiveService.getCustomerHistory(1L, null, 20);
+
+        assertEquals(List.of(archived.getId(), live.getId()),
+            history.getItems().stream().map(BookingSummary::getId).toList());
+        assertEquals(Booking.BookingStatus.COMPLETED, history.getItems().get(0).getStatus());
+        assertEquals(25.0, history.getItems().get(0).getPrice());
+        assertNull(history.getNextCursor());
+        assertTrue(bookingRepository.findByCustomerId(1L).stream().noneMatch(b -> b.getId().equals(archived.getId())));
+    }
+
+    @Test
+    void testGetCustomerHistory_PagesAcrossBothTables() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expected.add(save(1L, 10L, Booking.BookingStatus.COMPLETED, old.plusHours(i)).getId());
+        }
+        archiveService.archiveFinishedBookings();
+        for (int i = 0; i < 2; i++) {
+            expected.add(save(1L, 10L, Booking.BookingStatus.PENDING, LocalDateTime.now().plusDays(1 + i)).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPage page = archiveService.getCustomerHistory(1L, cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+    }
+}
@@ -0,0 +1,137 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingCacheStats;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.replica.ReadYourWritesFilter;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCacheTest {
+
+    private final BookingCache cache = new BookingCache(2, 2, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setCustomerId(100L);
+        return booking;
+    }
+
+    @Test
+    void testGetBooking_LoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getBooking(1L, id -> { loads.incrementAndGet(); return Optional.of(booking(id)); });
+        Optional<Booking> result = cache.getBooking(1L, id -> { loads.incrementAndGet(); return Optional.of(booking(id)); });
+
+        assertEquals(1L, result.orElseThrow().getId());
+        assertEquals(1, loads.get());
+        BookingCacheStats stats = cache.stats().get(0);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    void testGetBooking_PinnedCallerReloadsAndRefreshes() throws Exception {
+        cache.getBooking(1L, id -> Optional.of(booking(id)));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("bookings-primary-until", Long.toString(System.currentTimeMillis() + 60_000)));
+        List<Optional<Booking>> results = new ArrayList<>();
+
+        new ReadYourWritesFilter("bookings-primary-until", Duration.ofSeconds(7)).doFilter(request,
+            new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest request, ServletResponse response) {
+                    results.add(cache.getBooking(1L, id -> {
+                        Booking fresh = booking(id);
+                        fresh.setStatus(Booking.BookingStatus.CANCELLED);
+                        return Optional.of(fresh);
+                    }));
+                }
+            });
+
+        assertEquals(Booking.BookingStatus.CANCELLED, results.get(0).orElseThrow().getStatus());
+        assertEquals(Booking.BookingStatus.CANCELLED,
+            cache.getBooking(1L, id -> Optional.of(booking(id))).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testGetBooking_MissingIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getBooking(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        assertTrue(cache.getBooking(1L, id -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetCustomerFirstPage_ListIsImmutable() {
+        List<BookingSummary> result = cache.getCustomerFirstPage(100L,
+            id -> new ArrayList<>(List.of(BookingSummary.of(booking(1L)))));
+
+        assertThrows(UnsupportedOperationException.class, () -> result.add(BookingSummary.of(booking(2L))));
+    }
+
+    @Test
+    void testEvict_WaitsForCommit() {
+        cache.getBooking(1L, id -> Optional.of(booking(id)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L, 100L);
+        assertEquals(1, cache.stats().get(0).getSize());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(0, cache.stats().get(0).getSize());
+    }
+
+    @Test
+    void testEvict_RollbackKeepsEntry() {
+        cache.getBooking(1L, id -> Optional.of(booking(id)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L, 100L);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(1, cache.stats().get(0).getSize());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        for (long id = 1; id <= 50; id++) {
+            cache.getBooking(id, key -> Optional.of(booking(key)));
+        }
+
+        BookingCacheStats stats = cache.stats().get(0);
+        assertTrue(stats.getSize() <= 2);
+        assertTrue(stats.getEvictionCount() > 0);
+    }
+}
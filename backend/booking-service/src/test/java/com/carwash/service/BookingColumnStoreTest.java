@@ -0,0 +1,205 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingAggregate;
+import com.carwash.dto.BookingSummary;
+import com.carwash.entity.Booking;
+import com.carwash.repository.ArchivedBookingRepository;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingColumnStoreTest {
+
+    private static final LocalDateTime TUESDAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ArchivedBookingRepository archivedBookingRepository = mock(ArchivedBookingRepository.class);
+    private final BookingColumnStore store = new BookingColumnStore(bookingRepository, archivedBookingRepository,
+        mock(PlatformTransactionManager.class));
+
+    private Booking booking(long id, Booking.BookingStatus status, Booking.ServiceType serviceType,
+                            LocalDateTime scheduledTime, Double price) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStatus(status);
+        booking.setServiceType(serviceType);
+        booking.setScheduledTime(scheduledTime);
+        booking.setPrice(price);
+        return booking;
+    }
+
+    private List<BookingAggregate> aggregate(BookingColumnStore.Filter filter, Set<BookingColumnStore.Dimension> groupBy) {
+        return store.aggregate(filter, groupBy, 10);
+    }
+
+    @Test
+    void testAggregate_GroupsByStatusAndServiceType() {
+        store.track(booking(1L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(9), 20.0));
+        store.track(booking(2L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(10), 30.0));
+        store.track(booking(3L, Booking.BookingStatus.COMPLETED, Booking.ServiceType.FULL_DETAIL, TUESDAY.withHour(9), null));
+
+        List<BookingAggregate> groups = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.STATUS, BookingColumnStore.Dimension.SERVICE_TYPE));
+
+        assertEquals(2, groups.size());
+        BookingAggregate pending = groups.get(0);
+        assertEquals(Booking.BookingStatus.PENDING, pending.getStatus());
+        assertEquals(Booking.ServiceType.BASIC_WASH, pending.getServiceType());
+        assertEquals(2, pending.getBookings());
+        assertEquals(50.0, pending.getTotalPrice(), 0.001);
+        assertEquals(20.0, pending.getMinPrice(), 0.001);
+        assertEquals(30.0, pending.getMaxPrice(), 0.001);
+        assertEquals(25.0, pending.getAveragePrice(), 0.001);
+        assertNull(pending.getHourOfDay());
+
+        BookingAggregate completed = groups.get(1);
+        assertEquals(1, completed.getBookings());
+        assertEquals(0, completed.getPricedBookings());
+        assertNull(completed.getAveragePrice());
+    }
+
+    @Test
+    void testAggregate_TimeDimensionsAndPriceBuckets() {
+        store.track(booking(1L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(9), 15.0));
+        store.track(booking(2L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH,
+            TUESDAY.plusDays(1).withHour(9).withMinute(45), 18.0));
+        store.track(booking(3L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(17), 900.0));
+
+        List<BookingAggregate> byHour = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.HOUR_OF_DAY));
+        assertEquals(9, byHour.get(0).getHourOfDay());
+        assertEquals(2, byHour.get(0).getBookings());
+        assertEquals(17, byHour.get(1).getHourOfDay());
+
+        List<BookingAggregate> byDay = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.DAY_OF_WEEK));
+        assertEquals(DayOfWeek.TUESDAY, byDay.get(0).getDayOfWeek());
+        assertEquals(2, byDay.get(0).getBookings());
+        assertEquals(DayOfWeek.WEDNESDAY, byDay.get(1).getDayOfWeek());
+
+        List<BookingAggregate> byPrice = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.PRICE_BUCKET));
+        assertEquals(10.0, byPrice.get(0).getPriceFrom(), 0.001);
+        assertEquals(20.0, byPrice.get(0).getPriceTo(), 0.001);
+        assertEquals(2, byPrice.get(0).getBookings());
+        // Prices past the last bucket land in it
+        assertEquals(490.0, byPrice.get(1).getPriceFrom(), 0.001);
+        assertNull(byPrice.get(1).getPriceTo());
+    }
+
+    @Test
+    void testAggregate_Filters() {
+        store.track(booking(1L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(9), 20.0));
+        store.track(booking(2L, Booking.BookingStatus.ACCEPTED, Booking.ServiceType.BASIC_WASH, TUESDAY.withHour(11), 20.0));
+        store.track(booking(3L, Booking.BookingStatus.ACCEPTED, Booking.ServiceType.PREMIUM_WASH, TUESDAY.withHour(12), 40.0));
+        store.track(booking(4L, Booking.BookingStatus.ACCEPTED, Booking.ServiceType.BASIC_WASH, null, 20.0));
+
+        Set<BookingColumnStore.Dimension> total = EnumSet.noneOf(BookingColumnStore.Dimension.class);
+        assertEquals(4, aggregate(BookingColumnStore.Filter.all(), total).get(0).getBookings());
+
+        BookingColumnStore.Filter accepted = new BookingColumnStore.Filter(
+            EnumSet.of(Booking.BookingStatus.ACCEPTED), EnumSet.of(Booking.ServiceType.BASIC_WASH), null, null);
+        assertEquals(2, aggregate(accepted, total).get(0).getBookings());
+
+        // Half-open range, bookings without a time never match one
+        BookingColumnStore.Filter morning = new BookingColumnStore.Filter(null, null,
+            TUESDAY.withHour(9), TUESDAY.withHour(12));
+        assertEquals(2, aggregate(morning, total).get(0).getBookings());
+    }
+
+    @Test
+    void testChanges_AppliedAfterCommit() {
+        store.track(booking(1L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+        store.track(booking(2L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+        store.track(booking(3L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+        assertEquals(3, store.applyPendingChanges());
+
+        store.updateStatus(3L, Booking.BookingStatus.CANCELLED);
+        store.untrack(1L);
+        store.track(booking(2L, Booking.BookingStatus.ACCEPTED, Booking.ServiceType.BASIC_WASH, TUESDAY, 25.0));
+
+        List<BookingAggregate> groups = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.STATUS));
+        assertEquals(2, store.size());
+        assertEquals(Booking.BookingStatus.ACCEPTED, groups.get(0).getStatus());
+        assertEquals(25.0, groups.get(0).getTotalPrice(), 0.001);
+        assertEquals(Booking.BookingStatus.CANCELLED, groups.get(1).getStatus());
+    }
+
+    @Test
+    void testRebuild_LoadsArchiveAndLiveBookings() {
+        when(archivedBookingRepository.streamSummaries()).thenReturn(Stream.of(
+            new BookingSummary(1L, Booking.BookingStatus.COMPLETED, TUESDAY, Booking.ServiceType.BASIC_WASH, 20.0)));
+        when(bookingRepository.streamSummaries()).thenReturn(Stream.of(
+            new BookingSummary(2L, Booking.BookingStatus.PENDING, TUESDAY, Booking.ServiceType.BASIC_WASH, 20.0)));
+        store.track(booking(9L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+
+        store.rebuild();
+
+        // The rebuild replaces the columns, then reapplies changes queued before it
+        assertEquals(3, store.size());
+        assertEquals(0, store.applyPendingChanges());
+    }
+
+    @Test
+    void testRefresh_PicksUpOtherInstancesAndKeepsLocalChanges() {
+        store.track(booking(1L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+        store.applyPendingChanges();
+        when(archivedBookingRepository.streamSummaries()).thenReturn(Stream.empty());
+        when(bookingRepository.streamSummaries()).thenAnswer(invocation -> {
+            // A local write committed while the reload streams rows it does not see
+            store.track(booking(4L, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 20.0));
+            store.applyPendingChanges();
+            return Stream.of(
+                new BookingSummary(2L, Booking.BookingStatus.PENDING, TUESDAY, Booking.ServiceType.BASIC_WASH, 20.0),
+                new BookingSummary(3L, Booking.BookingStatus.COMPLETED, TUESDAY, Booking.ServiceType.BASIC_WASH, 30.0));
+        });
+
+        store.refresh();
+
+        // Booking 1 was deleted elsewhere; 2 and 3 were written elsewhere; 4 is replayed
+        assertEquals(3, store.size());
+        assertEquals(70.0, aggregate(BookingColumnStore.Filter.all(), Set.of()).get(0).getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void testChanges_ManyBookingsKeepTheirRows() {
+        for (long id = 1; id <= 5000; id++) {
+            store.track(booking(id, Booking.BookingStatus.PENDING, Booking.ServiceType.BASIC_WASH, TUESDAY, 1.0));
+        }
+        for (long id = 3; id <= 5000; id += 3) {
+            store.untrack(id);
+        }
+        for (long id = 2; id <= 5000; id += 3) {
+            store.updateStatus(id, Booking.BookingStatus.CANCELLED);
+        }
+
+        List<BookingAggregate> groups = aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.STATUS));
+        assertEquals(3334, store.size());
+        assertEquals(Booking.BookingStatus.PENDING, groups.get(0).getStatus());
+        assertEquals(1667, groups.get(0).getBookings());
+        assertEquals(Booking.BookingStatus.CANCELLED, groups.get(1).getStatus());
+        assertEquals(1667, groups.get(1).getBookings());
+    }
+
+    @Test
+    void testAggregate_RejectsBadQueries() {
+        assertThrows(IllegalArgumentException.class, () -> store.aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.of(BookingColumnStore.Dimension.PRICE_BUCKET), 0));
+        assertThrows(IllegalArgumentException.class, () -> store.aggregate(BookingColumnStore.Filter.all(),
+            EnumSet.allOf(BookingColumnStore.Dimension.class), 10));
+        assertEquals(BookingColumnStore.Dimension.HOUR_OF_DAY, BookingColumnStore.Dimension.from("hourOfDay"));
+        assertThrows(IllegalArgumentException.class, () -> BookingColumnStore.Dimension.from("customer"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dispatches real bookings to concurrently waiting providers
+ * Runs outside the test transaction so every create and claim commits on its own
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class, BookingDispatcher.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingDispatcherTest {
+
+    @Autowired
+    private BookingDispatcher bookingDispatcher;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PendingDispatchQueue dispatchQueue;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        dispatchQueue.load();
+    }
+
+    private Booking createBooking(LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(scheduledTime);
+        return bookingService.createBooking(booking);
+    }
+
+    @Test
+    void testWaitingProviderGetsNewBooking() throws Exception {
+        CompletableFuture<Optional<Booking>> next = bookingDispatcher.next(200L, Duration.ofSeconds(10));
+
+        Booking created = createBooking(LocalDateTime.now().plusDays(1));
+
+        Booking dispatched = next.get(10, TimeUnit.SECONDS).orElseThrow();
+        assertEquals(created.getId(), dispatched.getId());
+        assertEquals(200L, dispatched.getProviderId());
+        assertEquals(Booking.BookingStatus.ACCEPTED, dispatched.getStatus());
+    }
+
+    @Test
+    void testZeroWaitStillTakesQueuedBooking() throws Exception {
+        Booking created = createBooking(LocalDateTime.now().plusDays(2));
+
+        Booking dispatched = bookingDispatcher.next(201L, Duration.ZERO).get(5, TimeUnit.SECONDS).orElseThrow();
+
+        assertEquals(created.getId(), dispatched.getId());
+        assertEquals(201L, dispatched.getProviderId());
+    }
+
+    @Test
+    void testCancelledBookingIsNotDispatched() throws Exception {
+        Booking created = createBooking(LocalDateTime.now().plusDays(1));
+        bookingService.transitionStatus(created.getId(), Booking.BookingStatus.CANCELLED);
+
+        assertTrue(bookingDispatcher.next(200L, Duration.ofMillis(100)).get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    void testReleasedBookingIsDispatchedAgain() throws Exception {
+        Booking created = createBooking(LocalDateTime.now().plusDays(1));
+        Booking dispatched = bookingDispatcher.next(300L, Duration.ZERO).get(5, TimeUnit.SECONDS).orElseThrow();
+
+        bookingDispatcher.release(dispatched);
+
+        Booking released = bookingRepository.findById(created.getId()).orElseThrow();
+        assertEquals(Booking.BookingStatus.PENDING, released.getStatus());
+        assertNull(released.getProviderId());
+        Booking redispatched = bookingDispatcher.next(301L, Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS).orElseThrow();
+        assertEquals(created.getId(), redispatched.getId());
+        assertEquals(301L, redispatched.getProviderId());
+    }
+
+    @Test
+    void testReleaseLeavesBookingThatChangedSince() throws Exception {
+        Booking created = createBooking(LocalDateTime.now().plusDays(1));
+        Booking dispatched = bookingDispatcher.next(310L, Duration.ZERO).get(5, TimeUnit.SECONDS).orElseThrow();
+        bookingService.transitionStatus(created.getId(), Booking.BookingStatus.CANCELLED);
+
+        bookingDispatcher.release(dispatched);
+
+        assertEquals(Booking.BookingStatus.CANCELLED,
+            bookingRepository.findById(created.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testEachBookingDispatchedOnce() throws Exception {
+        int providers = 8;
+        List<CompletableFuture<Optional<Booking>>> waits = new ArrayList<>();
+        for (long providerId = 1; providerId <= providers; providerId++) {
+            waits.add(bookingDispatcher.next(providerId, Duration.ofSeconds(2)));
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < providers / 2; i++) {
+            createBooking(base.plusHours(i));
+        }
+
+        Set<Long> dispatched = new HashSet<>();
+        for (CompletableFuture<Optional<Booking>> wait : waits) {
+            wait.get(10, TimeUnit.SECONDS).ifPresent(booking -> assertTrue(dispatched.add(booking.getId())));
+        }
+        assertEquals(providers / 2, dispatched.size());
+        assertEquals(providers / 2, bookingRepository.findByStatus(Booking.BookingStatus.ACCEPTED).size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookingExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingExportServiceTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Booking booking = new Booking();
+            booking.setCustomerId(100L + i);
+            booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+            booking.setScheduledTime(LocalDateTime.of(2030, 1, 1, 10, 0).plusHours(i));
+            booking.setLocation(i == 0 ? "Main St, \"Bay 2\"" : "Delhi");
+            booking.setPrice(199.0);
+            bookingRepository.save(booking);
+        }
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.exportBookings(BookingExportService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+        assertTrue(lines[0].contains("\"customerId\":100"));
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.exportBookings(BookingExportService.ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,customerId"));
+        assertTrue(lines[1].contains("\"Main St, \"\"Bay 2\"\"\""));
+    }
+
+    @Test
+    void testCsvValue() {
+        assertEquals("", BookingExportService.csvValue(null));
+        assertEquals("plain", BookingExportService.csvValue("plain"));
+        assertEquals("\"a,b\"", BookingExportService.csvValue("a,b"));
+    }
+
+    @Test
+    void testExportFormatFrom() {
+        assertEquals(BookingExportService.ExportFormat.CSV, BookingExportService.ExportFormat.from("csv"));
+        assertThrows(IllegalArgumentException.class, () -> BookingExportService.ExportFormat.from("xml"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingGeoIndexTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingGeoIndex index = new BookingGeoIndex(bookingRepository);
+
+    private Booking booking(long id, double latitude, double longitude, Booking.BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setLatitude(latitude);
+        booking.setLongitude(longitude);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static List<Long> ids(List<BookingGeoIndex.Hit> hits) {
+        return hits.stream().map(BookingGeoIndex.Hit::getBookingId).toList();
+    }
+
+    @Test
+    void testDistanceKm() {
+        // London to Paris
+        assertEquals(343.5, BookingGeoIndex.distanceKm(51.5074, -0.1278, 48.8566, 2.3522), 1.0);
+        assertEquals(0.0, BookingGeoIndex.distanceKm(10, 10, 10, 10), 1e-9);
+    }
+
+    @Test
+    void testFindNearby_NearestFirstWithinRadius() {
+        index.track(booking(1L, 52.5200, 13.4050, Booking.BookingStatus.PENDING));
+        index.track(booking(2L, 52.5300, 13.4050, Booking.BookingStatus.PENDING));
+        index.track(booking(3L, 52.5210, 13.4060, Booking.BookingStatus.PENDING));
+        index.track(booking(4L, 53.5511, 9.9937, Booking.BookingStatus.PENDING));
+
+        List<BookingGeoIndex.Hit> hits = index.findNearby(52.5200, 13.4050, 5, Booking.BookingStatus.PENDING, 10);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(hits));
+        assertEquals(0.0, hits.get(0).getDistanceKm(), 1e-9);
+        assertEquals(1.11, hits.get(2).getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void testFindNearby_FiltersStatusAndLimits() {
+        index.track(booking(1L, 40.0, -74.0, Booking.BookingStatus.ACCEPTED));
+        index.track(booking(2L, 40.001, -74.0, Booking.BookingStatus.PENDING));
+        index.track(booking(3L, 40.002, -74.0, Booking.BookingStatus.PENDING));
+
+        assertEquals(List.of(2L), ids(index.findNearby(40.0, -74.0, 1, Booking.BookingStatus.PENDING, 1)));
+        assertEquals(List.of(1L), ids(index.findNearby(40.0, -74.0, 1, Booking.BookingStatus.ACCEPTED, 10)));
+    }
+
+    @Test
+    void testFindNearby_CrossesCellAndAntimeridianBoundaries() {
+        index.track(booking(1L, -16.0, 179.99, Booking.BookingStatus.PENDING));
+        index.track(booking(2L, -16.0, -179.99, Booking.BookingStatus.PENDING));
+
+        List<BookingGeoIndex.Hit> hits = index.findNearby(-16.0, 179.995, 5, Booking.BookingStatus.PENDING, 10);
+
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    void testTrack_MovesAndDropsBookings() {
+        index.track(booking(1L, 10.0, 10.0, Booking.BookingStatus.PENDING));
+        index.track(booking(1L, 20.0, 20.0, Booking.BookingStatus.PENDING));
+
+        assertTrue(index.findNearby(10.0, 10.0, 5, Booking.BookingStatus.PENDING, 10).isEmpty());
+        assertEquals(1, index.findNearby(20.0, 20.0, 5, Booking.BookingStatus.PENDING, 10).size());
+
+        index.updateStatus(1L, Booking.BookingStatus.ACCEPTED);
+        assertEquals(1, index.findNearby(20.0, 20.0, 5, Booking.BookingStatus.ACCEPTED, 10).size());
+
+        index.updateStatus(1L, Booking.BookingStatus.COMPLETED);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRebuild_SkipsBookingsWithoutCoordinates() {
+        Booking withoutCoordinates = new Booking();
+        withoutCoordinates.setId(2L);
+        when(bookingRepository.findByStatusIn(BookingGeoIndex.INDEXED_STATUSES))
+                .thenReturn(List.of(booking(1L, 1.0, 1.0, Booking.BookingStatus.PENDING), withoutCoordinates));
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,163 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingDomainEvent;
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingOutboxRepository;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that booking changes reach the publisher through the outbox against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class, BookingOutboxRelay.class, BookingOutboxRelayTest.RecordingPublisher.class})
+// The scheduled relay would otherwise drain the outbox while a test is still inspecting it
+@TestPropertySource(properties = {"booking.outbox.batch-size=2", "booking.outbox.relay-interval-ms=3600000"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingOutboxRelayTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingOutboxRelay relay;
+
+    @Autowired
+    private RecordingPublisher publisher;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        outboxRepository.deleteAll();
+        publisher.batches.clear();
+        publisher.failing = false;
+    }
+
+    private static Booking newBooking(int daysAhead) {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(LocalDateTime.now().plusDays(daysAhead));
+        return booking;
+    }
+
+    private List<BookingDomainEvent> published() {
+        return publisher.batches.stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void testRelay_PublishesChangesInOrderAndEmptiesOutbox() {
+        Long id = bookingService.createBooking(newBooking(1)).getId();
+        bookingService.assignProvider(id, 7L);
+        bookingService.transitionStatus(id, Booking.BookingStatus.COMPLETED);
+
+        assertEquals(3, relay.relay());
+
+        List<BookingDomainEvent> events = published();
+        assertEquals(List.of(BookingDomainEvent.Type.CREATED, BookingDomainEvent.Type.STATUS_CHANGED,
+            BookingDomainEvent.Type.STATUS_CHANGED), events.stream().map(BookingDomainEvent::getType).toList());
+        assertEquals(List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED,
+            Booking.BookingStatus.COMPLETED), events.stream().map(BookingDomainEvent::getStatus).toList());
+        assertTrue(events.stream().allMatch(event -> id.equals(event.getBookingId()) && event.getId() != null));
+        assertEquals(7L, events.get(2).getProviderId());
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void testRolledBackChange_LeavesNoEvent() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            bookingService.createBooking(newBooking(1));
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void testBatchCreate_RecordsOneEventPerBooking() {
+        bookingService.createBookings(List.of(newBooking(1), newBooking(2), newBooking(3)));
+
+        assertEquals(3, outboxRepository.count());
+    }
+
+    @Test
+    void testRelay_DrainsInBatches() {
+        for (int day = 1; day <= 5; day++) {
+            bookingService.createBooking(newBooking(day));
+        }
+
+        assertEquals(5, relay.relay());
+
+        assertEquals(List.of(2, 2, 1), publisher.batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void testPublisherFailure_KeepsEventsForNextRun() {
+        Long id = bookingService.createBooking(newBooking(1)).getId();
+        publisher.failing = true;
+
+        assertThrows(IllegalStateException.class, () -> relay.relay());
+        assertEquals(1, outboxRepository.count());
+
+        publisher.failing = false;
+        assertEquals(1, relay.relay());
+        assertEquals(id, published().get(0).getBookingId());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void testDelete_PublishesDeletedEvent() {
+        Long id = bookingService.createBooking(newBooking(1)).getId();
+        bookingService.deleteBooking(id);
+
+        relay.relay();
+
+        assertEquals(BookingDomainEvent.Type.DELETED, published().get(1).getType());
+    }
+
+    /**
+     * In-process stand-in publisher that records every batch it is given
+     */
+    static class RecordingPublisher implements BookingEventPublisher {
+        final List<List<BookingDomainEvent>> batches = new ArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public synchronized void publish(List<BookingDomainEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("Publisher unavailable");
+            }
+            batches.add(List.copyOf(events));
+        }
+    }
+}
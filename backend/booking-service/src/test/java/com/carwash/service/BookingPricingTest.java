@@ -0,0 +1,117 @@
+package com.carwash.service;
+
+import com.carwash.dto.PriceQuote;
+import com.carwash.entity.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingPricingTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    // Hourly slots for one day ahead; demand over the last two hours, one surge step per two bookings
+    private final BookingPricing pricing = new BookingPricing(20, 35, 100, 60, 1, Duration.ofHours(2), 12, 2, 0.5, 2.0);
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long slot(LocalDateTime time) {
+        return seconds(time) / 3600;
+    }
+
+    private void book(LocalDateTime scheduledTime, int times, LocalDateTime at) {
+        for (int i = 0; i < times; i++) {
+            pricing.recordDemand(scheduledTime, seconds(at));
+        }
+    }
+
+    @Test
+    void testQuote_BasePriceWithoutDemand() {
+        PriceQuote quote = pricing.quote(Booking.ServiceType.PREMIUM_WASH, NOW.plusHours(3));
+
+        assertEquals(35.0, quote.getBasePrice(), 0.001);
+        assertEquals(1.0, quote.getMultiplier(), 0.001);
+        assertEquals(35.0, quote.getPrice(), 0.001);
+    }
+
+    @Test
+    void testPublish_SurgesBusySlotsOnly() {
+        book(NOW.plusHours(3), 3, NOW);
+        book(NOW.plusHours(3).plusMinutes(30), 1, NOW);
+        book(NOW.plusHours(4), 1, NOW);
+        pricing.publish(seconds(NOW));
+
+        PriceQuote busy = pricing.quote(Booking.ServiceType.FULL_DETAIL, NOW.plusHours(3).plusMinutes(15));
+        assertEquals(2.0, busy.getMultiplier(), 0.001);
+        assertEquals(200.0, busy.getPrice(), 0.001);
+        assertEquals(20.0, pricing.price(Booking.ServiceType.BASIC_WASH, NOW.plusHours(4)), 0.001);
+    }
+
+    @Test
+    void testMultiplier_StepsAndCap() {
+        assertEquals(1.0, pricing.multiplier(1), 0.001);
+        assertEquals(1.5, pricing.multiplier(2), 0.001);
+        assertEquals(1.5, pricing.multiplier(3), 0.001);
+        assertEquals(2.0, pricing.multiplier(50), 0.001);
+    }
+
+    @Test
+    void testDemand_SlidesOutOfWindow() {
+        LocalDateTime slot = NOW.plusHours(6);
+        book(slot, 2, NOW);
+        book(slot, 1, NOW.plusMinutes(90));
+
+        assertEquals(3, pricing.demand(slot(slot), seconds(NOW.plusMinutes(90))));
+        assertEquals(1, pricing.demand(slot(slot), seconds(NOW.plusHours(2))));
+        assertEquals(0, pricing.demand(slot(slot), seconds(NOW.plusHours(4))));
+    }
+
+    @Test
+    void testDemand_IgnoresSlotsOutsideHorizon() {
+        book(NOW.minusHours(1), 5, NOW);
+        book(NOW.plusDays(2), 5, NOW);
+
+        assertEquals(0, pricing.demand(slot(NOW.minusHours(1)), seconds(NOW)));
+        assertEquals(0, pricing.demand(slot(NOW.plusDays(2)), seconds(NOW)));
+    }
+
+    @Test
+    void testDemand_RingReusedByNextDaySlotStartsEmpty() {
+        // Same ring as today's 08:00 slot, which still has counts inside the window
+        book(NOW, 4, NOW);
+        LocalDateTime later = NOW.plusHours(1);
+
+        assertEquals(0, pricing.demand(slot(NOW.plusDays(1)), seconds(later)));
+        book(NOW.plusDays(1), 1, later);
+        assertEquals(1, pricing.demand(slot(NOW.plusDays(1)), seconds(later)));
+    }
+
+    @Test
+    void testRecordDemand_ConcurrentCountsNotLost() throws Exception {
+        LocalDateTime slot = NOW.plusHours(2);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> book(slot, 1000, NOW)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8000, pricing.demand(slot(slot), seconds(NOW)));
+    }
+
+    @Test
+    void testQuote_RequiresServiceTypeAndTime() {
+        assertThrows(IllegalArgumentException.class, () -> pricing.quote(null, NOW));
+        assertThrows(IllegalArgumentException.class, () -> pricing.quote(Booking.ServiceType.BASIC_WASH, null));
+    }
+}
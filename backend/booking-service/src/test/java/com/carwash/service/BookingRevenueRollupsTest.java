@@ -0,0 +1,164 @@
+package com.carwash.service;
+
+import com.carwash.dto.RevenueRow;
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingDailyRollupRepository;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the maintained revenue rollup against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingRevenueRollupsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRevenueRollups revenueRollups;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Deleting through the service keeps the in-memory indexes in step and nets every rollup row back to zero;
+    // the rows themselves stay, since the rollup remembers which rows exist
+    @AfterEach
+    void tearDown() {
+        for (Booking booking : bookingRepository.findAll()) {
+            bookingService.deleteBooking(booking.getId());
+        }
+    }
+
+    // Prices are quoted by the server; these slots are past the surge horizon, so they get the base price
+    private Booking complete(Long providerId, Booking.ServiceType serviceType, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(serviceType);
+        booking.setScheduledTime(scheduledTime);
+        Long id = bookingService.createBooking(booking).getId();
+        bookingService.assignProvider(id, providerId);
+        bookingService.transitionStatus(id, Booking.BookingStatus.COMPLETED);
+        return bookingRepository.findById(id).orElseThrow();
+    }
+
+    private List<RevenueRow> revenue(Set<BookingRevenueRollups.Dimension> groupBy) {
+        return revenueRollups.revenue(DAY, DAY.plusDays(2), groupBy);
+    }
+
+    @Test
+    void testCompletion_AddsToRollup() {
+        complete(1L, Booking.ServiceType.BASIC_WASH, DAY.atTime(9, 0));
+        complete(1L, Booking.ServiceType.FULL_DETAIL, DAY.atTime(12, 0));
+        complete(2L, Booking.ServiceType.BASIC_WASH, DAY.plusDays(1).atTime(9, 0));
+
+        List<RevenueRow> byDay = revenue(EnumSet.of(BookingRevenueRollups.Dimension.DAY));
+        assertEquals(2, byDay.size());
+        assertEquals(DAY, byDay.get(0).getDay());
+        assertEquals(2, byDay.get(0).getCompletedBookings());
+        assertEquals(120.0, byDay.get(0).getRevenue(), 0.001);
+        assertNull(byDay.get(0).getServiceType());
+
+        List<RevenueRow> byType = revenue(EnumSet.of(BookingRevenueRollups.Dimension.SERVICE_TYPE));
+        assertEquals(Booking.ServiceType.BASIC_WASH, byType.get(0).getServiceType());
+        assertEquals(40.0, byType.get(0).getRevenue(), 0.001);
+
+        List<RevenueRow> byProvider = revenue(EnumSet.of(BookingRevenueRollups.Dimension.PROVIDER));
+        assertEquals(2L, byProvider.get(1).getProviderId());
+        assertEquals(1, byProvider.get(1).getCompletedBookings());
+
+        List<RevenueRow> total = revenue(EnumSet.noneOf(BookingRevenueRollups.Dimension.class));
+        assertEquals(1, total.size());
+        assertEquals(140.0, total.get(0).getRevenue(), 0.001);
+    }
+
+    @Test
+    void testNotCompleted_NotCounted() {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(DAY.atTime(15, 0));
+        Long id = bookingService.createBooking(booking).getId();
+        bookingService.transitionStatus(id, Booking.BookingStatus.CANCELLED);
+
+        assertEquals(0, revenue(EnumSet.noneOf(BookingRevenueRollups.Dimension.class)).get(0).getCompletedBookings());
+    }
+
+    @Test
+    void testDeleteAndEdit_MoveContribution() {
+        Booking first = complete(3L, Booking.ServiceType.BASIC_WASH, DAY.atTime(9, 0));
+        Booking second = complete(3L, Booking.ServiceType.BASIC_WASH, DAY.atTime(11, 0));
+
+        Booking edit = new Booking();
+        edit.setStatus(null);
+        edit.setServiceType(Booking.ServiceType.PREMIUM_WASH);
+        edit.setScheduledTime(DAY.plusDays(1).atTime(11, 0));
+        bookingService.updateBooking(second.getId(), edit);
+        bookingService.deleteBooking(first.getId());
+
+        List<RevenueRow> byDay = revenue(EnumSet.of(BookingRevenueRollups.Dimension.DAY));
+        assertEquals(1, byDay.size());
+        assertEquals(DAY.plusDays(1), byDay.get(0).getDay());
+        assertEquals(35.0, byDay.get(0).getRevenue(), 0.001);
+    }
+
+    @Test
+    void testReconcile_RepairsDrift() {
+        complete(4L, Booking.ServiceType.BASIC_WASH, DAY.atTime(9, 0));
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx ->
+            rollupRepository.increment(DAY, Booking.ServiceType.BASIC_WASH.name(), 4L, 3, 99.0));
+
+        assertEquals(1, revenueRollups.reconcile(DAY, DAY.plusDays(2)));
+        assertEquals(0, revenueRollups.reconcile(DAY, DAY.plusDays(2)));
+
+        RevenueRow total = revenue(EnumSet.noneOf(BookingRevenueRollups.Dimension.class)).get(0);
+        assertEquals(1, total.getCompletedBookings());
+        assertEquals(20.0, total.getRevenue(), 0.001);
+    }
+
+    @Test
+    void testRevenue_RejectsBadRange() {
+        Set<BookingRevenueRollups.Dimension> byDay = EnumSet.of(BookingRevenueRollups.Dimension.DAY);
+
+        assertThrows(IllegalArgumentException.class, () -> revenueRollups.revenue(DAY, DAY, byDay));
+        assertThrows(IllegalArgumentException.class, () -> revenueRollups.revenue(DAY, DAY.plusYears(2), byDay));
+    }
+
+    @Test
+    void testDimension_ParsesRequestNames() {
+        assertEquals(BookingRevenueRollups.Dimension.SERVICE_TYPE, BookingRevenueRollups.Dimension.from("serviceType"));
+        assertEquals(BookingRevenueRollups.Dimension.PROVIDER, BookingRevenueRollups.Dimension.from("PROVIDER"));
+        assertThrows(IllegalArgumentException.class, () -> BookingRevenueRollups.Dimension.from("customer"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.carwash.service;
+
+import com.carwash.dto.BulkTransitionResponse;
+import com.carwash.dto.BulkTransitionResult;
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the bulk status operations against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceBulkTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(3).withHour(0).withMinute(0)
+            .withSecond(0).withNano(0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ProviderBookingCounters counters;
+
+    @Autowired
+    private BookingRevenueRollups revenueRollups;
+
+    // Deleting through the service also drops the bookings from the schedule index and the other
+    // in-memory structures, which outlive each test
+    @AfterEach
+    void tearDown() {
+        for (Booking booking : bookingRepository.findAll()) {
+            bookingService.deleteBooking(booking.getId());
+        }
+    }
+
+    private Long create(Long customerId, Long providerId, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(customerId);
+        booking.setProviderId(providerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(scheduledTime);
+        return bookingService.createBooking(booking).getId();
+    }
+
+    private Booking.BookingStatus status(Long id) {
+        return bookingRepository.findStatusById(id).orElseThrow();
+    }
+
+    @Test
+    void testCancelPendingBookingsOfCustomer_LeavesOtherStatusesAndCustomers() {
+        Long first = create(100L, 7L, DAY.plusHours(9));
+        Long second = create(100L, null, DAY.plusHours(12));
+        Long accepted = create(100L, null, DAY.plusHours(15));
+        bookingService.assignProvider(accepted, 8L);
+        Long otherCustomer = create(200L, 7L, DAY.plusHours(18));
+
+        BulkTransitionResponse response = bookingService.cancelPendingBookingsOfCustomer(100L);
+
+        assertEquals(2, response.getTransitioned());
+        assertEquals(List.of(first, second),
+                response.getResults().stream().map(BulkTransitionResult::getBookingId).toList());
+        assertEquals(Booking.BookingStatus.CANCELLED, status(first));
+        assertEquals(Booking.BookingStatus.CANCELLED, status(second));
+        assertEquals(Booking.BookingStatus.ACCEPTED, status(accepted));
+        assertEquals(Booking.BookingStatus.PENDING, status(otherCustomer));
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.PENDING));
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.CANCELLED));
+        assertEquals(0, bookingService.cancelPendingBookingsOfCustomer(100L).getTransitioned());
+    }
+
+    @Test
+    void testCancelProviderBookingsInRange_CancelsOpenBookingsInWindow() {
+        Long pending = create(100L, 7L, DAY.plusHours(9));
+        Long accepted = create(101L, null, DAY.plusHours(12));
+        bookingService.assignProvider(accepted, 7L);
+        Long completed = create(102L, null, DAY.plusHours(15));
+        bookingService.assignProvider(completed, 7L);
+        bookingService.transitionStatus(completed, Booking.BookingStatus.COMPLETED);
+        Long nextDay = create(103L, 7L, DAY.plusDays(1).plusHours(9));
+        Long otherProvider = create(104L, 8L, DAY.plusHours(9));
+
+        BulkTransitionResponse response = bookingService.cancelProviderBookingsInRange(7L, DAY, DAY.plusDays(1));
+
+        assertEquals(2, response.getTransitioned());
+        assertEquals(List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED),
+                response.getResults().stream().map(BulkTransitionResult::getPreviousStatus).toList());
+        assertEquals(Booking.BookingStatus.CANCELLED, status(pending));
+        assertEquals(Booking.BookingStatus.CANCELLED, status(accepted));
+        assertEquals(Booking.BookingStatus.COMPLETED, status(completed));
+        assertEquals(Booking.BookingStatus.PENDING, status(nextDay));
+        assertEquals(Booking.BookingStatus.PENDING, status(otherProvider));
+        assertEquals(0, counters.count(7L, Booking.BookingStatus.ACCEPTED));
+        assertEquals(2, counters.count(7L, Booking.BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void testCancelProviderBookingsInRange_RejectsTooLongRange() {
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.cancelProviderBookingsInRange(7L, DAY, DAY.plusDays(BookingService.MAX_RANGE_DAYS + 1)));
+    }
+
+    @Test
+    void testTransitionStatuses_ReportsEveryBookingInRequestOrder() {
+        Long accepted = create(100L, null, DAY.plusHours(9));
+        bookingService.assignProvider(accepted, 7L);
+        Long pending = create(100L, 7L, DAY.plusHours(12));
+        Long done = create(100L, null, DAY.plusHours(15));
+        bookingService.assignProvider(done, 7L);
+        bookingService.transitionStatus(done, Booking.BookingStatus.COMPLETED);
+
+        BulkTransitionResponse response = bookingService.transitionStatuses(
+                List.of(pending, accepted, 999_999L, done, accepted), Booking.BookingStatus.COMPLETED);
+
+        assertEquals(List.of(pending, accepted, 999_999L, done),
+                response.getResults().stream().map(BulkTransitionResult::getBookingId).toList());
+        assertEquals(List.of(BulkTransitionResult.Outcome.REJECTED, BulkTransitionResult.Outcome.TRANSITIONED,
+                        BulkTransitionResult.Outcome.NOT_FOUND, BulkTransitionResult.Outcome.UNCHANGED),
+                response.getResults().stream().map(BulkTransitionResult::getOutcome).toList());
+        assertEquals(1, response.getTransitioned());
+        assertEquals(3, response.getSkipped());
+        assertEquals(Booking.BookingStatus.COMPLETED, status(accepted));
+        assertEquals(Booking.BookingStatus.PENDING, status(pending));
+        assertEquals(2, counters.count(7L, Booking.BookingStatus.COMPLETED));
+        assertEquals(2, revenueRollups.revenue(DAY.toLocalDate(), DAY.toLocalDate().plusDays(1), Set.of())
+                .get(0).getCompletedBookings());
+    }
+
+    @Test
+    void testTransitionStatuses_RejectsEmptyAndOversizedLists() {
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.transitionStatuses(List.of(), Booking.BookingStatus.CANCELLED));
+        List<Long> tooMany = LongStream.rangeClosed(1, BookingService.MAX_BATCH_SIZE + 1)
+                .boxed().toList();
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.transitionStatuses(tooMany, Booking.BookingStatus.CANCELLED));
+    }
+}
@@ -0,0 +1,91 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races many providers for the same booking against a real database
+ * Runs outside the test transaction so every claim commits on its own connection
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void testAssignProvider_ExactlyOneWinner() throws Exception {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(LocalDateTime.now().plusDays(1));
+        Long bookingId = bookingService.createBooking(booking).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> attempts = new ArrayList<>();
+        for (long providerId = 1; providerId <= THREADS; providerId++) {
+            long candidate = providerId;
+            Callable<Long> claim = () -> {
+                start.await();
+                try {
+                    return bookingService.assignProvider(bookingId, candidate).getProviderId();
+                } catch (IllegalStateException e) {
+                    return null;
+                }
+            };
+            attempts.add(executor.submit(claim));
+        }
+        start.countDown();
+
+        List<Long> winners = new ArrayList<>();
+        for (Future<Long> attempt : attempts) {
+            Long winner = attempt.get(30, TimeUnit.SECONDS);
+            if (winner != null) {
+                winners.add(winner);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners.size());
+        Booking stored = bookingRepository.findById(bookingId).orElseThrow();
+        assertEquals(Booking.BookingStatus.ACCEPTED, stored.getStatus());
+        assertEquals(winners.get(0), stored.getProviderId());
+        assertEquals(1L, stored.getVersion());
+    }
+}
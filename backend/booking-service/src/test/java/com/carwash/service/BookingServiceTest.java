@@ -1,5 +1,13 @@
 package com.carwash.service;
 
+import com.carwash.dto.BookingCursor;
+import com.carwash.dto.BookingDomainEvent;
+import com.carwash.dto.BookingPage;
+import com.carwash.dto.NearbyBooking;
+import com.carwash.dto.BatchBookingResponse;
+import com.carwash.dto.BatchBookingResult;
+import com.carwash.dto.ProviderStats;
+import com.carwash.dto.BookingSummary;
 import com.carwash.entity.Booking;
 import com.carwash.repository.BookingRepository;
 import org.junit.jupiter.api.Test;
@@ -7,12 +15,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Collections;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,6 +39,39 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ProviderScheduleIndex scheduleIndex;
+
+    @Mock
+    private ProviderBookingCounters counters;
+
+    @Mock
+    private PendingDispatchQueue dispatchQueue;
+
+    @Mock
+    private BookingEventBroadcaster eventBroadcaster;
+
+    @Mock
+    private BookingGeoIndex geoIndex;
+
+    @Mock
+    private BookingRevenueRollups revenueRollups;
+
+    @Mock
+    private BookingColumnStore columnStore;
+
+    @Mock
+    private BookingPricing pricing;
+
+    @Mock
+    private BookingTimerWheel timers;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @Spy
+    private BookingCache bookingCache = new BookingCache(100, 100, Duration.ofMinutes(1));
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -117,54 +165,6 @@ class BookingServiceTest {
         verify(bookingRepository).findById(1L);
     }
 
-    @Test
-    void testGetAllBookings() {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findAll()).thenReturn(bookings);
-
-        List<Booking> result = bookingService.getAllBookings();
-
-        assertEquals(1, result.size());
-        assertEquals(testBooking, result.get(0));
-        verify(bookingRepository).findAll();
-    }
-
-    @Test
-    void testGetBookingsByCustomerId() {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByCustomerId(100L)).thenReturn(bookings);
-
-        List<Booking> result = bookingService.getBookingsByCustomerId(100L);
-
-        assertEquals(1, result.size());
-        assertEquals(testBooking, result.get(0));
-        verify(bookingRepository).findByCustomerId(100L);
-    }
-
-    @Test
-    void testGetBookingsByProviderId() {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByProviderId(200L)).thenReturn(bookings);
-
-        List<Booking> result = bookingService.getBookingsByProviderId(200L);
-
-        assertEquals(1, result.size());
-        assertEquals(testBooking, result.get(0));
-        verify(bookingRepository).findByProviderId(200L);
-    }
-
-    @Test
-    void testGetBookingsByStatus() {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByStatus(Booking.BookingStatus.PENDING)).thenReturn(bookings);
-
-        List<Booking> result = bookingService.getBookingsByStatus(Booking.BookingStatus.PENDING);
-
-        assertEquals(1, result.size());
-        assertEquals(testBooking, result.get(0));
-        verify(bookingRepository).findByStatus(Booking.BookingStatus.PENDING);
-    }
-
     @Test
     void testUpdateBooking_Success() {
         Booking updatedBooking = new Booking();
@@ -197,78 +197,143 @@ class BookingServiceTest {
 
     @Test
     void testUpdateBookingStatus_Success() {
+        when(bookingRepository.transitionStatus(eq(1L), eq(Booking.BookingStatus.COMPLETED), anyCollection()))
+                .thenReturn(1);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
 
         Booking result = bookingService.updateBookingStatus(1L, Booking.BookingStatus.COMPLETED);
 
         assertNotNull(result);
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).transitionStatus(1L, Booking.BookingStatus.COMPLETED,
+                Set.of(Booking.BookingStatus.ACCEPTED));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).findStateById(any());
+        verify(bookingRepository, never()).findStatusById(any());
+        verify(scheduleIndex).untrack(1L);
+        verify(counters).move(null, Booking.BookingStatus.ACCEPTED, null, Booking.BookingStatus.COMPLETED);
+        verify(outbox).record(argThat(event -> event.getType() == BookingDomainEvent.Type.STATUS_CHANGED
+                && event.getStatus() == Booking.BookingStatus.COMPLETED));
     }
 
     @Test
     void testAssignProvider_Success() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        Booking claimed = acceptedBy(200L);
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.claimBooking(1L, 200L, null,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED)).thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(claimed));
 
         Booking result = bookingService.assignProvider(1L, 200L);
 
-        assertNotNull(result);
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(200L, result.getProviderId());
+        assertEquals(Booking.BookingStatus.ACCEPTED, result.getStatus());
+        verify(scheduleIndex).track(claimed);
+        verify(counters).move(null, Booking.BookingStatus.PENDING, 200L, Booking.BookingStatus.ACCEPTED);
+    }
+
+    @Test
+    void testAssignProvider_SingleGuardedStatementDecidesTheWinner() {
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.claimBooking(1L, 200L, null,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED)).thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(acceptedBy(200L)));
+
+        bookingService.assignProvider(1L, 200L);
+
+        verify(bookingRepository, times(1)).claimBooking(1L, 200L, null,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED);
+        verify(bookingRepository, never()).save(any());
+        verify(bookingRepository, never()).findStatusById(any());
+    }
+
+    @Test
+    void testAssignProvider_MovesCountersFromPreviousProvider() {
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.of(150L));
+        when(bookingRepository.claimBooking(1L, 200L, 150L,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED)).thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(acceptedBy(200L)));
+
+        bookingService.assignProvider(1L, 200L);
+
+        verify(counters).move(150L, Booking.BookingStatus.PENDING, 200L, Booking.BookingStatus.ACCEPTED);
+    }
+
+    @Test
+    void testAssignProvider_RetriesWhenProviderChangedBeforeTheClaim() {
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.empty(), Optional.of(150L));
+        when(bookingRepository.claimBooking(eq(1L), eq(200L), any(),
+                eq(Booking.BookingStatus.PENDING), eq(Booking.BookingStatus.ACCEPTED))).thenReturn(0, 1);
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(Booking.BookingStatus.PENDING));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(acceptedBy(200L)));
+
+        bookingService.assignProvider(1L, 200L);
+
+        verify(bookingRepository, times(2)).claimBooking(eq(1L), eq(200L), any(),
+                eq(Booking.BookingStatus.PENDING), eq(Booking.BookingStatus.ACCEPTED));
+        verify(counters).move(150L, Booking.BookingStatus.PENDING, 200L, Booking.BookingStatus.ACCEPTED);
     }
 
     @Test
     void testAssignProvider_NotPending() {
-        testBooking.setStatus(Booking.BookingStatus.COMPLETED);
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.of(300L));
+        when(bookingRepository.claimBooking(1L, 200L, 300L,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED)).thenReturn(0);
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(Booking.BookingStatus.ACCEPTED));
 
         IllegalStateException exception = assertThrows(
                 IllegalStateException.class,
                 () -> bookingService.assignProvider(1L, 200L));
 
         assertTrue(exception.getMessage().contains("pending"));
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository, never()).save(any());
+        verify(bookingRepository, never()).findById(any());
+        verify(counters, never()).move(any(), any(), any(), any());
+    }
+
+    private Booking acceptedBy(Long providerId) {
+        testBooking.setProviderId(providerId);
+        testBooking.setStatus(Booking.BookingStatus.ACCEPTED);
+        return testBooking;
     }
 
     @Test
     void testDeleteBooking_Success() {
-        when(bookingRepository.existsById(1L)).thenReturn(true);
+        testBooking.setProviderId(200L);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
 
         assertDoesNotThrow(() -> bookingService.deleteBooking(1L));
 
-        verify(bookingRepository).existsById(1L);
-        verify(bookingRepository).deleteById(1L);
+        verify(bookingRepository).findById(1L);
+        verify(bookingRepository).delete(testBooking);
+        verify(counters).decrement(200L, testBooking.getStatus());
     }
 
     @Test
     void testDeleteBooking_NotFound() {
-        when(bookingRepository.existsById(1L)).thenReturn(false);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> bookingService.deleteBooking(1L));
 
         assertTrue(exception.getMessage().contains("not found"));
-        verify(bookingRepository).existsById(1L);
-        verify(bookingRepository, never()).deleteById(any());
+        verify(bookingRepository).findById(1L);
+        verify(bookingRepository, never()).delete(any());
+        verify(counters, never()).decrement(any(), any());
     }
 
     @Test
     void testGetBookingCountByProviderAndStatus() {
-        when(bookingRepository.countByProviderIdAndStatus(200L, Booking.BookingStatus.COMPLETED)).thenReturn(3L);
+        when(counters.count(200L, Booking.BookingStatus.COMPLETED)).thenReturn(3L);
 
         long result = bookingService.getBookingCountByProviderAndStatus(200L, Booking.BookingStatus.COMPLETED);
 
         assertEquals(3L, result);
-        verify(bookingRepository).countByProviderIdAndStatus(200L, Booking.BookingStatus.COMPLETED);
+        verify(bookingRepository, never()).countByProviderIdAndStatus(any(), any());
     }
 
     @Test
     void testUpdateBookingStatus_NotFound() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class,
                 () -> bookingService.updateBookingStatus(1L, Booking.BookingStatus.ACCEPTED));
@@ -276,7 +341,8 @@ class BookingServiceTest {
 
     @Test
     void testAssignProvider_NotFound() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.findProviderIdById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class,
                 () -> bookingService.assignProvider(1L, 10L));
@@ -302,19 +368,22 @@ class BookingServiceTest {
 
         assertEquals("New Location", updated.getLocation());
         assertEquals(10L, updated.getProviderId());
-        assertEquals(500.0, updated.getPrice());
+        // Client prices are ignored and the slot did not change, so the quoted price stays
+        assertEquals(200.0, updated.getPrice());
+        verifyNoInteractions(pricing);
     }
 
     @Test
-    void testCreateBooking_NullPriceAllowed() {
+    void testCreateBooking_PriceQuotedByServer() {
         Booking booking = new Booking();
         booking.setCustomerId(1L);
         booking.setProviderId(2L);
         booking.setServiceType(Booking.ServiceType.BASIC_WASH);
         booking.setScheduledTime(LocalDateTime.now().plusDays(1));
         booking.setLocation("Delhi");
-        booking.setPrice(null); // price is null
+        booking.setPrice(1.0); // client price is ignored
 
+        when(pricing.price(Booking.ServiceType.BASIC_WASH, booking.getScheduledTime())).thenReturn(25.0);
         when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
             Booking b = i.getArgument(0);
             b.setId(1L);
@@ -325,7 +394,416 @@ class BookingServiceTest {
 
         assertNotNull(saved.getId());
         assertEquals(Booking.BookingStatus.PENDING, saved.getStatus()); // default status
-        assertNull(saved.getPrice()); // should be null
+        assertEquals(25.0, saved.getPrice());
+        verify(pricing).recordDemand(booking.getScheduledTime());
+        verify(outbox).record(argThat(event -> event.getType() == BookingDomainEvent.Type.CREATED
+                && event.getBookingId() == 1L && event.getPrice() == 25.0));
+    }
+
+    @Test
+    void testGetBookingsPage_HasNextCursor() {
+        Booking second = new Booking();
+        second.setId(2L);
+        when(bookingRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(BookingSummary.of(testBooking), BookingSummary.of(second)));
+
+        BookingPage page = bookingService.getBookingsPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(1L, BookingCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void testGetBookingsPage_LastPage() {
+        when(bookingRepository.findPageAfterId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(BookingSummary.of(testBooking)));
+
+        BookingPage page = bookingService.getBookingsPage(new BookingCursor(null, 1L).encode(), 10);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetBookingsPage_LimitCapped() {
+        when(bookingRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+
+        bookingService.getBookingsPage(null, 10_000);
+
+        verify(bookingRepository).findAllByOrderByIdAsc(PageRequest.of(0, BookingService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetBookingsPageByCustomerId_UsesCursor() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(bookingRepository.findCustomerPageAfter(eq(100L), eq(time), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(BookingSummary.of(testBooking)));
+
+        BookingPage page = bookingService.getBookingsPageByCustomerId(100L, new BookingCursor(time, 5L).encode(), 10);
+
+        assertEquals(1, page.getItems().size());
+        verify(bookingRepository, never()).findByCustomerIdOrderByScheduledTimeAscIdAsc(any(), any());
+    }
+
+    @Test
+    void testGetBookingsPageByCustomerId_FirstPageServedFromCache() {
+        Booking second = new Booking();
+        second.setId(2L);
+        Booking third = new Booking();
+        third.setId(3L);
+        when(bookingRepository.findByCustomerIdOrderByScheduledTimeAscIdAsc(100L,
+                PageRequest.of(0, BookingService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(BookingSummary.of(testBooking), BookingSummary.of(second), BookingSummary.of(third)));
+
+        BookingPage first = bookingService.getBookingsPageByCustomerId(100L, null, 2);
+        BookingPage all = bookingService.getBookingsPageByCustomerId(100L, null, 20);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(3, all.getItems().size());
+        assertNull(all.getNextCursor());
+        verify(bookingRepository, times(1)).findByCustomerIdOrderByScheduledTimeAscIdAsc(any(), any());
+    }
+
+    @Test
+    void testCreateBooking_InvalidatesCustomerFirstPage() {
+        when(bookingRepository.findByCustomerIdOrderByScheduledTimeAscIdAsc(eq(100L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        bookingService.getBookingsPageByCustomerId(100L, null, 20);
+
+        bookingService.createBooking(testBooking);
+        bookingService.getBookingsPageByCustomerId(100L, null, 20);
+
+        verify(bookingRepository, times(2)).findByCustomerIdOrderByScheduledTimeAscIdAsc(eq(100L), any(Pageable.class));
+    }
+
+    @Test
+    void testGetBookingsPageByStatus_IdOnlyCursorRejected() {
+        String idOnly = new BookingCursor(null, 5L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsPageByStatus(Booking.BookingStatus.PENDING, idOnly, 10));
+    }
+
+    @Test
+    void testCreateBooking_ProviderBusy() {
+        testBooking.setProviderId(200L);
+        when(scheduleIndex.hasConflict(200L, testBooking.getScheduledTime(), Booking.ServiceType.BASIC_WASH, null))
+                .thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(testBooking));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateBooking_TracksSavedBooking() {
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        bookingService.createBooking(testBooking);
+
+        verify(scheduleIndex).track(testBooking);
+    }
+
+    @Test
+    void testAssignProvider_ProviderBusy() {
+        when(scheduleIndex.hasConflict(1L, 200L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.assignProvider(1L, 200L));
+
+        verify(bookingRepository, never()).claimBooking(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteBooking_UntracksBooking() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        bookingService.deleteBooking(1L);
+
+        verify(scheduleIndex).untrack(1L);
+    }
+
+    @Test
+    void testCreateBookings_PartialSuccess() {
+        Booking invalid = new Booking();
+        invalid.setServiceType(Booking.ServiceType.BASIC_WASH);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        BatchBookingResponse response = bookingService.createBookings(Arrays.asList(testBooking, invalid));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(BatchBookingResult.Outcome.CREATED, response.getResults().get(0).getOutcome());
+        assertEquals(BatchBookingResult.Outcome.REJECTED, response.getResults().get(1).getOutcome());
+        assertTrue(response.getResults().get(1).getError().contains("Customer ID is required"));
+        verify(bookingRepository).saveAll(List.of(testBooking));
+        verify(scheduleIndex).track(testBooking);
+    }
+
+    @Test
+    void testCreateBookings_OverlapWithinBatchRejected() {
+        testBooking.setProviderId(200L);
+        Booking clash = new Booking();
+        clash.setCustomerId(101L);
+        clash.setProviderId(200L);
+        clash.setServiceType(Booking.ServiceType.BASIC_WASH);
+        clash.setScheduledTime(testBooking.getScheduledTime().plusMinutes(15));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        BatchBookingResponse response = bookingService.createBookings(Arrays.asList(testBooking, clash));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchBookingResult.Outcome.REJECTED, response.getResults().get(1).getOutcome());
+    }
+
+    @Test
+    void testCreateBookings_EmptyOrTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBookings(List.of()));
+        List<Booking> tooMany = Collections.nCopies(BookingService.MAX_BATCH_SIZE + 1, testBooking);
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBookings(tooMany));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testTransitionStatus_AlreadyInTargetStatus() {
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(Booking.BookingStatus.CANCELLED));
+
+        assertFalse(bookingService.transitionStatus(1L, Booking.BookingStatus.CANCELLED));
+        verify(bookingRepository, never()).findStateById(any());
+        verify(scheduleIndex, never()).untrack(any());
+        verify(outbox, never()).record(any());
+    }
+
+    @Test
+    void testTransitionStatus_GuardDecidesWithoutReadingStatus() {
+        when(bookingRepository.transitionStatus(1L, Booking.BookingStatus.CANCELLED,
+                Set.of(Booking.BookingStatus.PENDING))).thenReturn(0);
+        when(bookingRepository.transitionStatus(1L, Booking.BookingStatus.CANCELLED,
+                Set.of(Booking.BookingStatus.ACCEPTED))).thenReturn(1);
+        when(bookingRepository.findStateById(1L))
+                .thenReturn(Optional.of(state(Booking.BookingStatus.CANCELLED, 200L, 100L)));
+
+        assertTrue(bookingService.transitionStatus(1L, Booking.BookingStatus.CANCELLED));
+
+        verify(bookingRepository, times(2)).transitionStatus(eq(1L), eq(Booking.BookingStatus.CANCELLED), anySet());
+        verify(bookingRepository, never()).findStatusById(any());
+        verify(counters).move(200L, Booking.BookingStatus.ACCEPTED, 200L, Booking.BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void testTransitionStatus_NotAllowed() {
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(Booking.BookingStatus.COMPLETED));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.transitionStatus(1L, Booking.BookingStatus.ACCEPTED));
+
+        assertTrue(exception.getMessage().contains("COMPLETED to ACCEPTED"));
+    }
+
+    @Test
+    void testTransitionStatus_BackToPendingNeverUpdates() {
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(Booking.BookingStatus.COMPLETED));
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.transitionStatus(1L, Booking.BookingStatus.PENDING));
+
+        verify(bookingRepository, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateBooking_InvalidStatusChange() {
+        testBooking.setStatus(Booking.BookingStatus.COMPLETED);
+        Booking updates = new Booking();
+        updates.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.updateBooking(1L, updates));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetProviderStats_FoldsAggregates() {
+        when(bookingRepository.aggregateByProviderAndStatus(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        aggregate(2L, Booking.BookingStatus.COMPLETED, 3, 90.0, 0),
+                        aggregate(2L, Booking.BookingStatus.ACCEPTED, 2, 50.0, 1),
+                        aggregate(2L, Booking.BookingStatus.CANCELLED, 1, 20.0, 1)));
+
+        ProviderStats stats = bookingService.getProviderStats(2L);
+
+        assertEquals(2L, stats.getProviderId());
+        assertEquals(6, stats.getTotalBookings());
+        assertEquals(3L, stats.getCountsByStatus().get(Booking.BookingStatus.COMPLETED));
+        assertEquals(0L, stats.getCountsByStatus().get(Booking.BookingStatus.PENDING));
+        assertEquals(90.0, stats.getCompletedRevenue(), 0.001);
+        assertEquals(1, stats.getUpcomingBookings());
+        verify(bookingRepository, times(1)).aggregateByProviderAndStatus(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testGetProviderStats_BulkKeepsRequestOrder() {
+        when(bookingRepository.aggregateByProviderAndStatus(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(aggregate(1L, Booking.BookingStatus.PENDING, 4, 0.0, 4)));
+
+        List<ProviderStats> stats = bookingService.getProviderStats(List.of(3L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), stats.stream().map(ProviderStats::getProviderId).toList());
+        assertEquals(0, stats.get(0).getTotalBookings());
+        assertEquals(4, stats.get(1).getUpcomingBookings());
+    }
+
+    @Test
+    void testGetProviderStats_TooManyProviders() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i <= BookingService.MAX_STATS_PROVIDERS; i++) {
+            ids.add(i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getProviderStats(ids));
+        verify(bookingRepository, never()).aggregateByProviderAndStatus(anyCollection(), any());
+    }
+
+    private BookingRepository.ProviderStatusAggregate aggregate(Long providerId, Booking.BookingStatus status,
+                                                                long bookings, double revenue, long upcoming) {
+        return new BookingRepository.ProviderStatusAggregate() {
+            public Long getProviderId() { return providerId; }
+            public Booking.BookingStatus getStatus() { return status; }
+            public long getBookings() { return bookings; }
+            public double getRevenue() { return revenue; }
+            public long getUpcoming() { return upcoming; }
+        };
+    }
+
+    @Test
+    void testGetBookingById_ServedFromCache() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        bookingService.getBookingById(1L);
+        Optional<Booking> result = bookingService.getBookingById(1L);
+
+        assertEquals(testBooking, result.orElseThrow());
+        verify(bookingRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testUpdateBookingStatus_InvalidatesCachedBooking() {
+        Booking accepted = new Booking();
+        accepted.setId(1L);
+        accepted.setCustomerId(100L);
+        accepted.setStatus(Booking.BookingStatus.COMPLETED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking), Optional.of(accepted));
+        when(bookingRepository.transitionStatus(eq(1L), eq(Booking.BookingStatus.COMPLETED), anyCollection()))
+                .thenReturn(1);
+        when(bookingRepository.findStateById(1L))
+                .thenReturn(Optional.of(state(Booking.BookingStatus.COMPLETED, null, 100L)));
+        bookingService.getBookingById(1L);
+
+        bookingService.transitionStatus(1L, Booking.BookingStatus.COMPLETED);
+
+        assertEquals(Booking.BookingStatus.COMPLETED, bookingService.getBookingById(1L).orElseThrow().getStatus());
+    }
+
+    private BookingRepository.TransitionState state(Booking.BookingStatus status, Long providerId, Long customerId) {
+        return new BookingRepository.TransitionState() {
+            public Long getId() { return 1L; }
+            public Long getCustomerId() { return customerId; }
+            public Long getProviderId() { return providerId; }
+            public Booking.BookingStatus getStatus() { return status; }
+            public LocalDateTime getScheduledTime() { return testBooking.getScheduledTime(); }
+            public Booking.ServiceType getServiceType() { return testBooking.getServiceType(); }
+            public Double getPrice() { return testBooking.getPrice(); }
+        };
+    }
+
+    @Test
+    void testTransitionStatus_PublishesEvent() {
+        when(bookingRepository.transitionStatus(eq(1L), eq(Booking.BookingStatus.ACCEPTED), anyCollection()))
+                .thenReturn(1);
+        when(bookingRepository.findStateById(1L))
+                .thenReturn(Optional.of(state(Booking.BookingStatus.ACCEPTED, 200L, 100L)));
+
+        bookingService.transitionStatus(1L, Booking.BookingStatus.ACCEPTED);
+
+        verify(eventBroadcaster).publish(argThat(event -> event.getBookingId() == 1L
+                && event.getCustomerId() == 100L
+                && event.getProviderId() == 200L
+                && event.getStatus() == Booking.BookingStatus.ACCEPTED));
+    }
+
+    @Test
+    void testUpdateBooking_NoEventWithoutStatusOrProviderChange() {
+        Booking changes = new Booking();
+        changes.setStatus(null);
+        changes.setLocation("Elsewhere");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookingService.updateBooking(1L, changes);
+
+        verify(eventBroadcaster, never()).publish(any());
+    }
+
+    @Test
+    void testFindNearbyBookings_KeepsDistanceOrder() {
+        Booking near = new Booking();
+        near.setId(2L);
+        Booking far = new Booking();
+        far.setId(1L);
+        when(geoIndex.findNearby(52.5, 13.4, 5, Booking.BookingStatus.PENDING, 20))
+                .thenReturn(List.of(new BookingGeoIndex.Hit(2L, 0.5), new BookingGeoIndex.Hit(1L, 3.0)));
+        when(bookingRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(far, near));
+
+        List<NearbyBooking> result = bookingService.findNearbyBookings(52.5, 13.4, 5, Booking.BookingStatus.PENDING, 20);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(r -> r.getBooking().getId()).toList());
+        assertEquals(0.5, result.get(0).getDistanceKm());
+    }
+
+    @Test
+    void testFindNearbyBookings_RejectsFinishedStatus() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findNearbyBookings(52.5, 13.4, 5, Booking.BookingStatus.COMPLETED, 20));
+        verify(geoIndex, never()).findNearby(anyDouble(), anyDouble(), anyDouble(), any(), anyInt());
+    }
+
+    @Test
+    void testCreateBooking_LatitudeWithoutLongitude() {
+        testBooking.setLatitude(52.5);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(testBooking));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetBookingsInRange() {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 1, 0, 0);
+        List<BookingSummary> summaries = List.of(BookingSummary.of(testBooking));
+        when(bookingRepository.findSummariesByScheduledTimeRange(from, from.plusDays(7))).thenReturn(summaries);
+
+        assertEquals(summaries, bookingService.getBookingsInRange(from, from.plusDays(7), null));
+        verify(bookingRepository, never()).findSummariesByProviderIdAndScheduledTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void testGetBookingsInRange_ForProvider() {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 1, 0, 0);
+        List<BookingSummary> summaries = List.of(BookingSummary.of(testBooking));
+        when(bookingRepository.findSummariesByProviderIdAndScheduledTimeRange(200L, from, from.plusDays(1)))
+            .thenReturn(summaries);
+
+        assertEquals(summaries, bookingService.getBookingsInRange(from, from.plusDays(1), 200L));
+    }
+
+    @Test
+    void testGetBookingsInRange_RejectsInvertedOrLongRanges() {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getBookingsInRange(from, from, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> bookingService.getBookingsInRange(from, from.plusDays(BookingService.MAX_RANGE_DAYS + 1), null));
+        assertDoesNotThrow(() -> bookingService.getBookingsInRange(from, from.plusDays(BookingService.MAX_RANGE_DAYS), null));
+    }
+}
@@ -0,0 +1,44 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingStatusTransitionsTest {
+
+    @Test
+    void testAllowedTransitions() {
+        assertTrue(BookingStatusTransitions.isAllowed(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED));
+        assertTrue(BookingStatusTransitions.isAllowed(Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED));
+        assertTrue(BookingStatusTransitions.isAllowed(Booking.BookingStatus.ACCEPTED, Booking.BookingStatus.COMPLETED));
+        assertTrue(BookingStatusTransitions.isAllowed(Booking.BookingStatus.ACCEPTED, Booking.BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void testRejectedTransitions() {
+        assertFalse(BookingStatusTransitions.isAllowed(Booking.BookingStatus.COMPLETED, Booking.BookingStatus.PENDING));
+        assertFalse(BookingStatusTransitions.isAllowed(Booking.BookingStatus.CANCELLED, Booking.BookingStatus.ACCEPTED));
+        assertFalse(BookingStatusTransitions.isAllowed(Booking.BookingStatus.PENDING, Booking.BookingStatus.COMPLETED));
+        assertFalse(BookingStatusTransitions.isAllowed(Booking.BookingStatus.PENDING, Booking.BookingStatus.PENDING));
+    }
+
+    @Test
+    void testPredecessors() {
+        assertEquals(Set.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.ACCEPTED),
+                BookingStatusTransitions.predecessorsOf(Booking.BookingStatus.CANCELLED));
+        assertEquals(Set.of(Booking.BookingStatus.ACCEPTED),
+                BookingStatusTransitions.predecessorsOf(Booking.BookingStatus.COMPLETED));
+        assertTrue(BookingStatusTransitions.predecessorsOf(Booking.BookingStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void testTerminalStatuses() {
+        assertTrue(BookingStatusTransitions.isTerminal(Booking.BookingStatus.COMPLETED));
+        assertTrue(BookingStatusTransitions.isTerminal(Booking.BookingStatus.CANCELLED));
+        assertFalse(BookingStatusTransitions.isTerminal(Booking.BookingStatus.PENDING));
+        assertFalse(BookingStatusTransitions.isTerminal(Booking.BookingStatus.ACCEPTED));
+    }
+}
@@ -0,0 +1,120 @@
+package com.carwash.service;
+
+import com.carwash.dto.BookingReminderEvent;
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that due timers expire and remind bookings with bulk UPDATEs against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class, BookingTimeouts.class})
+// The scheduled tick would otherwise fire the timers these tests arm and race their own calls
+@TestPropertySource(properties = "booking.timers.tick-ms=3600000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingTimeoutsTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingTimeouts timeouts;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ProviderBookingCounters counters;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        counters.reconcile();
+    }
+
+    private Long create(Long providerId, LocalDateTime createdAt, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setProviderId(providerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setCreatedAt(createdAt);
+        booking.setScheduledTime(scheduledTime);
+        return bookingService.createBooking(booking).getId();
+    }
+
+    private Booking.BookingStatus status(Long id) {
+        return bookingRepository.findStatusById(id).orElseThrow();
+    }
+
+    @Test
+    void testExpire_CancelsOnlyOverduePendingBookings() {
+        LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
+        Long overdue = create(7L, hourAgo, LocalDateTime.now().plusDays(1));
+        Long otherOverdue = create(7L, hourAgo, LocalDateTime.now().plusDays(2));
+        Long fresh = create(7L, LocalDateTime.now(), LocalDateTime.now().plusDays(3));
+        Long accepted = create(null, hourAgo, LocalDateTime.now().plusDays(4));
+        bookingService.assignProvider(accepted, 8L);
+
+        List<Long> expired = bookingService.expirePendingBookings(List.of(overdue, otherOverdue, fresh, accepted));
+
+        assertEquals(List.of(overdue, otherOverdue), expired);
+        assertEquals(Booking.BookingStatus.CANCELLED, status(overdue));
+        assertEquals(Booking.BookingStatus.PENDING, status(fresh));
+        assertEquals(Booking.BookingStatus.ACCEPTED, status(accepted));
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.PENDING));
+        assertEquals(2, counters.count(7L, Booking.BookingStatus.CANCELLED));
+        assertEquals(List.of(), bookingService.expirePendingBookings(List.of(overdue)));
+    }
+
+    @Test
+    void testReminders_SentOnceUntilRescheduled() {
+        Long soon = create(null, LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+        Long later = create(null, LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+
+        List<BookingReminderEvent> sent = bookingService.sendReminders(List.of(soon, later));
+
+        assertEquals(1, sent.size());
+        assertEquals(soon, sent.get(0).getBookingId());
+        assertEquals(100L, sent.get(0).getCustomerId());
+        assertEquals(List.of(), bookingService.sendReminders(List.of(soon)));
+
+        Booking reschedule = new Booking();
+        reschedule.setScheduledTime(LocalDateTime.now().plusMinutes(90));
+        bookingService.updateBooking(soon, reschedule);
+        assertEquals(1, bookingService.sendReminders(List.of(soon)).size());
+    }
+
+    @Test
+    void testFire_BatchesDueTimersByKind() {
+        LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
+        Long overdue = create(null, hourAgo, LocalDateTime.now().plusDays(1));
+        Long soon = create(null, LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+
+        int fired = timeouts.fire(List.of(
+                new BookingTimerWheel.Due(overdue, BookingTimerWheel.Kind.EXPIRE, hourAgo.plusMinutes(30)),
+                new BookingTimerWheel.Due(soon, BookingTimerWheel.Kind.REMIND, LocalDateTime.now().minusHours(1)),
+                new BookingTimerWheel.Due(soon, BookingTimerWheel.Kind.EXPIRE, LocalDateTime.now())));
+
+        assertEquals(2, fired);
+        assertEquals(Booking.BookingStatus.CANCELLED, status(overdue));
+        assertEquals(Booking.BookingStatus.PENDING, status(soon));
+    }
+}
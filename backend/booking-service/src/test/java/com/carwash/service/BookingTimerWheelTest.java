@@ -0,0 +1,128 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingTimerWheelTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    // A tiny wheel, so timers hours away wrap around it many times; a day's horizon holds them all
+    private final BookingTimerWheel wheel = new BookingTimerWheel(bookingRepository,
+        Duration.ofMinutes(30), Duration.ofHours(2), 1000, 8, Duration.ofDays(1), 300_000);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private Booking booking(long id, Booking.BookingStatus status, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStatus(status);
+        booking.setCreatedAt(now);
+        booking.setScheduledTime(scheduledTime);
+        return booking;
+    }
+
+    private static BookingRepository.BookingTime time(Long id, LocalDateTime time) {
+        return new BookingRepository.BookingTime() {
+            public Long getId() { return id; }
+            public LocalDateTime getTime() { return time; }
+        };
+    }
+
+    private static List<String> fired(List<BookingTimerWheel.Due> due) {
+        return due.stream().map(timer -> timer.getKind() + ":" + timer.getBookingId()).toList();
+    }
+
+    @Test
+    void testPendingBooking_ExpiresAfterTimeout() {
+        wheel.track(booking(1L, Booking.BookingStatus.PENDING, now.plusDays(1)));
+
+        assertEquals(List.of(), fired(wheel.advance(now.plusMinutes(29))));
+        assertEquals(List.of("EXPIRE:1"), fired(wheel.advance(now.plusMinutes(31))));
+        assertEquals(0, wheel.size(BookingTimerWheel.Kind.EXPIRE));
+        assertEquals(1, wheel.size(BookingTimerWheel.Kind.REMIND));
+    }
+
+    @Test
+    void testAcceptance_CancelsExpiryButKeepsReminder() {
+        wheel.track(booking(1L, Booking.BookingStatus.PENDING, now.plusHours(5)));
+        wheel.updateStatus(1L, Booking.BookingStatus.ACCEPTED);
+
+        assertEquals(List.of(), fired(wheel.advance(now.plusHours(2))));
+        assertEquals(List.of("REMIND:1"), fired(wheel.advance(now.plusHours(3).plusSeconds(2))));
+    }
+
+    @Test
+    void testCancellationAndDelete_DropAllTimers() {
+        wheel.track(booking(1L, Booking.BookingStatus.PENDING, now.plusHours(5)));
+        wheel.track(booking(2L, Booking.BookingStatus.PENDING, now.plusHours(5)));
+        wheel.updateStatus(1L, Booking.BookingStatus.CANCELLED);
+        wheel.untrack(2L);
+
+        assertEquals(List.of(), fired(wheel.advance(now.plusHours(6))));
+    }
+
+    @Test
+    void testReschedule_ReplacesReminder() {
+        wheel.track(booking(1L, Booking.BookingStatus.ACCEPTED, now.plusHours(5)));
+        wheel.track(booking(1L, Booking.BookingStatus.ACCEPTED, now.plusHours(8)));
+
+        assertEquals(List.of(), fired(wheel.advance(now.plusHours(4))));
+        assertEquals(List.of("REMIND:1"), fired(wheel.advance(now.plusHours(6).plusSeconds(2))));
+        assertEquals(List.of(), fired(wheel.advance(now.plusHours(9))));
+    }
+
+    @Test
+    void testOverdueReminder_FiresOnNextTick() {
+        wheel.track(booking(1L, Booking.BookingStatus.ACCEPTED, now.plusMinutes(30)));
+
+        assertEquals(List.of("REMIND:1"), fired(wheel.advance(now.plusSeconds(2))));
+    }
+
+    @Test
+    void testRebuild_ArmsOpenBookings() {
+        when(bookingRepository.findCreatedTimesByStatus(eq(Booking.BookingStatus.PENDING), any()))
+                .thenReturn(List.of(time(1L, now.minusMinutes(20))));
+        when(bookingRepository.findReminderTimes(eq(BookingTimerWheel.OPEN_STATUSES), any(), any()))
+                .thenReturn(List.of(time(2L, now.plusHours(3))));
+
+        wheel.rebuild();
+
+        assertEquals(List.of("EXPIRE:1"), fired(wheel.advance(now.plusMinutes(11))));
+        assertEquals(List.of("REMIND:2"), fired(wheel.advance(now.plusHours(1).plusSeconds(2))));
+    }
+
+    @Test
+    void testHorizon_CatchUpArmsTimersComingIntoIt() {
+        BookingTimerWheel nearWheel = new BookingTimerWheel(bookingRepository,
+            Duration.ofMinutes(30), Duration.ofHours(2), 1000, 8, Duration.ofHours(1), 300_000);
+        nearWheel.track(booking(1L, Booking.BookingStatus.ACCEPTED, now.plusHours(5)));
+        nearWheel.track(booking(2L, Booking.BookingStatus.ACCEPTED, now.plusHours(2).plusMinutes(30)));
+
+        assertEquals(1, nearWheel.size(BookingTimerWheel.Kind.REMIND));
+
+        when(bookingRepository.findReminderTimes(eq(BookingTimerWheel.OPEN_STATUSES), any(), any()))
+                .thenReturn(List.of(time(3L, now.plusHours(2).plusMinutes(50))));
+        nearWheel.rebuild();
+
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).findReminderTimes(eq(BookingTimerWheel.OPEN_STATUSES), any(), until.capture());
+        assertFalse(until.getValue().isBefore(now.plusHours(3)));
+        assertTrue(until.getValue().isBefore(now.plusHours(3).plusMinutes(1)));
+        assertEquals(2, nearWheel.size(BookingTimerWheel.Kind.REMIND));
+    }
+
+    @Test
+    void testHorizon_MustOutlastCatchUp() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingTimerWheel(bookingRepository,
+            Duration.ofMinutes(30), Duration.ofHours(2), 1000, 8, Duration.ofMinutes(5), 300_000));
+    }
+}
@@ -0,0 +1,221 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import com.carwash.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays and races idempotent booking creation against a real database
+ * Runs outside the test transaction so every request commits like it does in production
+ */
+@DataJpaTest
+@Import({IdempotencyKeys.class, BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyKeysTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyKeys idempotencyKeys;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        recordRepository.deleteAll();
+    }
+
+    private Booking newBooking() {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(LocalDateTime.of(2030, 1, 1, 10, 0));
+        return booking;
+    }
+
+    // The keys only compare request bodies, so any stable encoding of the booking will do
+    private static byte[] requestBody(Booking booking) {
+        return (booking.getCustomerId() + "@" + booking.getScheduledTime()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private IdempotencyKeys.Outcome<Booking> create(IdempotencyKeys keys, String key, AtomicInteger runs) {
+        Booking booking = newBooking();
+        return keys.execute("booking", key, requestBody(booking), Booking.class, () -> {
+            runs.incrementAndGet();
+            return bookingService.createBooking(booking);
+        });
+    }
+
+    private IdempotencyKeys otherInstance(Duration ttl) {
+        return new IdempotencyKeys(recordRepository, objectMapper, transactionManager, ttl, 100, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testRetry_ReplaysStoredResponse() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyKeys.Outcome<Booking> first = create(idempotencyKeys, "retry", runs);
+        IdempotencyKeys.Outcome<Booking> retry = create(idempotencyKeys, "retry", runs);
+
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getResponse().getId(), retry.getResponse().getId());
+        assertEquals(first.getResponse().getScheduledTime(), retry.getResponse().getScheduledTime());
+        assertEquals(1, runs.get());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testRetryOnAnotherInstance_ReadsDurableRecord() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyKeys.Outcome<Booking> first = create(idempotencyKeys, "other-instance", runs);
+        IdempotencyKeys.Outcome<Booking> retry = create(otherInstance(Duration.ofHours(1)), "other-instance", runs);
+
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getResponse().getId(), retry.getResponse().getId());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequest_Rejected() {
+        create(idempotencyKeys, "reused", new AtomicInteger());
+        Booking other = newBooking();
+        other.setCustomerId(200L);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyKeys.execute("booking", "reused",
+            requestBody(other), Booking.class, () -> bookingService.createBooking(other)));
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testFailedRequest_LeavesNoRecord() {
+        Booking invalid = newBooking();
+        invalid.setCustomerId(null);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyKeys.execute("booking", "failed",
+            requestBody(invalid), Booking.class, () -> bookingService.createBooking(invalid)));
+
+        assertEquals(0, recordRepository.count());
+        assertFalse(create(idempotencyKeys, "failed", new AtomicInteger()).isReplayed());
+    }
+
+    @Test
+    void testRunsInItsOwnTransaction() {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+
+        outer.executeWithoutResult(tx -> {
+            create(idempotencyKeys, "own-transaction", runs);
+            tx.setRollbackOnly();
+        });
+
+        assertTrue(create(idempotencyKeys, "own-transaction", runs).isReplayed());
+        assertEquals(1, runs.get());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testExpiredKey_RunsAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyKeys expiring = otherInstance(Duration.ZERO);
+
+        create(expiring, "expired", runs);
+        IdempotencyKeys.Outcome<Booking> retry = create(expiring, "expired", runs);
+
+        assertFalse(retry.isReplayed());
+        assertEquals(2, runs.get());
+        assertEquals(1, expiring.purgeExpired());
+        assertEquals(0, recordRepository.count());
+    }
+
+    @Test
+    void testCachedResponse_NotReplayedPastRecordExpiry() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyKeys shortLived = otherInstance(Duration.ofMillis(300));
+        IdempotencyKeys longLived = otherInstance(Duration.ofHours(1));
+
+        create(shortLived, "cached-expiry", runs);
+        assertTrue(create(longLived, "cached-expiry", runs).isReplayed());
+        Thread.sleep(400);
+
+        assertFalse(create(longLived, "cached-expiry", runs).isReplayed());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testConcurrentDuplicates_WaitForFirst() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyKeys.Outcome<Booking>>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return create(idempotencyKeys, "concurrent", runs);
+            }));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        int replayed = 0;
+        for (Future<IdempotencyKeys.Outcome<Booking>> attempt : attempts) {
+            IdempotencyKeys.Outcome<Booking> outcome = attempt.get(30, TimeUnit.SECONDS);
+            ids.add(outcome.getResponse().getId());
+            replayed += outcome.isReplayed() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, ids.size());
+        assertEquals(THREADS - 1, replayed);
+        assertEquals(1, bookingRepository.count());
+    }
+}
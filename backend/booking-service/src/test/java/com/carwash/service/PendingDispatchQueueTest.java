@@ -0,0 +1,168 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PendingDispatchQueueTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final PendingDispatchQueue queue = new PendingDispatchQueue(bookingRepository);
+
+    private Booking booking(long id, int hour) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setCustomerId(100L);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(BASE.plusHours(hour));
+        return booking;
+    }
+
+    @Test
+    void testTake_EarliestScheduledFirst() throws Exception {
+        queue.offer(booking(1L, 5));
+        queue.offer(booking(2L, 1));
+        queue.offer(booking(3L, 3));
+
+        assertEquals(2L, queue.take(id -> true, Duration.ofSeconds(1)).get());
+        assertEquals(3L, queue.take(id -> true, Duration.ofSeconds(1)).get());
+        assertEquals(1L, queue.take(id -> true, Duration.ofSeconds(1)).get());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testTake_SkipsUnacceptableBookings() throws Exception {
+        queue.offer(booking(1L, 1));
+        queue.offer(booking(2L, 2));
+
+        assertEquals(2L, queue.take(id -> id != 1L, Duration.ofSeconds(1)).get());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testTake_WaiterReceivesLaterOffer() throws Exception {
+        CompletableFuture<Long> waiting = queue.take(id -> true, Duration.ofSeconds(5));
+        assertFalse(waiting.isDone());
+        assertEquals(1, queue.waiting());
+
+        queue.offer(booking(7L, 1));
+
+        assertEquals(7L, waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.waiting());
+    }
+
+    @Test
+    void testTake_TimesOutWithNull() throws Exception {
+        CompletableFuture<Long> waiting = queue.take(id -> true, Duration.ofMillis(50));
+
+        assertNull(waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, queue.waiting());
+
+        queue.offer(booking(8L, 1));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testPoll_NeverWaits() {
+        assertNull(queue.poll(id -> true));
+        assertEquals(0, queue.waiting());
+
+        queue.offer(booking(1L, 1));
+
+        assertEquals(1L, queue.poll(id -> true));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testRequeue_RestoresHandedOutBookingInOrder() throws Exception {
+        queue.offer(booking(1L, 1));
+        queue.offer(booking(2L, 2));
+        assertEquals(1L, queue.poll(id -> true));
+
+        queue.requeue(1L);
+        queue.requeue(1L);
+
+        assertEquals(2, queue.size());
+        assertEquals(1L, queue.take(id -> true, Duration.ofSeconds(1)).get());
+    }
+
+    @Test
+    void testRequeue_IgnoresRemovedBooking() {
+        queue.offer(booking(1L, 1));
+        assertEquals(1L, queue.poll(id -> true));
+        queue.remove(1L);
+
+        queue.requeue(1L);
+
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testOffer_AssignedBookingIsRemoved() {
+        Booking booking = booking(1L, 1);
+        queue.offer(booking);
+
+        booking.setProviderId(200L);
+        queue.offer(booking);
+
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testLoad_OnlyUnassignedPending() {
+        Booking assigned = booking(2L, 1);
+        assigned.setProviderId(200L);
+        when(bookingRepository.findByStatus(Booking.BookingStatus.PENDING))
+                .thenReturn(List.of(booking(1L, 1), assigned));
+
+        queue.load();
+
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testEachBookingGoesToExactlyOneWaiter() throws Exception {
+        int waiters = 32;
+        List<CompletableFuture<Long>> takes = new ArrayList<>();
+        for (int i = 0; i < waiters; i++) {
+            takes.add(queue.take(id -> true, Duration.ofSeconds(5)));
+        }
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < waiters / 2; i++) {
+            long id = i + 1;
+            Thread producer = new Thread(() -> queue.offer(booking(id, 1)));
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        Set<Long> handedOut = new HashSet<>();
+        int served = 0;
+        for (CompletableFuture<Long> take : takes) {
+            if (take.isDone()) {
+                assertTrue(handedOut.add(take.get()));
+                served++;
+            }
+        }
+        assertEquals(waiters / 2, served);
+        assertEquals(waiters / 2, queue.waiting());
+        assertEquals(0, queue.size());
+    }
+}
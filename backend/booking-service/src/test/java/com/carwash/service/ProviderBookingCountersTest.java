@@ -0,0 +1,159 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import com.carwash.repository.ProviderBookingCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the maintained counters against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProviderBookingCountersTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ProviderBookingCounters counters;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ProviderBookingCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        counters.reconcile();
+    }
+
+    private Booking newBooking(Long providerId, LocalDateTime scheduledTime) {
+        Booking booking = new Booking();
+        booking.setCustomerId(100L);
+        booking.setProviderId(providerId);
+        booking.setServiceType(Booking.ServiceType.BASIC_WASH);
+        booking.setScheduledTime(scheduledTime);
+        return booking;
+    }
+
+    private long storedCount(Long providerId, Booking.BookingStatus status) {
+        return counterRepository.findAllCounts().stream()
+                .filter(row -> row.getProviderId().equals(providerId) && row.getStatus() == status)
+                .mapToLong(BookingRepository.ProviderStatusCount::getBookings)
+                .sum();
+    }
+
+    @Test
+    void testCountersFollowBookingLifecycle() {
+        LocalDateTime time = LocalDateTime.now().plusDays(1);
+        Long id = bookingService.createBooking(newBooking(7L, time)).getId();
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.PENDING));
+
+        bookingService.transitionStatus(id, Booking.BookingStatus.ACCEPTED);
+        assertEquals(0, counters.count(7L, Booking.BookingStatus.PENDING));
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.ACCEPTED));
+
+        bookingService.transitionStatus(id, Booking.BookingStatus.CANCELLED);
+        assertEquals(0, counters.count(7L, Booking.BookingStatus.ACCEPTED));
+        assertEquals(1, counters.count(7L, Booking.BookingStatus.CANCELLED));
+        assertEquals(1, storedCount(7L, Booking.BookingStatus.CANCELLED));
+
+        bookingService.deleteBooking(id);
+        assertEquals(0, counters.count(7L, Booking.BookingStatus.CANCELLED));
+        assertEquals(0, storedCount(7L, Booking.BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void testAssignProviderMovesCounter() {
+        Long id = bookingService.createBooking(newBooking(null, LocalDateTime.now().plusDays(1))).getId();
+
+        bookingService.assignProvider(id, 8L);
+
+        assertEquals(1, counters.count(8L, Booking.BookingStatus.ACCEPTED));
+        assertEquals(0, counters.count(8L, Booking.BookingStatus.PENDING));
+    }
+
+    @Test
+    void testRollbackLeavesCountersUntouched() {
+        bookingService.createBooking(newBooking(9L, LocalDateTime.now().plusDays(1)));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(tx -> {
+            counters.increment(9L, Booking.BookingStatus.PENDING);
+            throw new IllegalStateException("rolled back");
+        }));
+
+        assertEquals(1, counters.count(9L, Booking.BookingStatus.PENDING));
+        assertEquals(1, storedCount(9L, Booking.BookingStatus.PENDING));
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        // Written behind the service's back, so the counters do not know about it
+        bookingRepository.save(newBooking(10L, LocalDateTime.now().plusDays(1)));
+        bookingService.createBooking(newBooking(10L, LocalDateTime.now().plusDays(2)));
+        assertEquals(1, counters.count(10L, Booking.BookingStatus.PENDING));
+
+        assertEquals(1, counters.reconcile());
+
+        assertEquals(2, counters.count(10L, Booking.BookingStatus.PENDING));
+        assertEquals(2, storedCount(10L, Booking.BookingStatus.PENDING));
+        assertEquals(0, counters.reconcile());
+    }
+
+    @Test
+    void testConcurrentCreatesAreAllCounted() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> creates = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime slot = base.plusHours(i);
+            creates.add(executor.submit(() -> {
+                start.await();
+                return bookingService.createBooking(newBooking(11L, slot));
+            }));
+        }
+        start.countDown();
+        for (Future<?> create : creates) {
+            create.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS, counters.count(11L, Booking.BookingStatus.PENDING));
+        assertEquals(THREADS, storedCount(11L, Booking.BookingStatus.PENDING));
+    }
+}
@@ -0,0 +1,111 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderScheduleIndexTest {
+
+    private static final LocalDateTime TEN_AM = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ProviderScheduleIndex scheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        scheduleIndex = new ProviderScheduleIndex(bookingRepository);
+    }
+
+    private Booking booking(Long id, Long providerId, LocalDateTime time, Booking.ServiceType type) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setCustomerId(100L);
+        booking.setProviderId(providerId);
+        booking.setServiceType(type);
+        booking.setScheduledTime(time);
+        booking.setStatus(Booking.BookingStatus.ACCEPTED);
+        return booking;
+    }
+
+    @Test
+    void testRebuild_LoadsActiveBookings() {
+        when(bookingRepository.findByStatusIn(anyCollection()))
+                .thenReturn(List.of(booking(1L, 200L, TEN_AM, Booking.ServiceType.PREMIUM_WASH)));
+
+        scheduleIndex.rebuild();
+
+        assertEquals(1, scheduleIndex.size());
+        assertTrue(scheduleIndex.hasConflict(200L, TEN_AM.plusMinutes(30), Booking.ServiceType.BASIC_WASH, null));
+    }
+
+    @Test
+    void testHasConflict_OverlapAndAdjacent() {
+        scheduleIndex.track(booking(1L, 200L, TEN_AM, Booking.ServiceType.FULL_DETAIL));
+
+        // Starts before and runs into the existing slot
+        assertTrue(scheduleIndex.hasConflict(200L, TEN_AM.minusMinutes(15), Booking.ServiceType.BASIC_WASH, null));
+        // Starts inside a long slot that began earlier
+        assertTrue(scheduleIndex.hasConflict(200L, TEN_AM.plusMinutes(90), Booking.ServiceType.BASIC_WASH, null));
+        // Back-to-back slots do not overlap
+        assertFalse(scheduleIndex.hasConflict(200L, TEN_AM.plusMinutes(120), Booking.ServiceType.BASIC_WASH, null));
+        assertFalse(scheduleIndex.hasConflict(200L, TEN_AM.minusMinutes(30), Booking.ServiceType.BASIC_WASH, null));
+        // Other providers and the booking itself are ignored
+        assertFalse(scheduleIndex.hasConflict(300L, TEN_AM, Booking.ServiceType.BASIC_WASH, null));
+        assertFalse(scheduleIndex.hasConflict(200L, TEN_AM, Booking.ServiceType.BASIC_WASH, 1L));
+    }
+
+    @Test
+    void testTrack_RejectsDoubleBooking() {
+        scheduleIndex.track(booking(1L, 200L, TEN_AM, Booking.ServiceType.BASIC_WASH));
+
+        assertThrows(IllegalStateException.class,
+                () -> scheduleIndex.track(booking(2L, 200L, TEN_AM.plusMinutes(10), Booking.ServiceType.BASIC_WASH)));
+        assertEquals(1, scheduleIndex.size());
+    }
+
+    @Test
+    void testTrack_RejectedMoveKeepsPreviousSlot() {
+        scheduleIndex.track(booking(1L, 200L, TEN_AM, Booking.ServiceType.BASIC_WASH));
+        scheduleIndex.track(booking(2L, 200L, TEN_AM.plusHours(2), Booking.ServiceType.BASIC_WASH));
+
+        assertThrows(IllegalStateException.class,
+                () -> scheduleIndex.track(booking(2L, 200L, TEN_AM, Booking.ServiceType.BASIC_WASH)));
+
+        assertTrue(scheduleIndex.hasConflict(200L, TEN_AM.plusHours(2), Booking.ServiceType.BASIC_WASH, null));
+    }
+
+    @Test
+    void testTrack_CancelledBookingFreesSlot() {
+        Booking booking = booking(1L, 200L, TEN_AM, Booking.ServiceType.BASIC_WASH);
+        scheduleIndex.track(booking);
+
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        scheduleIndex.track(booking);
+
+        assertEquals(0, scheduleIndex.size());
+        assertFalse(scheduleIndex.hasConflict(200L, TEN_AM, Booking.ServiceType.BASIC_WASH, null));
+    }
+
+    @Test
+    void testUntrack() {
+        scheduleIndex.track(booking(1L, 200L, TEN_AM, Booking.ServiceType.BASIC_WASH));
+
+        scheduleIndex.untrack(1L);
+
+        assertFalse(scheduleIndex.hasConflict(200L, TEN_AM, Booking.ServiceType.BASIC_WASH, null));
+    }
+}
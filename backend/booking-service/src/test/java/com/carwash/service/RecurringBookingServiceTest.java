@@ -0,0 +1,169 @@
+package com.carwash.service;
+
+import com.carwash.entity.Booking;
+import com.carwash.entity.RecurringBooking;
+import com.carwash.repository.BookingRepository;
+import com.carwash.repository.RecurringBookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks materialization of recurring bookings against a real database
+ * Runs outside the test transaction so every service call commits like it does in production
+ */
+@DataJpaTest
+@Import({BookingService.class, ProviderScheduleIndex.class, ProviderBookingCounters.class,
+        BookingCache.class, PendingDispatchQueue.class, BookingEventBroadcaster.class,
+        BookingGeoIndex.class, BookingRevenueRollups.class,
+        BookingColumnStore.class, BookingPricing.class, BookingTimerWheel.class,
+        BookingOutbox.class, RecurringBookingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringBookingServiceTest {
+
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    @Autowired
+    private RecurringBookingService recurringBookingService;
+
+    @Autowired
+    private RecurringBookingRepository recurrenceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        recurrenceRepository.deleteAll();
+    }
+
+    private RecurringBooking weekly(LocalDate startDate, LocalDate endDate) {
+        RecurringBooking recurrence = new RecurringBooking();
+        recurrence.setCustomerId(100L);
+        recurrence.setServiceType(Booking.ServiceType.PREMIUM_WASH);
+        recurrence.setDayOfWeek(startDate.getDayOfWeek());
+        recurrence.setTimeOfDay(TEN);
+        recurrence.setStartDate(startDate);
+        recurrence.setEndDate(endDate);
+        return recurrence;
+    }
+
+    private List<Booking> occurrencesOf(Long recurrenceId) {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> recurrenceId.equals(booking.getRecurrenceId()))
+                .sorted(Comparator.comparing(Booking::getScheduledTime))
+                .toList();
+    }
+
+    @Test
+    void testCreate_MaterializesCurrentWindow() {
+        LocalDate start = LocalDate.now().plusDays(7);
+
+        RecurringBooking created = recurringBookingService.create(weekly(start, start.plusWeeks(2)));
+
+        List<Booking> bookings = occurrencesOf(created.getId());
+        assertEquals(3, bookings.size());
+        assertEquals(start.atTime(TEN), bookings.get(0).getScheduledTime());
+        assertEquals(start.plusWeeks(2).atTime(TEN), bookings.get(2).getScheduledTime());
+        assertEquals(Booking.BookingStatus.PENDING, bookings.get(0).getStatus());
+        assertNotNull(bookings.get(0).getPrice());
+        assertEquals(LocalDate.now().plusDays(28), created.getMaterializedThrough());
+        // The window already covers the end date, so nothing is left to materialize
+        assertFalse(created.isActive());
+    }
+
+    @Test
+    void testMaterializeDue_DeactivatesRuleReachingItsEndDate() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        RecurringBooking created = recurringBookingService.create(weekly(start, start.plusWeeks(8)));
+        assertTrue(created.isActive());
+
+        // Pretend time has passed: the end date is now inside the window, its occurrences all created
+        RecurringBooking stored = recurrenceRepository.findById(created.getId()).orElseThrow();
+        stored.setEndDate(start.plusWeeks(2));
+        stored.setMaterializedThrough(start.plusWeeks(2));
+        recurrenceRepository.save(stored);
+        assertEquals(0, recurringBookingService.materializeDue());
+
+        assertFalse(recurrenceRepository.findById(created.getId()).orElseThrow().isActive());
+        assertEquals(List.of(), recurrenceRepository.findDueIds(LocalDate.now().plusYears(1), 0L,
+                PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void testMaterializeDue_ExtendsWindowOnce() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        RecurringBooking created = recurringBookingService.create(weekly(start, null));
+        int initial = occurrencesOf(created.getId()).size();
+
+        // Pretend the window was last extended through the first occurrence only
+        List<Booking> later = occurrencesOf(created.getId()).subList(1, initial);
+        bookingRepository.deleteAll(later);
+        RecurringBooking stored = recurrenceRepository.findById(created.getId()).orElseThrow();
+        stored.setMaterializedThrough(start);
+        recurrenceRepository.save(stored);
+
+        assertEquals(initial - 1, recurringBookingService.materializeDue());
+        assertEquals(0, recurringBookingService.materializeDue());
+        assertEquals(initial, occurrencesOf(created.getId()).size());
+    }
+
+    @Test
+    void testStop_CancelsOpenFutureOccurrences() {
+        RecurringBooking created = recurringBookingService.create(weekly(LocalDate.now().plusDays(1), null));
+
+        RecurringBooking stopped = recurringBookingService.stop(created.getId());
+
+        assertFalse(stopped.isActive());
+        assertTrue(occurrencesOf(created.getId()).stream()
+                .allMatch(booking -> booking.getStatus() == Booking.BookingStatus.CANCELLED));
+        // Stopping again finds nothing left to cancel
+        assertFalse(recurringBookingService.stop(created.getId()).isActive());
+        assertThrows(IllegalArgumentException.class, () -> recurringBookingService.stop(-1L));
+    }
+
+    @Test
+    void testCreate_RejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recurringBookingService.create(weekly(LocalDate.now().minusDays(1), null)));
+
+        RecurringBooking noInterval = weekly(LocalDate.now().plusDays(1), null);
+        noInterval.setIntervalWeeks(0);
+        assertThrows(IllegalArgumentException.class, () -> recurringBookingService.create(noInterval));
+
+        RecurringBooking endsFirst = weekly(LocalDate.now().plusDays(7), LocalDate.now().plusDays(1));
+        assertThrows(IllegalArgumentException.class, () -> recurringBookingService.create(endsFirst));
+        assertEquals(0, recurrenceRepository.count());
+    }
+
+    @Test
+    void testOccurrences_EveryOtherWeekWithinRange() {
+        // 2030-01-05 is a Saturday
+        RecurringBooking recurrence = weekly(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 3, 1));
+        recurrence.setDayOfWeek(DayOfWeek.SATURDAY);
+        recurrence.setIntervalWeeks(2);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 5, 12, 0);
+
+        List<Booking> bookings = RecurringBookingService.occurrences(recurrence,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 2), now);
+
+        // The 5th already passed; the 2nd of February is the last one inside the range
+        assertEquals(List.of(LocalDateTime.of(2030, 1, 19, 10, 0), LocalDateTime.of(2030, 2, 2, 10, 0)),
+                bookings.stream().map(Booking::getScheduledTime).toList());
+    }
+}
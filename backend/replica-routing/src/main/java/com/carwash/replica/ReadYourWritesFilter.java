@@ -0,0 +1,112 @@
+package com.carwash.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a caller that has written on the primary until the replicas can have its write
+ * Once a request runs a read-write transaction, its later read-only transactions go to the primary,
+ * and the response sets a cookie holding the time until which the replicas may still be behind.
+ * Later requests carrying an unexpired cookie read from the primary too, whichever instance serves them.
+ * Work outside a request, such as scheduled jobs, is never pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    // Set for the duration of a request
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final String cookieName;
+    private final Duration pinDuration;
+
+    public ReadYourWritesFilter(String cookieName, Duration pinDuration) {
+        this.cookieName = cookieName;
+        this.pinDuration = pinDuration;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CURRENT.set(new RequestState(response, cookieName, pinDuration,
+            pinnedUntil(request) > System.currentTimeMillis()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Pin time the caller sent, or 0 without a readable cookie
+     */
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Record that the current request opened a read-write transaction
+     * The first write of a request pins it and tells the caller to stay on the primary for pinDuration
+     */
+    static void markWrite() {
+        RequestState state = CURRENT.get();
+        if (state == null || state.wrote) {
+            return;
+        }
+        state.wrote = true;
+        state.pinned = true;
+        if (!state.response.isCommitted()) {
+            long until = System.currentTimeMillis() + state.pinDuration.toMillis();
+            state.response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(state.cookieName, Long.toString(until))
+                .path("/")
+                .httpOnly(true)
+                .maxAge(state.pinDuration)
+                .build()
+                .toString());
+        }
+    }
+
+    /**
+     * Whether reads of the current request must go to the primary
+     * True once the request has written, or when it carries the cookie of a recent write
+     */
+    public static boolean isPinnedToPrimary() {
+        RequestState state = CURRENT.get();
+        return state != null && state.pinned;
+    }
+
+    private static final class RequestState {
+        private final HttpServletResponse response;
+        private final String cookieName;
+        private final Duration pinDuration;
+        private boolean pinned;
+        private boolean wrote;
+
+        RequestState(HttpServletResponse response, String cookieName, Duration pinDuration, boolean pinned) {
+            this.response = response;
+            this.cookieName = cookieName;
+            this.pinDuration = pinDuration;
+            this.pinned = pinned;
+        }
+    }
+}
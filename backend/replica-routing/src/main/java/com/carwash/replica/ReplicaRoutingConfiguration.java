@@ -0,0 +1,80 @@
+package com.carwash.replica;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replica routing beans for a service, read from properties under the service's own prefix
+ * A service subclasses this as a @Configuration conditional on <prefix>.replica-urls, and sets
+ * replica-username, replica-password, max-replica-lag and replica-check-interval-ms under the same prefix.
+ * The primary keeps its spring.datasource settings; replicas share its driver and, unless
+ * overridden, its credentials.
+ */
+public abstract class ReplicaRoutingConfiguration {
+
+    private final String prefix;
+
+    protected ReplicaRoutingConfiguration(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<String> replicaUrls = binder.bind(prefix + ".replica-urls", Bindable.listOf(String.class)).orElse(List.of());
+        String username = environment.getProperty(prefix + ".replica-username",
+            environment.getProperty("spring.datasource.username", ""));
+        String password = environment.getProperty(prefix + ".replica-password",
+            environment.getProperty("spring.datasource.password", ""));
+        Duration maxLag = binder.bind(prefix + ".max-replica-lag", Duration.class).orElse(Duration.ofSeconds(2));
+
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            replicas.put("replica-" + (replicas.size() + 1), DataSourceBuilder.create()
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build());
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, maxLag,
+            ReplicaRoutingDataSource::mysqlLag);
+        routing.setCheckInterval(Duration.ofMillis(
+            environment.getProperty(prefix + ".replica-check-interval-ms", Long.class, 5000L)));
+        return routing;
+    }
+
+    /**
+     * The DataSource JPA and JDBC use
+     * Lazy so the target is chosen at the first statement, once the transaction's read-only flag is known
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Pins a caller to the primary for as long as the replicas in rotation may lack its write
+     * The cookie is named per application so one service's writes do not pin reads of another
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     Environment environment) {
+        return new ReadYourWritesFilter(environment.getProperty("spring.application.name", "app") + "-primary-until",
+            replicaRoutingDataSource.getStalenessBound());
+    }
+}
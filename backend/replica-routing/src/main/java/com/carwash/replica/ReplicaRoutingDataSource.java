@@ -0,0 +1,153 @@
+package com.carwash.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to the primary
+ * Replicas are polled for replication lag; one that is too far behind, not replicating or
+ * unreachable gets no reads until a later check finds it healthy, and with none left reads
+ * fall back to the primary. A caller that has written keeps reading from the primary
+ * so it sees its own writes (see ReadYourWritesFilter).
+ * Must sit behind a LazyConnectionDataSourceProxy: a transaction is only marked read-only
+ * after the transaction manager has asked for its connection.
+ * The lag check re-runs every checkInterval once registered with an application that has scheduling enabled.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements SchedulingConfigurer {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final LagProbe lagProbe;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    // Replicas currently taking reads, replaced wholesale by each check
+    private volatile List<String> available = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, LagProbe lagProbe) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        this.lagProbe = lagProbe;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::checkReplicas, checkInterval);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesFilter.markWrite();
+            }
+            return PRIMARY;
+        }
+        List<String> candidates = available;
+        if (candidates.isEmpty() || ReadYourWritesFilter.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measure every replica's lag and take the ones within bounds into rotation
+     * Returns the replicas now taking reads
+     */
+    public List<String> checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection()) {
+                Duration lag = lagProbe.lag(connection);
+                if (lag != null && lag.compareTo(maxLag) <= 0) {
+                    healthy.add(replica.getKey());
+                }
+            } catch (SQLException e) {
+                // Unreachable; stays out of rotation until a later check succeeds
+            }
+        }
+        available = List.copyOf(healthy);
+        return available;
+    }
+
+    /**
+     * How often replica lag is measured
+     */
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Longest a committed write can be missing from the replicas taking reads
+     * A replica in rotation was within maxLag when last checked, up to checkInterval ago
+     */
+    public Duration getStalenessBound() {
+        return maxLag.plus(checkInterval);
+    }
+
+    /**
+     * Replicas currently taking reads
+     */
+    public List<String> getAvailableReplicas() {
+        return available;
+    }
+
+    /**
+     * Replication lag of a MySQL 8 replica, or null when replication is stopped or broken
+     * A server that is not a replica at all is treated as current
+     */
+    public static Duration mysqlLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return Duration.ZERO;
+            }
+            long seconds = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+
+    /**
+     * How far a replica is behind the primary
+     */
+    @FunctionalInterface
+    public interface LagProbe {
+
+        /**
+         * Current lag, or null when the replica is not applying changes
+         */
+        Duration lag(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,181 @@
+package com.carwash.replica;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through real transactions against separate in-memory databases that each know their own name
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String COOKIE = "bookings-primary-until";
+
+    private final Map<String, Duration> lags = new HashMap<>();
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", node("replica-1"));
+        replicas.put("replica-2", node("replica-2"));
+        lags.put("replica-1", Duration.ZERO);
+        lags.put("replica-2", Duration.ZERO);
+
+        routing = new ReplicaRoutingDataSource(node("primary"), replicas, Duration.ofSeconds(2),
+            connection -> {
+                Duration lag = lags.get(new JdbcTemplate(new SingleConnectionDataSource(connection, true)).queryForObject(
+                    "SELECT name FROM node", String.class));
+                if (lag == null) {
+                    throw new SQLException("unreachable");
+                }
+                return lag;
+            });
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:routing_" + name.replace('-', '_') + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(tx -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(tx -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void testReadOnlyTransactions_RotateOverReplicas() {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readOnlyNode());
+        }
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), nodes);
+    }
+
+    @Test
+    void testReadWriteAndNonTransactionalWork_UsesPrimary() {
+        assertEquals("primary", readWriteNode());
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void testLaggingOrUnreachableReplica_TakenOutOfRotation() {
+        lags.put("replica-1", Duration.ofSeconds(30));
+        lags.remove("replica-2");
+
+        assertEquals(List.of(), routing.checkReplicas());
+        assertEquals("primary", readOnlyNode());
+
+        lags.put("replica-2", Duration.ofSeconds(1));
+        assertEquals(List.of("replica-2"), routing.checkReplicas());
+        assertEquals("replica-2", readOnlyNode());
+        assertEquals("replica-2", readOnlyNode());
+    }
+
+    /**
+     * Runs the work as one web request and returns the response
+     */
+    private MockHttpServletResponse inRequest(MockHttpServletRequest request, Runnable work) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ReadYourWritesFilter(COOKIE, routing.getStalenessBound()).doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                work.run();
+            }
+        });
+        return response;
+    }
+
+    @Test
+    void testRequestThatWrote_ReadsFromPrimaryAndPinsCaller() throws Exception {
+        List<String> nodes = new ArrayList<>();
+
+        MockHttpServletResponse response = inRequest(new MockHttpServletRequest(), () -> {
+            nodes.add(readOnlyNode());
+            nodes.add(readWriteNode());
+            nodes.add(readOnlyNode());
+        });
+        nodes.add(readOnlyNode());
+
+        assertEquals("primary", nodes.get(1));
+        assertEquals("primary", nodes.get(2));
+        assertNotEquals("primary", nodes.get(0));
+        assertNotEquals("primary", nodes.get(3));
+        Cookie pin = response.getCookie(COOKIE);
+        assertNotNull(pin);
+        assertEquals(7, pin.getMaxAge());
+        assertTrue(Long.parseLong(pin.getValue()) > System.currentTimeMillis());
+        assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+    }
+
+    @Test
+    void testLaterRequestWithPinCookie_ReadsFromPrimary() throws Exception {
+        List<String> nodes = new ArrayList<>();
+        MockHttpServletRequest pinned = new MockHttpServletRequest();
+        pinned.setCookies(new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + 60_000)));
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        MockHttpServletRequest garbled = new MockHttpServletRequest();
+        garbled.setCookies(new Cookie(COOKIE, "soon"));
+
+        MockHttpServletResponse response = inRequest(pinned, () -> nodes.add(readOnlyNode()));
+        inRequest(expired, () -> nodes.add(readOnlyNode()));
+        inRequest(garbled, () -> nodes.add(readOnlyNode()));
+
+        assertEquals("primary", nodes.get(0));
+        assertNotEquals("primary", nodes.get(1));
+        assertNotEquals("primary", nodes.get(2));
+        assertNull(response.getCookie(COOKIE));
+    }
+
+    @Test
+    void testWriteOutsideRequest_DoesNotPinLaterReads() {
+        readWriteNode();
+
+        assertNotEquals("primary", readOnlyNode());
+    }
+}
@@ -0,0 +1,19 @@
+package com.carwash.config;
+
+import com.carwash.replica.ReplicaRoutingConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Routes read-only transactions to read replicas when users.datasource.replica-urls is set
+ * The routing itself lives in the shared replica-routing module; this only binds it to the users.datasource
+ * properties. Without replica URLs the auto-configured DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "users.datasource", name = "replica-urls")
+public class ReplicaDataSourceConfig extends ReplicaRoutingConfiguration {
+
+    public ReplicaDataSourceConfig() {
+        super("users.datasource");
+    }
+}
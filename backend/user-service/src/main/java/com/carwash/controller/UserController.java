@@ -1,5 +1,6 @@
 package com.carwash.controller;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.service.UserService;
 import org.springframework.http.HttpStatus;
@@ -45,8 +46,8 @@ public class UserController {
      * GET /api/users
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
+        List<UserSummary> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
@@ -77,8 +78,8 @@ public class UserController {
      * GET /api/users/role/{role}
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable User.Role role) {
-        List<User> users = userService.getUsersByRole(role);
+    public ResponseEntity<List<UserSummary>> getUsersByRole(@PathVariable User.Role role) {
+        List<UserSummary> users = userService.getUsersByRole(role);
         return ResponseEntity.ok(users);
     }
     
@@ -117,8 +118,8 @@ public class UserController {
      * GET /api/users/search?name={name}
      */
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String name) {
-        List<User> users = userService.searchUsersByName(name);
+    public ResponseEntity<List<UserSummary>> searchUsers(@RequestParam String name) {
+        List<UserSummary> users = userService.searchUsersByName(name);
         return ResponseEntity.ok(users);
     }
     
@@ -0,0 +1,28 @@
+package com.carwash.dto;
+
+import com.carwash.entity.User;
+
+/**
+ * Row of a user list view
+ * Selected straight into this class by JPQL constructor expressions, so list endpoints
+ * never hydrate managed User entities or expose email and phone in bulk
+ */
+public class UserSummary {
+    private final Long id;
+    private final String name;
+    private final User.Role role;
+
+    public UserSummary(Long id, String name, User.Role role) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+    }
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getRole());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public User.Role getRole() { return role; }
+}
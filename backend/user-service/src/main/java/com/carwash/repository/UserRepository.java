@@ -1,5 +1,6 @@
 package com.carwash.repository;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -46,4 +47,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Provides statistics for dashboard and reporting
      */
     long countByRole(User.Role role);
+    
+    // List views: constructor projections of the columns the lists show, so rows are not managed
+    String SUMMARY = "SELECT new com.carwash.dto.UserSummary(u.id, u.name, u.role) FROM User u";
+    
+    /**
+     * List all users as summaries
+     */
+    @Query(SUMMARY)
+    List<UserSummary> findSummaries();
+    
+    /**
+     * List users of a role as summaries
+     */
+    @Query(SUMMARY + " WHERE u.role = :role")
+    List<UserSummary> findSummariesByRole(@Param("role") User.Role role);
+    
+    /**
+     * Search users by name (case-insensitive) as summaries
+     */
+    @Query(SUMMARY + " WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<UserSummary> findSummariesByNameContainingIgnoreCase(@Param("name") String name);
 }
\ No newline at end of file
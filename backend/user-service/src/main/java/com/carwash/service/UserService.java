@@ -1,5 +1,6 @@
 package com.carwash.service;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.repository.UserRepository;
 import org.springframework.stereotype.Service;
@@ -54,11 +55,11 @@ public class UserService {
     
     /**
      * Get all users
-     * Returns complete list of users in the system
+     * Returns complete list of users in the system as list rows
      */
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserSummary> getAllUsers() {
+        return userRepository.findSummaries();
     }
     
     /**
@@ -66,8 +67,8 @@ public class UserService {
      * Filters users based on their role (CUSTOMER or SERVICE_PROVIDER)
      */
     @Transactional(readOnly = true)
-    public List<User> getUsersByRole(User.Role role) {
-        return userRepository.findByRole(role);
+    public List<UserSummary> getUsersByRole(User.Role role) {
+        return userRepository.findSummariesByRole(role);
     }
     
     /**
@@ -109,8 +110,8 @@ public class UserService {
      * Performs case-insensitive search on user names
      */
     @Transactional(readOnly = true)
-    public List<User> searchUsersByName(String name) {
-        return userRepository.findByNameContainingIgnoreCase(name);
+    public List<UserSummary> searchUsersByName(String name) {
+        return userRepository.findSummariesByNameContainingIgnoreCase(name);
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.carwash.controller;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -99,7 +100,7 @@ class UserControllerAdditionalTest {
     @Test
     void testGetUsersByRole_Success() throws Exception {
         when(userService.getUsersByRole(User.Role.CUSTOMER))
-            .thenReturn(List.of(testUser));
+            .thenReturn(List.of(UserSummary.of(testUser)));
 
         mockMvc.perform(get("/api/users/role/CUSTOMER"))
                 .andExpect(status().isOk())
@@ -158,7 +159,7 @@ class UserControllerAdditionalTest {
 
     @Test
     void testSearchUsersByName_Success() throws Exception {
-        when(userService.searchUsersByName("Test")).thenReturn(List.of(testUser));
+        when(userService.searchUsersByName("Test")).thenReturn(List.of(UserSummary.of(testUser)));
 
         mockMvc.perform(get("/api/users/search?name=Test"))
                 .andExpect(status().isOk())
@@ -232,12 +233,13 @@ class UserControllerAdditionalTest {
 
     @Test
     void testGetAllUsers_Success() throws Exception {
-        when(userService.getAllUsers()).thenReturn(List.of(testUser));
+        when(userService.getAllUsers()).thenReturn(List.of(UserSummary.of(testUser)));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].email").value("test@test.com"));
+                .andExpect(jsonPath("$[0].name").value("Test User"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
 
         verify(userService).getAllUsers();
     }
@@ -1,5 +1,6 @@
 package com.carwash.controller;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -69,7 +70,7 @@ class UserControllerTest {
 
     @Test
     void testGetAllUsers() throws Exception {
-        List<User> users = Arrays.asList(testUser);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
         when(userService.getAllUsers()).thenReturn(users);
 
         mockMvc.perform(get("/api/users"))
@@ -116,7 +117,7 @@ class UserControllerTest {
 
     @Test
     void testGetUsersByRole() throws Exception {
-        List<User> users = Arrays.asList(testUser);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
         when(userService.getUsersByRole(User.Role.CUSTOMER)).thenReturn(users);
 
         mockMvc.perform(get("/api/users/role/CUSTOMER"))
@@ -173,7 +174,7 @@ class UserControllerTest {
 
     @Test
     void testSearchUsers() throws Exception {
-        List<User> users = Arrays.asList(testUser);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
         when(userService.searchUsersByName("John")).thenReturn(users);
 
         mockMvc.perform(get("/api/users/search").param("name", "John"))
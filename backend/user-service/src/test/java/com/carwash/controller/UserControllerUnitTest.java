@@ -1,5 +1,6 @@
 package com.carwash.controller;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -62,10 +63,10 @@ class UserControllerUnitTest {
 
     @Test
     void getAllUsers_Success() {
-        List<User> users = Arrays.asList(createTestUser());
+        List<UserSummary> users = Arrays.asList(UserSummary.of(createTestUser()));
         when(userService.getAllUsers()).thenReturn(users);
 
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<List<UserSummary>> response = userController.getAllUsers();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
@@ -115,10 +116,10 @@ class UserControllerUnitTest {
 
     @Test
     void getUsersByRole_Success() {
-        List<User> users = Arrays.asList(createTestUser());
+        List<UserSummary> users = Arrays.asList(UserSummary.of(createTestUser()));
         when(userService.getUsersByRole(User.Role.CUSTOMER)).thenReturn(users);
 
-        ResponseEntity<List<User>> response = userController.getUsersByRole(User.Role.CUSTOMER);
+        ResponseEntity<List<UserSummary>> response = userController.getUsersByRole(User.Role.CUSTOMER);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
@@ -170,10 +171,10 @@ class UserControllerUnitTest {
 
     @Test
     void searchUsers_Success() {
-        List<User> users = Arrays.asList(createTestUser());
+        List<UserSummary> users = Arrays.asList(UserSummary.of(createTestUser()));
         when(userService.searchUsersByName("John")).thenReturn(users);
 
-        ResponseEntity<List<User>> response = userController.searchUsers("John");
+        ResponseEntity<List<UserSummary>> response = userController.searchUsers("John");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
@@ -1,5 +1,6 @@
 package com.carwash.service;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -92,32 +93,32 @@ class UserServiceAdditionalTest {
 
     @Test
     void testGetAllUsers_EmptyList() {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findSummaries()).thenReturn(Collections.emptyList());
 
-        List<User> result = userService.getAllUsers();
+        List<UserSummary> result = userService.getAllUsers();
 
         assertTrue(result.isEmpty());
-        verify(userRepository).findAll();
+        verify(userRepository).findSummaries();
     }
 
     @Test
     void testGetUsersByRole_EmptyList() {
-        when(userRepository.findByRole(User.Role.SERVICE_PROVIDER)).thenReturn(Collections.emptyList());
+        when(userRepository.findSummariesByRole(User.Role.SERVICE_PROVIDER)).thenReturn(Collections.emptyList());
 
-        List<User> result = userService.getUsersByRole(User.Role.SERVICE_PROVIDER);
+        List<UserSummary> result = userService.getUsersByRole(User.Role.SERVICE_PROVIDER);
 
         assertTrue(result.isEmpty());
-        verify(userRepository).findByRole(User.Role.SERVICE_PROVIDER);
+        verify(userRepository).findSummariesByRole(User.Role.SERVICE_PROVIDER);
     }
 
     @Test
     void testSearchUsersByName_EmptyList() {
-        when(userRepository.findByNameContainingIgnoreCase("NonExistent")).thenReturn(Collections.emptyList());
+        when(userRepository.findSummariesByNameContainingIgnoreCase("NonExistent")).thenReturn(Collections.emptyList());
 
-        List<User> result = userService.searchUsersByName("NonExistent");
+        List<UserSummary> result = userService.searchUsersByName("NonExistent");
 
         assertTrue(result.isEmpty());
-        verify(userRepository).findByNameContainingIgnoreCase("NonExistent");
+        verify(userRepository).findSummariesByNameContainingIgnoreCase("NonExistent");
     }
 
     @Test
@@ -132,25 +133,25 @@ class UserServiceAdditionalTest {
 
     @Test
     void testSearchUsersByName_CaseInsensitive() {
-        when(userRepository.findByNameContainingIgnoreCase("john")).thenReturn(Collections.singletonList(testUser));
+        when(userRepository.findSummariesByNameContainingIgnoreCase("john")).thenReturn(Collections.singletonList(UserSummary.of(testUser)));
 
-        List<User> result = userService.searchUsersByName("john");
+        List<UserSummary> result = userService.searchUsersByName("john");
 
         assertEquals(1, result.size());
-        assertEquals(testUser, result.get(0));
-        verify(userRepository).findByNameContainingIgnoreCase("john");
+        assertEquals(testUser.getName(), result.get(0).getName());
+        verify(userRepository).findSummariesByNameContainingIgnoreCase("john");
     }
 
     @Test
     void testGetUsersByRole_ServiceProvider() {
         User serviceProvider = new User("Provider", "provider@test.com", "5555555555", User.Role.SERVICE_PROVIDER);
-        when(userRepository.findByRole(User.Role.SERVICE_PROVIDER)).thenReturn(Collections.singletonList(serviceProvider));
+        when(userRepository.findSummariesByRole(User.Role.SERVICE_PROVIDER)).thenReturn(Collections.singletonList(UserSummary.of(serviceProvider)));
 
-        List<User> result = userService.getUsersByRole(User.Role.SERVICE_PROVIDER);
+        List<UserSummary> result = userService.getUsersByRole(User.Role.SERVICE_PROVIDER);
 
         assertEquals(1, result.size());
-        assertEquals(serviceProvider, result.get(0));
-        verify(userRepository).findByRole(User.Role.SERVICE_PROVIDER);
+        assertEquals(User.Role.SERVICE_PROVIDER, result.get(0).getRole());
+        verify(userRepository).findSummariesByRole(User.Role.SERVICE_PROVIDER);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.carwash.service;
 
+import com.carwash.dto.UserSummary;
 import com.carwash.entity.User;
 import com.carwash.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -94,26 +95,26 @@ class UserServiceTest {
 
     @Test
     void testGetAllUsers() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
+        when(userRepository.findSummaries()).thenReturn(users);
 
-        List<User> result = userService.getAllUsers();
+        List<UserSummary> result = userService.getAllUsers();
 
         assertEquals(1, result.size());
-        assertEquals(testUser, result.get(0));
-        verify(userRepository).findAll();
+        assertEquals(users.get(0), result.get(0));
+        verify(userRepository).findSummaries();
     }
 
     @Test
     void testGetUsersByRole() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findByRole(User.Role.CUSTOMER)).thenReturn(users);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
+        when(userRepository.findSummariesByRole(User.Role.CUSTOMER)).thenReturn(users);
 
-        List<User> result = userService.getUsersByRole(User.Role.CUSTOMER);
+        List<UserSummary> result = userService.getUsersByRole(User.Role.CUSTOMER);
 
         assertEquals(1, result.size());
-        assertEquals(testUser, result.get(0));
-        verify(userRepository).findByRole(User.Role.CUSTOMER);
+        assertEquals(users.get(0), result.get(0));
+        verify(userRepository).findSummariesByRole(User.Role.CUSTOMER);
     }
 
     @Test
@@ -170,14 +171,14 @@ class UserServiceTest {
 
     @Test
     void testSearchUsersByName() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findByNameContainingIgnoreCase("John")).thenReturn(users);
+        List<UserSummary> users = Arrays.asList(UserSummary.of(testUser));
+        when(userRepository.findSummariesByNameContainingIgnoreCase("John")).thenReturn(users);
 
-        List<User> result = userService.searchUsersByName("John");
+        List<UserSummary> result = userService.searchUsersByName("John");
 
         assertEquals(1, result.size());
-        assertEquals(testUser, result.get(0));
-        verify(userRepository).findByNameContainingIgnoreCase("John");
+        assertEquals(users.get(0), result.get(0));
+        verify(userRepository).findSummariesByNameContainingIgnoreCase("John");
     }
 
     @Test